@@ -1,4 +1,5 @@
 import api from "./api";
+import type { Page } from "./userService";
 
 export enum AppointmentStatus {
   SCHEDULED = "SCHEDULED",
@@ -6,6 +7,9 @@ export enum AppointmentStatus {
   COMPLETED = "COMPLETED",
 }
 
+// IANA zone of this browser; wall-clock times sent to the API are meant in it
+export const browserZone = Intl.DateTimeFormat().resolvedOptions().timeZone;
+
 export interface Appointment {
   id?: number;
   user: {
@@ -14,22 +18,45 @@ export interface Appointment {
     phoneNumber: string;
     email: string;
   };
+  // Wall-clock time in timeZone; startsAt is the same moment in epoch milliseconds
   appointmentDateTime: string;
+  startsAt?: number;
+  timeZone?: string;
   notes?: string;
   status: AppointmentStatus;
   createdAt?: string;
   updatedAt?: string;
+  version?: number;
 }
 
 export interface CreateAppointmentRequest {
   userId: number;
   appointmentDateTime: string;
+  timeZone?: string;
   notes?: string;
 }
 
+// A slot reserved for one user while the booking form is filled in
+export interface SlotHold {
+  id: string;
+  userId: number;
+  appointmentDateTime: string;
+  timeZone: string;
+  startsAt: number;
+  expiresAt: string;
+}
+
+export interface HoldSlotRequest {
+  userId: number;
+  appointmentDateTime: string;
+  timeZone?: string;
+  minutes?: number;
+}
+
 export interface UpdateAppointmentRequest {
   userId?: number;
   appointmentDateTime?: string;
+  timeZone?: string;
   notes?: string;
   status?: AppointmentStatus;
 }
@@ -60,14 +87,24 @@ export const getAppointmentsByStatus = async (status: AppointmentStatus) => {
 
 // GET appointments by date
 export const getAppointmentsByDate = async (date: string) => {
-  const response = await api.get<Appointment[]>(`/appointments/date/${date}`);
+  const response = await api.get<Appointment[]>(`/appointments/date/${date}`, {
+    params: { zone: browserZone },
+  });
   return response.data;
 };
 
 // GET appointments in date range
 export const getAppointmentsInRange = async (startDate: string, endDate: string) => {
   const response = await api.get<Appointment[]>(`/appointments/range`, {
-    params: { startDate, endDate },
+    params: { startDate, endDate, zone: browserZone },
+  });
+  return response.data;
+};
+
+// SEARCH appointment notes (ranked, paginated)
+export const searchAppointments = async (q: string, page = 0, size = 20) => {
+  const response = await api.get<Page<Appointment>>(`/appointments/search`, {
+    params: { q, page, size },
   });
   return response.data;
 };
@@ -75,7 +112,7 @@ export const getAppointmentsInRange = async (startDate: string, endDate: string)
 // CHECK availability
 export const checkAvailability = async (dateTime: string) => {
   const response = await api.get<boolean>(`/appointments/availability`, {
-    params: { dateTime },
+    params: { dateTime, zone: browserZone },
   });
   return response.data;
 };
@@ -86,6 +123,23 @@ export const createAppointment = async (request: CreateAppointmentRequest) => {
   return response.data;
 };
 
+// HOLD a slot (409 if booked or held by someone else)
+export const holdSlot = async (request: HoldSlotRequest) => {
+  const response = await api.post<SlotHold>("/appointments/holds", request);
+  return response.data;
+};
+
+// CONFIRM a hold, booking its slot
+export const confirmHold = async (id: string, notes?: string) => {
+  const response = await api.post<Appointment>(`/appointments/holds/${id}/confirm`, { notes });
+  return response.data;
+};
+
+// RELEASE a hold
+export const releaseHold = async (id: string) => {
+  await api.delete(`/appointments/holds/${id}`);
+};
+
 // UPDATE appointment
 export const updateAppointment = async (id: number, request: UpdateAppointmentRequest) => {
   const response = await api.put<Appointment>(`/appointments/${id}`, request);
@@ -0,0 +1,86 @@
+import api from "./api";
+import { AppointmentStatus, browserZone } from "./appointmentService";
+
+// Compact calendar payload served by /appointments/date and /appointments/range
+// when requested with this media type (see CalendarBinaryEncoder on the server).
+export const CALENDAR_MEDIA_TYPE = "application/x-appointment-calendar";
+
+export interface CalendarSlot {
+  id: number;
+  userId: number;
+  // Minutes since 1970-01-01T00:00Z of the appointment's start
+  startMinute: number;
+  status: AppointmentStatus;
+}
+
+const STATUSES = [
+  AppointmentStatus.SCHEDULED,
+  AppointmentStatus.CANCELLED,
+  AppointmentStatus.COMPLETED,
+];
+
+export const decodeCalendar = (buffer: ArrayBuffer): CalendarSlot[] => {
+  const bytes = new Uint8Array(buffer);
+  let pos = 0;
+
+  const magic = String.fromCharCode(...bytes.subarray(0, 4));
+  if (magic !== "APC2") {
+    throw new Error(`Unexpected calendar payload: ${magic}`);
+  }
+  pos = 4;
+
+  const varint = () => {
+    let result = 0;
+    let scale = 1;
+    let b: number;
+    do {
+      b = bytes[pos++];
+      result += (b & 0x7f) * scale;
+      scale *= 128;
+    } while (b & 0x80);
+    return result;
+  };
+  const signed = () => {
+    const v = varint();
+    return v % 2 === 0 ? v / 2 : -(v + 1) / 2;
+  };
+
+  const count = varint();
+  const users: number[] = [];
+  const userCount = varint();
+  for (let i = 0, prev = 0; i < userCount; i++) {
+    prev += varint();
+    users.push(prev);
+  }
+
+  const slots: CalendarSlot[] = [];
+  for (let i = 0, prev = 0; i < count; i++) {
+    prev += signed();
+    slots.push({ id: prev, userId: 0, startMinute: 0, status: AppointmentStatus.SCHEDULED });
+  }
+  for (let i = 0; i < count; i++) {
+    slots[i].userId = users[varint()];
+  }
+  for (let i = 0, prev = 0; i < count; i++) {
+    prev += signed();
+    slots[i].startMinute = prev;
+  }
+  for (let i = 0; i < count; i++) {
+    slots[i].status = STATUSES[bytes[pos++]];
+  }
+  return slots;
+};
+
+// Local wall-clock "YYYY-MM-DDTHH:mm[:ss]" → epoch minutes, matching the server's encoding
+export const toEpochMinute = (dateTime: string) =>
+  Math.floor(new Date(`${dateTime.substring(0, 16)}:00`).getTime() / 60000);
+
+// GET scheduled appointments of one local day in the compact format
+export const getCalendarDay = async (date: string) => {
+  const response = await api.get<ArrayBuffer>(`/appointments/date/${date}`, {
+    params: { zone: browserZone },
+    headers: { Accept: CALENDAR_MEDIA_TYPE },
+    responseType: "arraybuffer",
+  });
+  return decodeCalendar(response.data);
+};
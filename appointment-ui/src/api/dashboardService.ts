@@ -0,0 +1,41 @@
+import api from "./api";
+import { browserZone, type AppointmentStatus } from "./appointmentService";
+import type { User } from "./userService";
+
+// An appointment with its user by id; look the user up in Dashboard.users
+export interface DashboardAppointment {
+  id: number;
+  userId: number;
+  appointmentDateTime: string;
+  startsAt: number;
+  timeZone: string;
+  notes?: string;
+  status: AppointmentStatus;
+  version: number;
+}
+
+export interface DashboardSummary {
+  // Appointments in the window by status
+  scheduled: number;
+  completed: number;
+  cancelled: number;
+  // Users in the whole system
+  activeUsers: number;
+}
+
+// Appointments starting in [from, to), each referenced user once, and summary counts
+export interface Dashboard {
+  from: string;
+  to: string;
+  appointments: DashboardAppointment[];
+  users: User[];
+  summary: DashboardSummary;
+}
+
+// GET dashboard; from/to are wall-clock times in this browser's zone
+export const getDashboard = async (from: string, to: string) => {
+  const response = await api.get<Dashboard>("/dashboard", {
+    params: { from, to, zone: browserZone },
+  });
+  return response.data;
+};
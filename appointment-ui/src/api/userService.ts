@@ -5,6 +5,8 @@ export interface User {
   name: string;
   phoneNumber: string;
   email: string;
+  timeZone?: string;
+  version?: number;
 }
 
 export interface CreateUserRequest {
@@ -37,3 +39,18 @@ export const updateUser = async (id: number, user: User) => {
 };
 
 
+export interface Page<T> {
+  content: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}
+
+// SEARCH users by name, email or phone (ranked, paginated)
+export const searchUsers = async (q: string, page = 0, size = 20) => {
+  const response = await api.get<Page<User>>("/users/search", {
+    params: { q, page, size },
+  });
+  return response.data;
+};
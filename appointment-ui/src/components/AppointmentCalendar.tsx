@@ -1,18 +1,25 @@
 import { useState, useEffect } from "react";
 import {
-  getAllAppointments,
+  browserZone,
   createAppointment,
   checkAvailability,
+  holdSlot,
+  confirmHold,
+  releaseHold,
   type Appointment,
   type CreateAppointmentRequest,
+  type SlotHold,
 } from "../api/appointmentService";
-import { getAllUsers, type User } from "../api/userService";
+import type { User } from "../api/userService";
+import { getCalendarDay, toEpochMinute, type CalendarSlot } from "../api/calendarCodec";
 
 interface AppointmentCalendarProps {
+  // Loaded once by the dashboard rather than again by the calendar
+  users: User[];
   onAppointmentCreated?: (appointment: Appointment) => void;
 }
 
-const AppointmentCalendar = ({ onAppointmentCreated }: AppointmentCalendarProps) => {
+const AppointmentCalendar = ({ users, onAppointmentCreated }: AppointmentCalendarProps) => {
   const today = new Date().toISOString().split("T")[0];
 
   const [selectedDate, setSelectedDate] = useState<string>(today);
@@ -20,11 +27,11 @@ const AppointmentCalendar = ({ onAppointmentCreated }: AppointmentCalendarProps)
   const [selectedUserId, setSelectedUserId] = useState<number | null>(null);
   const [notes, setNotes] = useState<string>("");
 
-  const [users, setUsers] = useState<User[]>([]);
-  const [appointments, setAppointments] = useState<Appointment[]>([]);
+  const [slots, setSlots] = useState<CalendarSlot[]>([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string>("");
   const [success, setSuccess] = useState<string>("");
+  const [hold, setHold] = useState<SlotHold | null>(null);
 
   // Time slots (9 AM to 5 PM, hourly)
   const timeSlots = Array.from({ length: 9 }, (_, i) => {
@@ -33,34 +40,50 @@ const AppointmentCalendar = ({ onAppointmentCreated }: AppointmentCalendarProps)
   });
 
   useEffect(() => {
-    loadUsers();
     loadAppointments();
   }, [selectedDate]);
 
-  const loadUsers = async () => {
-    try {
-      const data = await getAllUsers();
-      setUsers(data);
-    } catch (err) {
-      console.error("Failed to load users:", err);
-    }
-  };
+  // Hold the chosen slot while the rest of the form is filled in
+  useEffect(() => {
+    if (!selectedUserId) return;
+    let current: SlotHold | null = null;
+    let stale = false;
+    holdSlot({
+      userId: selectedUserId,
+      appointmentDateTime: `${selectedDate}T${selectedTime}:00`,
+      timeZone: browserZone,
+    })
+      .then((created) => {
+        current = created;
+        if (stale) {
+          releaseHold(created.id).catch(() => {});
+        } else {
+          setHold(created);
+        }
+      })
+      // Booked or held by someone else; booking reports the conflict
+      .catch(() => setHold(null));
+    return () => {
+      stale = true;
+      setHold(null);
+      // Already gone (410) once confirmed or expired
+      if (current) releaseHold(current.id).catch(() => {});
+    };
+  }, [selectedUserId, selectedDate, selectedTime]);
 
   const loadAppointments = async () => {
     try {
-      const data = await getAllAppointments();
-      setAppointments(data);
+      const data = await getCalendarDay(selectedDate);
+      setSlots(data);
     } catch (err) {
       console.error("Failed to load appointments:", err);
     }
   };
 
   const isTimeSlotBooked = (time: string): boolean => {
-    const dateTime = `${selectedDate}T${time}:00`;
-    return appointments.some(
-      (apt) =>
-        apt.appointmentDateTime.startsWith(dateTime) &&
-        apt.status === "SCHEDULED"
+    const minute = toEpochMinute(`${selectedDate}T${time}`);
+    return slots.some(
+      (slot) => slot.startMinute === minute && slot.status === "SCHEDULED"
     );
   };
 
@@ -76,22 +99,29 @@ const AppointmentCalendar = ({ onAppointmentCreated }: AppointmentCalendarProps)
 
     try {
       const dateTime = `${selectedDate}T${selectedTime}:00`;
+      let appointment: Appointment;
 
-      // Check availability
-      const available = await checkAvailability(dateTime);
-      if (!available) {
-        setError("This time slot is already booked. Please select another time.");
-        setLoading(false);
-        return;
-      }
+      if (hold) {
+        // The slot is ours until the hold expires
+        appointment = await confirmHold(hold.id, notes.trim() || undefined);
+      } else {
+        // Check availability
+        const available = await checkAvailability(dateTime);
+        if (!available) {
+          setError("This time slot is already booked. Please select another time.");
+          setLoading(false);
+          return;
+        }
 
-      const request: CreateAppointmentRequest = {
-        userId: selectedUserId,
-        appointmentDateTime: dateTime,
-        notes: notes.trim() || undefined,
-      };
+        const request: CreateAppointmentRequest = {
+          userId: selectedUserId,
+          appointmentDateTime: dateTime,
+          timeZone: browserZone,
+          notes: notes.trim() || undefined,
+        };
 
-      const appointment = await createAppointment(request);
+        appointment = await createAppointment(request);
+      }
       setSuccess("Appointment booked successfully!");
 
       // ✅ RESET FORM AFTER SUCCESS
@@ -201,6 +231,16 @@ const AppointmentCalendar = ({ onAppointmentCreated }: AppointmentCalendarProps)
           </div>
         </div>
 
+        {hold && (
+          <p className="text-sm text-sky-700">
+            Slot held for you until{" "}
+            {new Date(hold.expiresAt).toLocaleTimeString("en-US", {
+              hour: "2-digit",
+              minute: "2-digit",
+            })}
+          </p>
+        )}
+
         {/* Notes */}
         <div>
           <label className="block text-sm font-medium text-gray-700 mb-2">
@@ -1,20 +1,37 @@
 import { useState, useEffect } from "react";
 import {
-  getAllAppointments,
   cancelAppointment,
   completeAppointment,
   updateAppointment,
-  type Appointment,
   AppointmentStatus,
   type UpdateAppointmentRequest,
 } from "../api/appointmentService";
+import {
+  getDashboard,
+  type DashboardAppointment,
+  type DashboardSummary,
+} from "../api/dashboardService";
+import type { User } from "../api/userService";
 
 interface AppointmentListProps {
   refreshTrigger?: number;
 }
 
+// yyyy-MM-dd shifted by whole days
+const addDays = (date: string, days: number) => {
+  const shifted = new Date(`${date}T00:00:00Z`);
+  shifted.setUTCDate(shifted.getUTCDate() + days);
+  return shifted.toISOString().split("T")[0];
+};
+
 const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
-  const [appointments, setAppointments] = useState<Appointment[]>([]);
+  const today = new Date().toISOString().split("T")[0];
+
+  const [fromDate, setFromDate] = useState<string>(addDays(today, -7));
+  const [toDate, setToDate] = useState<string>(addDays(today, 30));
+  const [appointments, setAppointments] = useState<DashboardAppointment[]>([]);
+  const [usersById, setUsersById] = useState<Map<number, User>>(new Map());
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
   const [loading, setLoading] = useState(true);
   const [filterStatus, setFilterStatus] = useState<AppointmentStatus | "ALL">("ALL");
   const [editingId, setEditingId] = useState<number | null>(null);
@@ -22,19 +39,19 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
 
   useEffect(() => {
     loadAppointments();
-  }, [refreshTrigger]);
+  }, [refreshTrigger, fromDate, toDate]);
 
+  // One request for the window's appointments, their users and the counts
   const loadAppointments = async () => {
+    if (toDate < fromDate) return;
     try {
       setLoading(true);
-      const data = await getAllAppointments();
-      // Sort by date/time (newest first)
-      data.sort(
-        (a, b) =>
-          new Date(b.appointmentDateTime).getTime() -
-          new Date(a.appointmentDateTime).getTime()
-      );
-      setAppointments(data);
+      const data = await getDashboard(`${fromDate}T00:00:00`, `${addDays(toDate, 1)}T00:00:00`);
+      // Sort by start (newest first)
+      data.appointments.sort((a, b) => b.startsAt - a.startsAt);
+      setAppointments(data.appointments);
+      setUsersById(new Map(data.users.map((user) => [user.id!, user])));
+      setSummary(data.summary);
     } catch (err) {
       console.error("Failed to load appointments:", err);
     } finally {
@@ -70,7 +87,7 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
     }
   };
 
-  const handleEdit = (appointment: Appointment) => {
+  const handleEdit = (appointment: DashboardAppointment) => {
     setEditingId(appointment.id || null);
     setEditNotes(appointment.notes || "");
   };
@@ -95,8 +112,9 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
     setEditNotes("");
   };
 
-  const formatDateTime = (dateTime: string) => {
-    const date = new Date(dateTime);
+  // Appointments may be booked in other zones; show their start in this browser's zone
+  const formatDateTime = (appointment: DashboardAppointment) => {
+    const date = new Date(appointment.startsAt);
     return date.toLocaleString("en-US", {
       year: "numeric",
       month: "short",
@@ -128,6 +146,22 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
     <div className="bg-white rounded-xl shadow overflow-hidden">
       <div className="px-6 py-4 border-b border-gray-200 flex justify-between items-center">
         <h2 className="text-xl font-semibold text-sky-700">Appointments</h2>
+        <div className="flex items-center gap-2 text-sm">
+          <input
+            type="date"
+            value={fromDate}
+            onChange={(e) => setFromDate(e.target.value)}
+            className="p-2 border rounded"
+          />
+          <span className="text-gray-500">to</span>
+          <input
+            type="date"
+            value={toDate}
+            min={fromDate}
+            onChange={(e) => setToDate(e.target.value)}
+            className="p-2 border rounded"
+          />
+        </div>
         <select
           value={filterStatus}
           onChange={(e) =>
@@ -142,6 +176,15 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
         </select>
       </div>
 
+      {summary && (
+        <div className="px-6 py-3 border-b border-gray-200 flex gap-6 text-sm text-gray-600">
+          <span>Scheduled: {summary.scheduled}</span>
+          <span>Completed: {summary.completed}</span>
+          <span>Cancelled: {summary.cancelled}</span>
+          <span>Active users: {summary.activeUsers}</span>
+        </div>
+      )}
+
       {loading && (
         <div className="p-6 text-center text-gray-500">Loading appointments...</div>
       )}
@@ -185,12 +228,14 @@ const AppointmentList = ({ refreshTrigger }: AppointmentListProps) => {
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap text-sm">
                     <div className="font-medium text-gray-900">
-                      {appointment.user.name}
+                      {usersById.get(appointment.userId)?.name}
+                    </div>
+                    <div className="text-gray-500">
+                      {usersById.get(appointment.userId)?.email}
                     </div>
-                    <div className="text-gray-500">{appointment.user.email}</div>
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap text-sm text-gray-900">
-                    {formatDateTime(appointment.appointmentDateTime)}
+                    {formatDateTime(appointment)}
                   </td>
                   <td className="px-6 py-4 whitespace-nowrap">
                     <span
@@ -213,7 +213,10 @@ const Dashboard = () => {
         {activeTab === "appointments" && (
           <div className="space-y-6">
             {/* Appointment Calendar */}
-            <AppointmentCalendar onAppointmentCreated={handleAppointmentCreated} />
+            <AppointmentCalendar
+              users={users}
+              onAppointmentCreated={handleAppointmentCreated}
+            />
 
             {/* Appointment List */}
             <AppointmentList refreshTrigger={appointmentRefreshTrigger} />
@@ -0,0 +1,10 @@
+package com.app.appointment_booking_system.audit;
+
+/** Stored by ordinal in the journal: add new actions at the end only. */
+public enum AuditAction {
+    CREATED,
+    UPDATED,
+    RESCHEDULED,
+    CANCELLED,
+    COMPLETED
+}
@@ -0,0 +1,459 @@
+package com.app.appointment_booking_system.audit;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit trail of appointment changes, kept out of the database: fixed-size
+ * records (AuditRecord) in memory-mapped segment files named after their first sequence.
+ * A full segment is forced to disk and a new one is mapped.
+ *
+ * Changes are collected per transaction and appended once it commits, under one lock
+ * acquisition; the caller never waits for the disk. Appended records live in the page
+ * cache, so they survive a crash of this process; the flusher forces everything appended
+ * since its last run with one msync per interval (group commit), which bounds what an
+ * operating system crash can lose to that interval.
+ *
+ * Only the instance holding journal.lock writes; another instance pointed at the same
+ * directory logs a warning and serves reads only. On startup the writer resumes after the
+ * last intact record of the newest segment, so a torn write at the tail is overwritten.
+ *
+ * Readers map each segment once and keep the mapping, together with an index from
+ * appointment id to record offsets that grows as records become visible. Segment files
+ * keep their size and intact records are never rewritten, so neither goes stale.
+ *
+ * Not journaled: appointments purged with their user (UserDeletionServiceImpl), whose
+ * history here ends with the last change before the deletion, and anything written in
+ * reactive mode, which runs against its own database without a journal.
+ */
+@Component
+public class AuditJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentBytes;
+
+    // Writer state, guarded by this; segment is null when this instance does not write
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private int forcedPosition;
+    private long nextSequence;
+    private long lastRecordedAt;
+    private volatile boolean writing;
+
+    // Readers see records up to lastSequence; durableSequence has been forced to disk
+    private volatile long lastSequence = Long.MAX_VALUE;
+    private volatile long durableSequence;
+    private final AtomicLong syncs = new AtomicLong();
+
+    private final Map<Path, SegmentView> views = new ConcurrentHashMap<>();
+
+    public AuditJournal(@Value("${appointments.audit.directory:./data/audit}") String directory,
+                        @Value("${appointments.audit.segment-bytes:16777216}") int segmentBytes,
+                        @Value("${appointments.audit.enabled:true}") boolean enabled) {
+        if (segmentBytes < AuditRecord.BYTES) {
+            throw new IllegalArgumentException("appointments.audit.segment-bytes must be at least " + AuditRecord.BYTES);
+        }
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes / AuditRecord.BYTES * AuditRecord.BYTES;
+        if (enabled) {
+            try {
+                openWriter();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open audit journal in " + this.directory, e);
+            }
+        }
+    }
+
+    // WRITING
+
+    /**
+     * Journals the appointment as it is now, once the current transaction commits (at once
+     * outside one). {@code previousStartsAt} is the slot it moved from, or null.
+     */
+    public void recordAfterCommit(AuditAction action, Appointment appointment, Long previousStartsAt) {
+        if (!writing) {
+            return;
+        }
+        Pending change = new Pending(action, appointment.getId(), appointment.getUser().getId(),
+                appointment.getStatus(), appointment.getStartsAt(),
+                previousStartsAt == null || previousStartsAt.equals(appointment.getStartsAt()) ? null : previousStartsAt,
+                appointment.getVersion());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendQuietly(List.of(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Pending> pending = (List<Pending>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Pending> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendQuietly(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditJournal.this);
+                }
+            });
+            pending = created;
+        }
+        pending.add(change);
+    }
+
+    // The change is committed either way; a journal failure must not turn it into an error
+    private void appendQuietly(List<Pending> changes) {
+        try {
+            append(changes);
+        } catch (IOException | RuntimeException e) {
+            logger.error("❌ Could not journal {} appointment change(s)", changes.size(), e);
+        }
+    }
+
+    private synchronized void append(List<Pending> changes) throws IOException {
+        if (segment == null) {
+            return;
+        }
+        for (Pending change : changes) {
+            if (position + AuditRecord.BYTES > segment.capacity()) {
+                roll();
+            }
+            // Never decreasing, so time windows can be found by binary search
+            lastRecordedAt = Math.max(lastRecordedAt, System.currentTimeMillis());
+            change.toRecord(nextSequence++, lastRecordedAt).writeTo(segment, position);
+            position += AuditRecord.BYTES;
+        }
+        lastSequence = nextSequence - 1;
+    }
+
+    /** Forces what was appended since the last run; one msync covers every writer in between. */
+    @Scheduled(fixedDelayString = "${appointments.audit.flush-interval-ms:50}")
+    public void flush() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        long sequence;
+        synchronized (this) {
+            if (segment == null || position == forcedPosition) {
+                return;
+            }
+            target = segment;
+            from = forcedPosition;
+            to = position;
+            sequence = nextSequence - 1;
+        }
+        // Outside the lock: appends carry on while the pages are written out
+        target.force(from, to - from);
+        syncs.incrementAndGet();
+        synchronized (this) {
+            if (target == segment) {
+                forcedPosition = Math.max(forcedPosition, to);
+            }
+            durableSequence = Math.max(durableSequence, sequence);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (segment == null) {
+            return;
+        }
+        segment.force();
+        durableSequence = nextSequence - 1;
+        writing = false;
+        segment = null;
+        views.clear();
+        channel.close();
+        lock.release();
+        lockChannel.close();
+    }
+
+    // READING
+
+    /**
+     * Every journaled change of the appointment, oldest first, from each segment's index.
+     * A purge with its user is not among them; see the class comment.
+     */
+    public List<AuditRecord> history(long appointmentId) {
+        long upTo = lastSequence;
+        List<AuditRecord> found = new ArrayList<>();
+        for (SegmentView view : views()) {
+            for (int offset : view.offsetsOf(appointmentId, upTo)) {
+                AuditRecord record = AuditRecord.readFrom(view.records, offset);
+                if (record != null && record.sequence() <= upTo) {
+                    found.add(record);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Changes recorded in [from, to), oldest first, at most {@code limit}. Segments wholly
+     * before the window are skipped and the first record is found by binary search. User
+     * purges and reactive-mode writes are not journaled.
+     */
+    public List<AuditRecord> window(Instant from, Instant to, int limit) {
+        long upTo = lastSequence;
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<SegmentView> segments = views();
+        long[] firstRecordedAt = new long[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            firstRecordedAt[i] = segments.get(i).firstRecordedAt();
+        }
+
+        List<AuditRecord> found = new ArrayList<>();
+        for (int i = 0; i < segments.size() && found.size() < limit; i++) {
+            if (i + 1 < segments.size() && firstRecordedAt[i + 1] < fromMillis) {
+                continue;
+            }
+            if (firstRecordedAt[i] >= toMillis) {
+                break;
+            }
+            ByteBuffer records = segments.get(i).records;
+            for (int offset = firstAtOrAfter(records, fromMillis, upTo);
+                 offset + AuditRecord.BYTES <= records.capacity() && found.size() < limit;
+                 offset += AuditRecord.BYTES) {
+                AuditRecord record = AuditRecord.readFrom(records, offset);
+                if (record == null || record.sequence() > upTo || !record.recordedAt().isBefore(to)) {
+                    break;
+                }
+                found.add(record);
+            }
+        }
+        return found;
+    }
+
+    public Stats stats() {
+        boolean writing;
+        long last;
+        synchronized (this) {
+            writing = segment != null;
+            last = writing ? nextSequence - 1 : 0;
+        }
+        return new Stats(directory.toString(), writing, last, durableSequence, segments().size(), syncs.get());
+    }
+
+    public record Stats(String directory, boolean writing, long lastSequence, long durableSequence,
+                        int segments, long syncs) {
+    }
+
+    // SEGMENTS
+
+    private void openWriter() throws IOException {
+        Files.createDirectories(directory);
+        lockChannel = FileChannel.open(directory.resolve("journal.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another application context in this JVM
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            logger.warn("⚠️ Audit journal {} is locked by another instance; this one will not journal changes",
+                    directory.toAbsolutePath());
+            return;
+        }
+
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            recover(segments.get(segments.size() - 1));
+        }
+        lastSequence = nextSequence - 1;
+        durableSequence = lastSequence;
+        writing = true;
+        logger.info("📒 Audit journal {} open at sequence {} ({} segment(s))",
+                directory.toAbsolutePath(), nextSequence, segments().size());
+    }
+
+    // Resumes after the last intact record; the file keeps the size it was created with
+    private void recover(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size() / AuditRecord.BYTES * AuditRecord.BYTES;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size > 0 ? size : segmentBytes);
+        long expected = firstSequenceOf(path);
+        int offset = 0;
+        while (offset + AuditRecord.BYTES <= segment.capacity()
+                && AuditRecord.sequenceAt(segment, offset) == expected) {
+            lastRecordedAt = AuditRecord.recordedAtMillis(segment, offset);
+            offset += AuditRecord.BYTES;
+            expected++;
+        }
+        position = offset;
+        forcedPosition = offset;
+        nextSequence = expected;
+    }
+
+    private void roll() throws IOException {
+        segment.force(forcedPosition, position - forcedPosition);
+        syncs.incrementAndGet();
+        lastSequence = nextSequence - 1;
+        durableSequence = lastSequence;
+        channel.close();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        position = 0;
+        forcedPosition = 0;
+        nextSequence = firstSequence;
+    }
+
+    // Oldest first: the zero-padded names sort by first sequence
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Cached read-only views, oldest first; views of files no longer listed are dropped
+    private List<SegmentView> views() {
+        List<Path> segments = segments();
+        if (views.size() > segments.size()) {
+            views.keySet().retainAll(segments);
+        }
+        List<SegmentView> found = new ArrayList<>(segments.size());
+        for (Path path : segments) {
+            found.add(views.computeIfAbsent(path, file -> new SegmentView(mapReadOnly(file))));
+        }
+        return found;
+    }
+
+    private static long firstSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static ByteBuffer mapReadOnly(Path path) {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return file.map(FileChannel.MapMode.READ_ONLY, 0, file.size() / AuditRecord.BYTES * AuditRecord.BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Offset of the first record at or after the instant; unwritten space sorts last
+    private static int firstAtOrAfter(ByteBuffer records, long fromMillis, long upTo) {
+        int low = 0;
+        int high = records.capacity() / AuditRecord.BYTES;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int offset = middle * AuditRecord.BYTES;
+            long sequence = AuditRecord.sequenceAt(records, offset);
+            if (sequence == 0 || sequence > upTo || AuditRecord.recordedAtMillis(records, offset) >= fromMillis) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low * AuditRecord.BYTES;
+    }
+
+    /** One segment mapped read-only, with the offsets of each appointment's records. */
+    private static final class SegmentView {
+
+        private final ByteBuffer records;
+        // Guarded by this; records before indexedTo are in the index
+        private final Map<Long, Offsets> offsets = new HashMap<>();
+        private int indexedTo;
+
+        SegmentView(ByteBuffer records) {
+            this.records = records;
+        }
+
+        long firstRecordedAt() {
+            return records.capacity() < AuditRecord.BYTES || AuditRecord.sequenceAt(records, 0) == 0
+                    ? Long.MAX_VALUE
+                    : AuditRecord.recordedAtMillis(records, 0);
+        }
+
+        synchronized int[] offsetsOf(long appointmentId, long upTo) {
+            // Only the newest segment has anything left to index
+            while (indexedTo + AuditRecord.BYTES <= records.capacity()) {
+                long sequence = AuditRecord.sequenceAt(records, indexedTo);
+                if (sequence == 0 || sequence > upTo) {
+                    break;
+                }
+                offsets.computeIfAbsent(AuditRecord.appointmentIdAt(records, indexedTo), id -> new Offsets())
+                        .add(indexedTo);
+                indexedTo += AuditRecord.BYTES;
+            }
+            Offsets found = offsets.get(appointmentId);
+            return found == null ? new int[0] : Arrays.copyOf(found.values, found.size);
+        }
+    }
+
+    private static final class Offsets {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+    }
+
+    private record Pending(AuditAction action, long appointmentId, long userId, AppointmentStatus status,
+                           long startsAt, Long previousStartsAt, Long version) {
+
+        AuditRecord toRecord(long sequence, long recordedAt) {
+            return new AuditRecord(sequence, Instant.ofEpochMilli(recordedAt), action, appointmentId, userId,
+                    status, Instant.ofEpochMilli(startsAt),
+                    previousStartsAt == null ? null : Instant.ofEpochMilli(previousStartsAt), version);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.appointment_booking_system.audit;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * One journaled appointment change. On disk every record is {@link #BYTES} bytes:
+ *
+ * <pre>
+ *  0  long  sequence          (from 1; 0 marks unwritten space)
+ *  8  long  recorded at       (epoch ms, never decreasing within a journal)
+ * 16  long  appointment id
+ * 24  long  user id
+ * 32  long  starts at         (epoch ms)
+ * 40  long  previous starts at (epoch ms, Long.MIN_VALUE when unchanged)
+ * 48  long  version           (-1 when unknown)
+ * 56  byte  action            (AuditAction ordinal)
+ * 57  byte  status            (AppointmentStatus ordinal)
+ * 58  short reserved
+ * 60  int   CRC32C of bytes 0-59
+ * </pre>
+ *
+ * Both enums are stored by ordinal, so new constants go at the end.
+ */
+public record AuditRecord(long sequence,
+                          Instant recordedAt,
+                          AuditAction action,
+                          long appointmentId,
+                          long userId,
+                          AppointmentStatus status,
+                          Instant startsAt,
+                          Instant previousStartsAt,
+                          Long version) {
+
+    public static final int BYTES = 64;
+
+    private static final int CHECKSUMMED = 60;
+    private static final long NO_INSTANT = Long.MIN_VALUE;
+
+    /** Writes the record at {@code offset} without moving the buffer's position. */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, recordedAt.toEpochMilli());
+        buffer.putLong(offset + 16, appointmentId);
+        buffer.putLong(offset + 24, userId);
+        buffer.putLong(offset + 32, startsAt.toEpochMilli());
+        buffer.putLong(offset + 40, previousStartsAt == null ? NO_INSTANT : previousStartsAt.toEpochMilli());
+        buffer.putLong(offset + 48, version == null ? -1 : version);
+        buffer.put(offset + 56, (byte) action.ordinal());
+        buffer.put(offset + 57, (byte) status.ordinal());
+        buffer.putShort(offset + 58, (short) 0);
+        buffer.putInt(offset + CHECKSUMMED, checksum(buffer, offset));
+    }
+
+    /** The record at {@code offset}, or null for unwritten space or a torn write. */
+    static AuditRecord readFrom(ByteBuffer buffer, int offset) {
+        long sequence = buffer.getLong(offset);
+        if (sequence <= 0 || buffer.getInt(offset + CHECKSUMMED) != checksum(buffer, offset)) {
+            return null;
+        }
+        long previous = buffer.getLong(offset + 40);
+        long version = buffer.getLong(offset + 48);
+        return new AuditRecord(
+                sequence,
+                Instant.ofEpochMilli(buffer.getLong(offset + 8)),
+                AuditAction.values()[buffer.get(offset + 56)],
+                buffer.getLong(offset + 16),
+                buffer.getLong(offset + 24),
+                AppointmentStatus.values()[buffer.get(offset + 57)],
+                Instant.ofEpochMilli(buffer.getLong(offset + 32)),
+                previous == NO_INSTANT ? null : Instant.ofEpochMilli(previous),
+                version < 0 ? null : version);
+    }
+
+    /** Sequence of the record at {@code offset} if it is intact, else 0. */
+    static long sequenceAt(ByteBuffer buffer, int offset) {
+        long sequence = buffer.getLong(offset);
+        return sequence > 0 && buffer.getInt(offset + CHECKSUMMED) == checksum(buffer, offset) ? sequence : 0;
+    }
+
+    static long recordedAtMillis(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    static long appointmentIdAt(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 16);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUMMED));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.appointment_booking_system.cluster;
+
+import com.app.appointment_booking_system.hold.SlotHold;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keys one committed transaction changed, sent to the other instances so they evict or
+ * reload just those entries. {@code everything} replaces the key sets when a write touched
+ * too many keys to list; peers then rebuild their caches from the database.
+ *
+ * Slot holds are not in the database, so they travel in full: peers add the holds taken
+ * and drop the ones released, and count them against the slot like their own.
+ *
+ * @param origin           node id of the writer; a node ignores its own messages
+ * @param userIds          users whose search entries must be reloaded
+ * @param appointmentIds   appointments whose search entries must be reloaded
+ * @param days             UTC days (epoch millis / 86400000) whose scheduled reads must not be shared
+ * @param waitlistEntryIds waitlist entries to reload into the waitlist index
+ * @param holdsTaken       slot holds the origin granted
+ * @param holdsReleased    ids of slot holds the origin released or consumed
+ */
+public record CacheInvalidation(String origin,
+                                Set<Long> userIds,
+                                Set<Long> appointmentIds,
+                                Set<Long> days,
+                                Set<Long> waitlistEntryIds,
+                                List<SlotHold> holdsTaken,
+                                Set<String> holdsReleased,
+                                boolean everything) {
+
+    public static CacheInvalidation everything(String origin) {
+        return new CacheInvalidation(origin, Set.of(), Set.of(), Set.of(), Set.of(), List.of(), Set.of(), true);
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.appointment_booking_system.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in transport for several application contexts in one JVM (tests). Every instance
+ * shares one static channel; each subscriber gets messages on its own thread, in publish
+ * order, the way a peer would receive them asynchronously.
+ */
+public class InMemoryInvalidationTransport implements InvalidationTransport, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryInvalidationTransport.class);
+
+    private static final List<InMemoryInvalidationTransport> CHANNEL = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-delivery");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Consumer<CacheInvalidation> listener;
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (InMemoryInvalidationTransport subscriber : CHANNEL) {
+            subscriber.deliver(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        this.listener = listener;
+        CHANNEL.add(this);
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        delivery.execute(() -> {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Failed to apply cache invalidation from {}", invalidation.origin(), e);
+            }
+        });
+    }
+
+    // Context shutdown: leave the channel so a closed context gets no more messages
+    @Override
+    public void close() {
+        CHANNEL.remove(this);
+        delivery.shutdownNow();
+    }
+}
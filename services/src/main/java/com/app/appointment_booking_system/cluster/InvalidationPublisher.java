@@ -0,0 +1,157 @@
+package com.app.appointment_booking_system.cluster;
+
+import com.app.appointment_booking_system.hold.SlotHold;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collects the cache keys a transaction changes and, once it commits, sends them to the
+ * other instances as one CacheInvalidation. Nothing is sent for rolled-back transactions,
+ * and nothing at all when cluster.invalidation.transport is none.
+ *
+ * Slot holds are not transactional, so taking or releasing one is sent right away.
+ */
+@Component
+public class InvalidationPublisher {
+
+    private final InvalidationTransport transport;
+    private final String nodeId;
+
+    // Past this many keys of one kind, peers are told to rebuild instead
+    @Value("${cluster.invalidation.max-keys:200}")
+    private int maxKeys;
+
+    public InvalidationPublisher(InvalidationTransport transport,
+                                 @Value("${cluster.node-id:}") String nodeId) {
+        this.transport = transport;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void usersChanged(Collection<Long> userIds) {
+        Pending pending = pending();
+        if (pending != null) {
+            pending.userIds.addAll(userIds);
+            publishIfImmediate(pending);
+        }
+    }
+
+    public void appointmentsChanged(Collection<Long> appointmentIds) {
+        Pending pending = pending();
+        if (pending != null) {
+            pending.appointmentIds.addAll(appointmentIds);
+            publishIfImmediate(pending);
+        }
+    }
+
+    /** UTC day numbers, as AppointmentReadCoalescer keys them. */
+    public void daysChanged(Collection<Long> days) {
+        Pending pending = pending();
+        if (pending != null) {
+            pending.days.addAll(days);
+            publishIfImmediate(pending);
+        }
+    }
+
+    public void waitlistEntriesChanged(Collection<Long> entryIds) {
+        Pending pending = pending();
+        if (pending != null) {
+            pending.waitlistEntryIds.addAll(entryIds);
+            publishIfImmediate(pending);
+        }
+    }
+
+    public void holdTaken(SlotHold hold) {
+        if (transport != InvalidationTransport.NONE) {
+            Pending pending = new Pending(true);
+            pending.holdsTaken.add(hold);
+            publish(pending);
+        }
+    }
+
+    public void holdReleased(String holdId) {
+        if (transport != InvalidationTransport.NONE) {
+            Pending pending = new Pending(true);
+            pending.holdsReleased.add(holdId);
+            publish(pending);
+        }
+    }
+
+    // The keys of the current transaction, or of this call alone outside one
+    private Pending pending() {
+        if (transport == InvalidationTransport.NONE) {
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Pending(true);
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending created = new Pending(false);
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // afterCommit, not afterCompletion: a transport may need a transaction of its own
+                @Override
+                public void afterCommit() {
+                    publish(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationPublisher.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void publishIfImmediate(Pending pending) {
+        if (pending.immediate) {
+            publish(pending);
+        }
+    }
+
+    private void publish(Pending pending) {
+        if (pending.userIds.isEmpty() && pending.appointmentIds.isEmpty() && pending.days.isEmpty()
+                && pending.waitlistEntryIds.isEmpty() && pending.holdsTaken.isEmpty()
+                && pending.holdsReleased.isEmpty()) {
+            return;
+        }
+        if (pending.userIds.size() > maxKeys || pending.appointmentIds.size() > maxKeys
+                || pending.days.size() > maxKeys || pending.waitlistEntryIds.size() > maxKeys) {
+            transport.publish(CacheInvalidation.everything(nodeId));
+        } else {
+            transport.publish(new CacheInvalidation(nodeId, Set.copyOf(pending.userIds),
+                    Set.copyOf(pending.appointmentIds), Set.copyOf(pending.days),
+                    Set.copyOf(pending.waitlistEntryIds), List.copyOf(pending.holdsTaken),
+                    Set.copyOf(pending.holdsReleased), false));
+        }
+    }
+
+    private static final class Pending {
+        final boolean immediate;
+        final Set<Long> userIds = new HashSet<>();
+        final Set<Long> appointmentIds = new HashSet<>();
+        final Set<Long> days = new HashSet<>();
+        final Set<Long> waitlistEntryIds = new HashSet<>();
+        final List<SlotHold> holdsTaken = new ArrayList<>(1);
+        final Set<String> holdsReleased = new HashSet<>();
+
+        Pending(boolean immediate) {
+            this.immediate = immediate;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.appointment_booking_system.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between instances. Chosen by cluster.invalidation.transport
+ * (see ClusterConfig): none, jdbc (a polled table, no extra infrastructure) or in-memory
+ * (instances in one JVM, for tests).
+ */
+public interface InvalidationTransport {
+
+    /** Single instance: nothing to tell anyone. */
+    InvalidationTransport NONE = new InvalidationTransport() {
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+        }
+    };
+
+    /** Called after the writing transaction has committed; must not throw. */
+    void publish(CacheInvalidation invalidation);
+
+    /** Messages from every instance, this one included, are delivered to the listener. */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,205 @@
+package com.app.appointment_booking_system.cluster;
+
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.model.CacheInvalidationEvent;
+import com.app.appointment_booking_system.repository.CacheInvalidationEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Invalidations through the shared database: publishing inserts a row into
+ * cache_invalidations, and every instance polls for rows past the last id it has seen.
+ *
+ * Identity values are handed out at insert but become visible at commit, so a poll can see
+ * id 12 before id 11. Rows are delivered as soon as they are seen; the watermark only moves
+ * past a missing id once it shows up or has been missing for gap-timeout-ms (a rolled-back
+ * insert leaves a permanent hole). While ids are missing, a poll looks those ids up and
+ * pages forward from the highest id delivered, so an open gap never holds back the rows
+ * queued behind it.
+ *
+ * Staleness bound: a peer applies a write at most poll-interval-ms (plus one poll query)
+ * after the writer's publishing insert commits, which happens right after the write commits.
+ * A publishing insert that takes longer than gap-timeout-ms to commit behind a later one may
+ * be missed; the insert is a single-row transaction, so the default leaves a wide margin.
+ */
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcInvalidationTransport.class);
+
+    private static final int POLL_BATCH = 500;
+    // Missing ids looked up per poll; more only appear when many publishing inserts roll back
+    private static final int MAX_GAP_LOOKUPS = 500;
+
+    private final CacheInvalidationEventRepository repository;
+    private final TransactionTemplate newTransaction;
+    private final long gapTimeoutMs;
+    private final long retentionMs;
+
+    private volatile Consumer<CacheInvalidation> listener;
+
+    // Guarded by this: every id <= watermark has been delivered or given up on;
+    // delivered holds the ids above it that have been delivered already, missingSince the
+    // ids between them not seen yet
+    private long watermark;
+    private final TreeSet<Long> delivered = new TreeSet<>();
+    private final TreeMap<Long, Long> missingSince = new TreeMap<>();
+
+    public JdbcInvalidationTransport(CacheInvalidationEventRepository repository,
+                                     PlatformTransactionManager transactionManager,
+                                     long gapTimeoutMs,
+                                     long retentionMs) {
+        this.repository = repository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            // Called after the write committed, so in a transaction of its own
+            newTransaction.executeWithoutResult(status -> repository.save(new CacheInvalidationEvent(
+                    invalidation.origin(), join(invalidation.userIds()), join(invalidation.appointmentIds()),
+                    join(invalidation.days()), join(invalidation.waitlistEntryIds()),
+                    encodeHolds(invalidation.holdsTaken()), joinStrings(invalidation.holdsReleased()),
+                    invalidation.everything())));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not publish cache invalidation; peers stay stale until restart", e);
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<CacheInvalidation> listener) {
+        // Caches are built from the database at startup; older messages are already reflected
+        watermark = repository.findMaxId();
+        this.listener = listener;
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.invalidation.poll-interval-ms:500}")
+    public synchronized void poll() {
+        if (listener == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!missingSince.isEmpty()) {
+            List<Long> gaps = missingSince.keySet().stream().limit(MAX_GAP_LOOKUPS).toList();
+            repository.findAllById(gaps).forEach(this::deliverOnce);
+        }
+        long after = delivered.isEmpty() ? watermark : delivered.last();
+        List<CacheInvalidationEvent> page;
+        do {
+            page = repository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(POLL_BATCH));
+            for (CacheInvalidationEvent event : page) {
+                // Ids skipped on the way are uncommitted (or rolled back) inserts
+                for (long id = after + 1; id < event.getId(); id++) {
+                    missingSince.putIfAbsent(id, now);
+                }
+                deliverOnce(event);
+                after = event.getId();
+            }
+        } while (page.size() == POLL_BATCH);
+        advanceWatermark(now);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.invalidation.cleanup-interval-ms:60000}")
+    public void deleteExpired() {
+        int deleted = newTransaction.execute(status -> repository.deleteCreatedBefore(
+                LocalDateTime.now().minus(Duration.ofMillis(retentionMs))));
+        if (deleted > 0) {
+            logger.debug("Deleted {} expired cache invalidations", deleted);
+        }
+    }
+
+    private void advanceWatermark(long now) {
+        while (!delivered.isEmpty()) {
+            long next = watermark + 1;
+            if (delivered.remove(next)) {
+                watermark = next;
+                continue;
+            }
+            // A later id is visible but this one is not: uncommitted, or rolled back
+            Long since = missingSince.get(next);
+            if (since != null && now - since < gapTimeoutMs) {
+                return;
+            }
+            missingSince.remove(next);
+            watermark = next;
+        }
+    }
+
+    private void deliverOnce(CacheInvalidationEvent event) {
+        missingSince.remove(event.getId());
+        if (event.getId() > watermark && delivered.add(event.getId())) {
+            deliver(event);
+        }
+    }
+
+    private void deliver(CacheInvalidationEvent event) {
+        try {
+            listener.accept(new CacheInvalidation(event.getOrigin(), split(event.getUserIds()),
+                    split(event.getAppointmentIds()), split(event.getDays()), split(event.getWaitlistEntryIds()),
+                    decodeHolds(event.getHoldsTaken()), splitStrings(event.getHoldsReleased()),
+                    event.isEverything()));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Failed to apply cache invalidation {} from {}", event.getId(), event.getOrigin(), e);
+        }
+    }
+
+    private static String join(Collection<Long> ids) {
+        return ids.isEmpty() ? null : ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> split(String ids) {
+        return ids == null || ids.isEmpty() ? Set.of()
+                : Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    private static String joinStrings(Collection<String> values) {
+        return values.isEmpty() ? null : String.join(",", values);
+    }
+
+    private static Set<String> splitStrings(String values) {
+        return values == null || values.isEmpty() ? Set.of() : Set.of(values.split(","));
+    }
+
+    // "id userId startsAt expiresAtMillis zone", comma-separated; zone ids contain neither
+    static String encodeHolds(List<SlotHold> holds) {
+        return holds.isEmpty() ? null : holds.stream()
+                .map(hold -> hold.id() + " " + hold.userId() + " " + hold.startsAt() + " "
+                        + hold.expiresAt().toEpochMilli() + " " + hold.timeZone())
+                .collect(Collectors.joining(","));
+    }
+
+    static List<SlotHold> decodeHolds(String holds) {
+        if (holds == null || holds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(holds.split(",")).map(encoded -> {
+            String[] fields = encoded.split(" ");
+            long startsAt = Long.parseLong(fields[2]);
+            ZoneId zone = ZoneId.of(fields[4]);
+            return new SlotHold(fields[0], Long.valueOf(fields[1]),
+                    Instant.ofEpochMilli(startsAt).atZone(zone).toLocalDateTime(), zone.getId(), startsAt,
+                    Instant.ofEpochMilli(Long.parseLong(fields[3])));
+        }).toList();
+    }
+}
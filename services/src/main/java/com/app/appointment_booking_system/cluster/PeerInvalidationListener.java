@@ -0,0 +1,76 @@
+package com.app.appointment_booking_system.cluster;
+
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies other instances' invalidations to this one: changed users and appointments are
+ * reloaded into the search indexes, scheduled reads of changed days stop being shared, day
+ * snapshots embedding changed users are rebuilt, changed waitlist entries are re-read into
+ * the waitlist index, and their slot holds are mirrored into the local registry.
+ */
+@Component
+public class PeerInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PeerInvalidationListener.class);
+
+    private final InvalidationTransport transport;
+    private final InvalidationPublisher publisher;
+    private final SearchService searchService;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final DaySnapshotCache daySnapshots;
+    private final WaitlistService waitlistService;
+    private final SlotHoldRegistry slotHolds;
+
+    public PeerInvalidationListener(InvalidationTransport transport,
+                                    InvalidationPublisher publisher,
+                                    SearchService searchService,
+                                    AppointmentReadCoalescer readCoalescer,
+                                    DaySnapshotCache daySnapshots,
+                                    WaitlistService waitlistService,
+                                    SlotHoldRegistry slotHolds) {
+        this.transport = transport;
+        this.publisher = publisher;
+        this.searchService = searchService;
+        this.readCoalescer = readCoalescer;
+        this.daySnapshots = daySnapshots;
+        this.waitlistService = waitlistService;
+        this.slotHolds = slotHolds;
+    }
+
+    // Before the search indexes are built, so no write lands between the build and the subscription
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void subscribe() {
+        transport.subscribe(this::apply);
+    }
+
+    void apply(CacheInvalidation invalidation) {
+        if (invalidation.origin().equals(publisher.nodeId())) {
+            return;
+        }
+        if (invalidation.everything()) {
+            logger.info("🔄 Rebuilding caches after a bulk write on {}", invalidation.origin());
+            readCoalescer.invalidateAll();
+            searchService.rebuild();
+            waitlistService.rebuildIndex();
+            return;
+        }
+        slotHolds.applyPeer(invalidation.holdsTaken(), invalidation.holdsReleased());
+        readCoalescer.invalidateDays(invalidation.days());
+        daySnapshots.invalidateUsers(invalidation.userIds());
+        searchService.refreshUsers(invalidation.userIds());
+        searchService.refreshAppointments(invalidation.appointmentIds());
+        waitlistService.refreshEntries(invalidation.waitlistEntryIds());
+    }
+}
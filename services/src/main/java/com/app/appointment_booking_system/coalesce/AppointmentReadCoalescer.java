@@ -0,0 +1,119 @@
+package com.app.appointment_booking_system.coalesce;
+
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import com.app.appointment_booking_system.config.EpochWindow;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for the hot scheduled-appointment reads (day/range lists and slot
+ * seat counts), keyed by the epoch-millisecond window they query.
+ *
+ * Writers report the instants they touched; once their transaction commits, flights
+ * covering those UTC days are detached so nobody arriving after the commit is handed a
+ * result read before it. The days also go to the other instances (InvalidationPublisher),
+ * which detach their own flights once the message arrives. Reads inside a transaction are never shared, since they may
+ * need to see that transaction's own writes. Day snapshots are invalidated right after the
+ * flights, so a snapshot rebuilt from then on never joins a flight that started before.
+ */
+@Component
+public class AppointmentReadCoalescer {
+
+    private final SingleFlight<EpochWindow, List<Appointment>> ranges = new SingleFlight<>();
+    private final SingleFlight<EpochWindow, Integer> slots = new SingleFlight<>();
+
+    private final InvalidationPublisher peers;
+    private final DaySnapshotCache daySnapshots;
+
+    @Value("${appointments.read-coalescing.enabled:true}")
+    private boolean enabled;
+
+    public AppointmentReadCoalescer(InvalidationPublisher peers, DaySnapshotCache daySnapshots) {
+        this.peers = peers;
+        this.daySnapshots = daySnapshots;
+    }
+
+    /** Scheduled appointments starting in [from, to). */
+    public List<Appointment> range(long from, long to, Supplier<List<Appointment>> loader) {
+        return shareable() ? ranges.execute(new EpochWindow(from, to), loader) : loader.get();
+    }
+
+    /** Seats of the slot starting at the instant not taken by a scheduled appointment. */
+    public int unbookedSeats(long startsAt, Supplier<Integer> loader) {
+        return shareable() ? slots.execute(new EpochWindow(startsAt, startsAt + 1), loader) : loader.get();
+    }
+
+    public void invalidateAfterCommit(Long startsAt) {
+        invalidateAfterCommit(Collections.singletonList(startsAt));
+    }
+
+    /** Call from the writing transaction with every start instant it adds, moves or frees. */
+    public void invalidateAfterCommit(Collection<Long> startsAt) {
+        Set<Long> days = new TreeSet<>();
+        for (Long instant : startsAt) {
+            if (instant != null) {
+                days.add(EpochWindow.dayOf(instant));
+            }
+        }
+        if (!days.isEmpty()) {
+            afterCommit(() -> invalidateDays(days));
+            peers.daysChanged(days);
+        }
+    }
+
+    /** Detaches flights covering any of the UTC days now; for changes already committed elsewhere. */
+    public void invalidateDays(Set<Long> days) {
+        if (!days.isEmpty()) {
+            invalidate(window -> window.coversAny(days));
+            daySnapshots.invalidateDays(days);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidate(window -> true);
+        daySnapshots.invalidateAll();
+    }
+
+    public Map<String, SingleFlight.Stats> stats() {
+        Map<String, SingleFlight.Stats> stats = new LinkedHashMap<>();
+        stats.put("range", ranges.stats());
+        stats.put("availability", slots.stats());
+        return stats;
+    }
+
+    private void invalidate(Predicate<EpochWindow> affected) {
+        ranges.invalidate(affected);
+        slots.invalidate(affected);
+    }
+
+    private boolean shareable() {
+        return enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
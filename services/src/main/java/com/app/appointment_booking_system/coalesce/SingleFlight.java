@@ -0,0 +1,86 @@
+package com.app.appointment_booking_system.coalesce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one execution.
+ *
+ * The first caller for a key runs the loader; callers arriving while it is in flight
+ * wait for and share its result (or exception). Nothing is kept once the call returns,
+ * so this is not a cache: a caller that arrives after the flight lands runs its own.
+ * {@link #invalidate} detaches flights that may have started before a write, so later
+ * callers do not join them; callers already waiting still get the old result.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return await(leader);
+        }
+        executions.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /** Detaches every in-flight call whose key matches. */
+    public void invalidate(Predicate<K> affected) {
+        inFlight.forEach((key, flight) -> {
+            if (affected.test(key) && inFlight.remove(key, flight)) {
+                invalidations.increment();
+            }
+        });
+    }
+
+    public Stats stats() {
+        // Executions first: a call counted after its execution would make shared negative
+        long executed = executions.sum();
+        long total = Math.max(calls.sum(), executed);
+        long shared = total - executed;
+        return new Stats(total, executed, shared, invalidations.sum(), inFlight.size(),
+                total == 0 ? 0 : (double) shared / total);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow what the leader saw, e.g. a ResponseStatusException
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Counters since startup. {@code shared} calls got another caller's result;
+     * {@code coalescingRatio} is their share of all calls.
+     */
+    public record Stats(long calls, long executions, long shared, long invalidations, int inFlight,
+                        double coalescingRatio) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.appointment_booking_system.config;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Gives appointments written before zones existed their instant (starts_at) and zone.
+ * Those rows hold server wall-clock times, so they are read in the JVM's zone. Runs once
+ * at startup, before the web server accepts requests, in small transactions; afterwards
+ * it is a single query that finds nothing.
+ */
+@Component
+@Lazy(false)
+@DependsOn("entityManagerFactory")
+public class AppointmentZoneBackfill implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentZoneBackfill.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AppointmentZoneBackfill(AppointmentRepository appointmentRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        ZoneId legacyZone = ZoneId.systemDefault();
+        int total = 0;
+        int filled;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Appointment> rows = appointmentRepository.findWithoutStartsAt(PageRequest.ofSize(CHUNK_SIZE));
+                rows.forEach(row -> row.setSchedule(row.getAppointmentDateTime(), legacyZone));
+                return rows.size();
+            });
+            filled = chunk == null ? 0 : chunk;
+            total += filled;
+        } while (filled == CHUNK_SIZE);
+        if (total > 0) {
+            logger.info("🕒 Backfilled {} appointments with instants in zone {}", total, legacyZone);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.app.appointment_booking_system.config;
+
+import com.app.appointment_booking_system.cluster.InMemoryInvalidationTransport;
+import com.app.appointment_booking_system.cluster.InvalidationTransport;
+import com.app.appointment_booking_system.cluster.JdbcInvalidationTransport;
+import com.app.appointment_booking_system.repository.CacheInvalidationEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class ClusterConfig {
+
+    /**
+     * Picked at runtime rather than with conditions, so an AOT-built image (fast-start) can
+     * still be switched between single-instance and clustered deployments.
+     */
+    @Bean
+    InvalidationTransport invalidationTransport(@Value("${cluster.invalidation.transport:none}") String transport,
+                                                @Value("${cluster.invalidation.gap-timeout-ms:10000}") long gapTimeoutMs,
+                                                @Value("${cluster.invalidation.retention-ms:600000}") long retentionMs,
+                                                CacheInvalidationEventRepository repository,
+                                                PlatformTransactionManager transactionManager) {
+        return switch (transport) {
+            case "none" -> InvalidationTransport.NONE;
+            case "jdbc" -> new JdbcInvalidationTransport(repository, transactionManager, gapTimeoutMs, retentionMs);
+            case "in-memory" -> new InMemoryInvalidationTransport();
+            default -> throw new IllegalStateException("Unknown cluster.invalidation.transport: " + transport);
+        };
+    }
+}
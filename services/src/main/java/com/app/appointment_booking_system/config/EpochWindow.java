@@ -0,0 +1,29 @@
+package com.app.appointment_booking_system.config;
+
+import java.util.Set;
+
+/**
+ * Half-open [from, to) in UTC epoch milliseconds; the key of cached and coalesced
+ * appointment reads. Writers report the UTC days they touched (see dayOf), and every
+ * window covering one of them is dropped.
+ */
+public record EpochWindow(long from, long to) {
+
+    public static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /** The UTC day of the instant, as days since 1970-01-01. */
+    public static long dayOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, DAY_MILLIS);
+    }
+
+    public boolean coversAny(Set<Long> days) {
+        long first = dayOf(from);
+        long last = dayOf(to - 1);
+        for (Long day : days) {
+            if (day >= first && day <= last) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.app.appointment_booking_system.config;
+
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.cluster.InvalidationTransport;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.security.RateLimiterRegistry;
+import com.app.appointment_booking_system.service.AppointmentArchiveService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import com.app.appointment_booking_system.web.IdempotencyKeyStore;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * @Scheduled methods are only registered when their bean is created, so beans that own
+     * background jobs stay eager when spring.main.lazy-initialization is on (fast profile).
+     */
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                AppointmentArchiveService.class,
+                WaitlistService.class,
+                IdempotencyKeyStore.class,
+                RateLimiterRegistry.class,
+                SlotHoldRegistry.class,
+                InvalidationTransport.class,
+                AuditJournal.class);
+    }
+}
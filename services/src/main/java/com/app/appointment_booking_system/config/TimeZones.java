@@ -0,0 +1,64 @@
+package com.app.appointment_booking_system.config;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Resolves the zone a client's wall-clock times are meant in. Appointments are stored as
+ * UTC epoch milliseconds plus the zone they were booked in; users without a zone, and
+ * requests that do not name one, use appointments.default-zone.
+ */
+@Component
+public class TimeZones {
+
+    // Widest UTC offset in use (+14:00); widening a wall-clock bound by this covers every zone
+    public static final Duration MAX_OFFSET = Duration.ofHours(14);
+
+    private final ZoneId defaultZone;
+
+    public TimeZones(@Value("${appointments.default-zone:UTC}") String defaultZone) {
+        this.defaultZone = ZoneId.of(defaultZone);
+    }
+
+    public ZoneId defaultZone() {
+        return defaultZone;
+    }
+
+    // Zone named by a request; blank means the default zone
+    public ZoneId resolve(String zoneId) {
+        if (zoneId == null || zoneId.isBlank()) {
+            return defaultZone;
+        }
+        try {
+            return ZoneId.of(zoneId.trim());
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown time zone: " + zoneId);
+        }
+    }
+
+    // Validated zone id to store, or null to keep following the default zone
+    public String normalize(String zoneId) {
+        return zoneId == null || zoneId.isBlank() ? null : resolve(zoneId).getId();
+    }
+
+    public ZoneId forUser(User user) {
+        return user.getTimeZone() == null ? defaultZone : ZoneId.of(user.getTimeZone());
+    }
+
+    public ZoneId forAppointment(Appointment appointment) {
+        return appointment.getTimeZone() == null ? defaultZone : ZoneId.of(appointment.getTimeZone());
+    }
+
+    public static long epochMillis(LocalDateTime wallClock, ZoneId zone) {
+        return wallClock.atZone(zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.appointment_booking_system.config;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/**
+ * Applies database-specific schema objects (db/vendor/&lt;database&gt;) that Hibernate cannot
+ * express, e.g. partial indexes and exclusion constraints on PostgreSQL. Runs after the
+ * EntityManagerFactory so ddl-auto has already created the tables, with its own history table.
+ */
+@Component
+@Lazy(false)
+@DependsOn("entityManagerFactory")
+public class VendorSchemaMigrations implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorSchemaMigrations.class);
+
+    private final DataSource dataSource;
+
+    @Value("${persistence.vendor-migrations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointments.slot-minutes:60}")
+    private int slotMinutes;
+
+    public VendorSchemaMigrations(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        String url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+        String vendor = DatabaseDriver.fromJdbcUrl(url).getId();
+        String location = "db/vendor/" + vendor;
+        if (!new ClassPathResource(location).exists()) {
+            logger.debug("No vendor-specific migrations for {}", vendor);
+            return;
+        }
+
+        int applied = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:" + location)
+                .table("flyway_vendor_history")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .placeholders(Map.of("slot_minutes", String.valueOf(slotMinutes)))
+                .load()
+                .migrate()
+                .migrationsExecuted;
+        if (applied > 0) {
+            logger.info("🗄️ Applied {} {} schema migration(s)", applied, vendor);
+        }
+    }
+}
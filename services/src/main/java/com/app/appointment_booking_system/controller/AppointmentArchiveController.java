@@ -0,0 +1,28 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.ArchivedAppointment;
+import com.app.appointment_booking_system.service.AppointmentArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/appointments/archive")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AppointmentArchiveController {
+
+    private final AppointmentArchiveService archiveService;
+
+    public AppointmentArchiveController(AppointmentArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    // GET ARCHIVED APPOINTMENTS (paginated, optionally filtered by user)
+    @GetMapping
+    public ResponseEntity<PageResponse<ArchivedAppointment>> getArchivedAppointments(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(archiveService.getArchivedAppointments(userId, page, size));
+    }
+}
@@ -1,19 +1,32 @@
 package com.app.appointment_booking_system.controller;
 
+import com.app.appointment_booking_system.coalesce.SingleFlight;
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.BulkRescheduleRequest;
 import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.dto.ReschedulePlan;
 import com.app.appointment_booking_system.dto.UpdateAppointmentRequest;
 import com.app.appointment_booking_system.model.Appointment;
 import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
 import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.snapshot.DaySnapshot;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
+import com.app.appointment_booking_system.web.CalendarBinaryEncoder;
 import jakarta.validation.Valid;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -21,9 +34,11 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final TimeZones timeZones;
 
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService, TimeZones timeZones) {
         this.appointmentService = appointmentService;
+        this.timeZones = timeZones;
     }
 
     // CREATE APPOINTMENT (Admin only - enforced by authentication)
@@ -40,11 +55,22 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getAllAppointments());
     }
 
+    // SEARCH APPOINTMENT NOTES
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<Appointment>> searchAppointments(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(appointmentService.searchAppointments(query, page, size));
+    }
+
     // GET APPOINTMENT BY ID
     @GetMapping("/{id}")
     public ResponseEntity<Appointment> getAppointmentById(@PathVariable Long id) {
         return appointmentService.getAppointmentById(id)
-                .map(ResponseEntity::ok)
+                .map(appointment -> ResponseEntity.ok()
+                        .eTag(EntityTags.of(appointment.getVersion()))
+                        .body(appointment))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -61,50 +87,111 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.getAppointmentsByStatus(status));
     }
 
-    // GET APPOINTMENTS BY DATE
+    // GET APPOINTMENTS BY DATE (the day as seen in ?zone=, default appointments.default-zone)
+    // Written from the day's pre-encoded snapshot, gzipped when the client accepts it. On the
+    // request thread: an async body would leave RateLimitFilter before it is written
     @GetMapping("/date/{date}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        return ResponseEntity.ok(appointmentService.getAppointmentsByDate(date));
+    public ResponseEntity<InputStreamResource> getAppointmentsByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String zone,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DaySnapshot snapshot = appointmentService.getDaySnapshot(date, timeZones.resolve(zone));
+        boolean gzip = snapshot.hasGzip() && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentLength(snapshot.length(gzip));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(new InputStreamResource(snapshot.open(gzip)));
+    }
+
+    // GET APPOINTMENTS BY DATE (compact calendar encoding)
+    @GetMapping(value = "/date/{date}", produces = CalendarBinaryEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getCalendarByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String zone) {
+        return calendarResponse(appointmentService.getAppointmentsByDate(date, timeZones.resolve(zone)));
     }
 
-    // GET APPOINTMENTS IN DATE RANGE
+    // GET APPOINTMENTS IN DATE RANGE (wall-clock bounds in ?zone=)
     @GetMapping("/range")
     public ResponseEntity<List<Appointment>> getAppointmentsInRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        return ResponseEntity.ok(appointmentService.getAppointmentsInRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String zone) {
+        return ResponseEntity.ok(appointmentService.getAppointmentsInRange(
+                instant(startDate, zone), instant(endDate, zone)));
+    }
+
+    // GET APPOINTMENTS IN DATE RANGE (compact calendar encoding)
+    @GetMapping(value = "/range", produces = CalendarBinaryEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getCalendarInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String zone) {
+        return calendarResponse(appointmentService.getAppointmentsInRange(
+                instant(startDate, zone), instant(endDate, zone)));
     }
 
     // CHECK AVAILABILITY
     @GetMapping("/availability")
     public ResponseEntity<Boolean> checkAvailability(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime) {
-        boolean available = appointmentService.isTimeSlotAvailable(dateTime);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam(required = false) String zone) {
+        boolean available = appointmentService.isTimeSlotAvailable(instant(dateTime, zone));
         return ResponseEntity.ok(available);
     }
 
-    // UPDATE APPOINTMENT
+    // READ COALESCING STATS (calls that shared another in-flight query)
+    @GetMapping("/read-coalescing")
+    public ResponseEntity<Map<String, SingleFlight.Stats>> getReadCoalescingStats() {
+        return ResponseEntity.ok(appointmentService.getReadCoalescingStats());
+    }
+
+    // DAY SNAPSHOT STATS (pre-encoded day views)
+    @GetMapping("/day-snapshots")
+    public ResponseEntity<DaySnapshotCache.Stats> getDaySnapshotStats() {
+        return ResponseEntity.ok(appointmentService.getDaySnapshotStats());
+    }
+
+    // UPDATE APPOINTMENT (optional If-Match: "<version>")
     @PutMapping("/{id}")
     public ResponseEntity<Appointment> updateAppointment(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateAppointmentRequest request) {
-        Appointment appointment = appointmentService.updateAppointment(id, request);
-        return ResponseEntity.ok(appointment);
+        Appointment appointment = appointmentService.updateAppointment(
+                id, request, EntityTags.parseIfMatch(ifMatch));
+        return withETag(appointment);
+    }
+
+    // BULK RESCHEDULE A WINDOW (dryRun returns the plan only; a plan with conflicts is never applied)
+    @PostMapping("/reschedule")
+    public ResponseEntity<ReschedulePlan> rescheduleWindow(
+            @Valid @RequestBody BulkRescheduleRequest request) {
+        ReschedulePlan plan = appointmentService.rescheduleWindow(request);
+        HttpStatus status = !plan.isDryRun() && plan.getConflicts() > 0 ? HttpStatus.CONFLICT : HttpStatus.OK;
+        return new ResponseEntity<>(plan, status);
     }
 
     // CANCEL APPOINTMENT
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<Appointment> cancelAppointment(@PathVariable Long id) {
-        Appointment appointment = appointmentService.cancelAppointment(id);
-        return ResponseEntity.ok(appointment);
+    public ResponseEntity<Appointment> cancelAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Appointment appointment = appointmentService.cancelAppointment(id, EntityTags.parseIfMatch(ifMatch));
+        return withETag(appointment);
     }
 
     // COMPLETE APPOINTMENT
     @PutMapping("/{id}/complete")
-    public ResponseEntity<Appointment> completeAppointment(@PathVariable Long id) {
-        Appointment appointment = appointmentService.completeAppointment(id);
-        return ResponseEntity.ok(appointment);
+    public ResponseEntity<Appointment> completeAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Appointment appointment = appointmentService.completeAppointment(id, EntityTags.parseIfMatch(ifMatch));
+        return withETag(appointment);
     }
 
     // DELETE APPOINTMENT
@@ -119,4 +206,32 @@ public class AppointmentController {
         // appointmentService.deleteAppointment(id);
         return ResponseEntity.noContent().build();
     }
+
+    private Instant instant(LocalDateTime wallClock, String zone) {
+        return wallClock.atZone(timeZones.resolve(zone)).toInstant();
+    }
+
+    private ResponseEntity<Appointment> withETag(Appointment appointment) {
+        return ResponseEntity.ok().eTag(EntityTags.of(appointment.getVersion())).body(appointment);
+    }
+
+    // gzip listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<byte[]> calendarResponse(List<Appointment> appointments) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CalendarBinaryEncoder.MEDIA_TYPE))
+                .body(CalendarBinaryEncoder.encode(appointments));
+    }
 }
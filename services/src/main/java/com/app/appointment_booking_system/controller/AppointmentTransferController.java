@@ -0,0 +1,83 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.ImportReport;
+import com.app.appointment_booking_system.service.AppointmentTransferService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@RestController
+@RequestMapping("/api/appointments")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AppointmentTransferController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final AppointmentTransferService transferService;
+    private final TimeZones timeZones;
+
+    public AppointmentTransferController(AppointmentTransferService transferService, TimeZones timeZones) {
+        this.transferService = transferService;
+        this.timeZones = timeZones;
+    }
+
+    // EXPORT APPOINTMENTS AS CSV (streamed; bounds are wall-clock times in the given zone)
+    @GetMapping("/export/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String zone) {
+        ZoneId zoneId = timeZones.resolve(zone);
+        Instant start = startDate.atZone(zoneId).toInstant();
+        Instant end = endDate.atZone(zoneId).toInstant();
+        StreamingResponseBody body = out -> transferService.exportCsv(start, end, out);
+        return attachment(body, TEXT_CSV, "appointments.csv");
+    }
+
+    // EXPORT APPOINTMENTS AS ICALENDAR (streamed)
+    @GetMapping("/export/ics")
+    public ResponseEntity<StreamingResponseBody> exportIcs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String zone) {
+        ZoneId zoneId = timeZones.resolve(zone);
+        Instant start = startDate.atZone(zoneId).toInstant();
+        Instant end = endDate.atZone(zoneId).toInstant();
+        StreamingResponseBody body = out -> transferService.exportIcs(start, end, out);
+        return attachment(body, TEXT_CALENDAR, "appointments.ics");
+    }
+
+    // IMPORT APPOINTMENTS FROM CSV (raw request body)
+    @PostMapping(value = "/import/csv", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(transferService.importCsv(body));
+    }
+
+    // IMPORT APPOINTMENTS FROM ICALENDAR (raw request body)
+    @PostMapping(value = "/import/ics", consumes = {"text/calendar", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportReport> importIcs(InputStream body) throws IOException {
+        return ResponseEntity.ok(transferService.importIcs(body));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(StreamingResponseBody body,
+                                                            MediaType mediaType,
+                                                            String filename) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.audit.AuditRecord;
+import com.app.appointment_booking_system.config.TimeZones;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 10_000;
+
+    private final AuditJournal auditJournal;
+    private final TimeZones timeZones;
+
+    public AuditController(AuditJournal auditJournal, TimeZones timeZones) {
+        this.auditJournal = auditJournal;
+        this.timeZones = timeZones;
+    }
+
+    // HISTORY OF ONE APPOINTMENT (oldest first, read from the journal only)
+    @GetMapping("/appointments/{id}")
+    public ResponseEntity<List<AuditRecord>> getAppointmentHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(auditJournal.history(id));
+    }
+
+    // CHANGES RECORDED IN A WINDOW (wall-clock bounds in ?zone=, oldest first, at most ?limit=)
+    @GetMapping
+    public ResponseEntity<List<AuditRecord>> getChangesInWindow(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String zone,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (!to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must be after from");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(auditJournal.window(instant(from, zone), instant(to, zone), limit));
+    }
+
+    // JOURNAL STATE (last appended and last forced sequence, segments, msync calls)
+    @GetMapping("/stats")
+    public ResponseEntity<AuditJournal.Stats> getStats() {
+        return ResponseEntity.ok(auditJournal.stats());
+    }
+
+    private Instant instant(LocalDateTime wallClock, String zone) {
+        return wallClock.atZone(timeZones.resolve(zone)).toInstant();
+    }
+}
@@ -2,6 +2,7 @@ package com.app.appointment_booking_system.controller;
 
 import com.app.appointment_booking_system.dto.LoginRequest;
 import com.app.appointment_booking_system.dto.LoginResponse;
+import com.app.appointment_booking_system.jfr.LoginAttemptEvent;
 import com.app.appointment_booking_system.model.Admin;
 import com.app.appointment_booking_system.repository.AdminRepository;
 import com.app.appointment_booking_system.security.JwtUtil;
@@ -26,15 +27,21 @@ public class AuthController {
 
     @PostMapping("/login")
     public LoginResponse login(@RequestBody LoginRequest request) {
+        LoginAttemptEvent event = LoginAttemptEvent.start();
 
-        Admin admin = adminRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new org.springframework.security.authentication.BadCredentialsException("Invalid email or password"));
+        Admin admin = adminRepository.findByEmail(request.getEmail()).orElse(null);
+        if (admin == null) {
+            event.finish(LoginAttemptEvent.UNKNOWN_EMAIL);
+            throw new org.springframework.security.authentication.BadCredentialsException("Invalid email or password");
+        }
 
         if (!passwordEncoder.matches(request.getPassword(), admin.getPassword())) {
+            event.finish(LoginAttemptEvent.BAD_PASSWORD);
             throw new org.springframework.security.authentication.BadCredentialsException("Invalid email or password");
         }
 
         String token = jwtUtil.generateToken(admin.getEmail());
+        event.finish(LoginAttemptEvent.SUCCESS);
         return new LoginResponse(token);
     }
 }
@@ -0,0 +1,42 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.DashboardResponse;
+import com.app.appointment_booking_system.service.DashboardService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:5173")
+public class DashboardController {
+
+    // Window when the request gives no bounds: today and the six days after it
+    private static final int DEFAULT_DAYS = 7;
+
+    private final DashboardService dashboardService;
+    private final TimeZones timeZones;
+
+    public DashboardController(DashboardService dashboardService, TimeZones timeZones) {
+        this.dashboardService = dashboardService;
+        this.timeZones = timeZones;
+    }
+
+    // GET DASHBOARD (appointments in the window, the users they reference, summary counts; bounds in ?zone=)
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String zone) {
+        ZoneId resolved = timeZones.resolve(zone);
+        LocalDateTime start = from != null ? from : LocalDate.now(resolved).atStartOfDay();
+        LocalDateTime end = to != null ? to : start.plusDays(DEFAULT_DAYS);
+        return ResponseEntity.ok(dashboardService.getDashboard(
+                start.atZone(resolved).toInstant(), end.atZone(resolved).toInstant()));
+    }
+}
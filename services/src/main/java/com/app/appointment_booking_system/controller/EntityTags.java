@@ -0,0 +1,36 @@
+package com.app.appointment_booking_system.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ETag / If-Match helpers. The entity tag of an appointment or user is its
+ * optimistic-lock version, e.g. {@code ETag: "3"}.
+ */
+public final class EntityTags {
+
+    private EntityTags() {}
+
+    public static String of(Long version) {
+        return version == null ? null : version.toString();
+    }
+
+    // Returns the expected version, or null when the header is absent or "*"
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid If-Match header");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import com.app.appointment_booking_system.service.JobService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "http://localhost:5173")
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // GET JOBS (newest first, optionally by status)
+    @GetMapping
+    public ResponseEntity<PageResponse<Job>> getJobs(
+            @RequestParam(required = false) JobStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(jobService.getJobs(status, page, size));
+    }
+
+    // GET JOB BY ID (status and progress)
+    @GetMapping("/{id}")
+    public ResponseEntity<Job> getJob(@PathVariable Long id) {
+        return jobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // CANCEL JOB
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Job> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.cancelJob(id));
+    }
+}
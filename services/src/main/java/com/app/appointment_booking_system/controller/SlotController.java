@@ -0,0 +1,42 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.SetSlotCapacityRequest;
+import com.app.appointment_booking_system.dto.SlotStatus;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/slots")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SlotController {
+
+    private final SlotCapacityService slotCapacityService;
+    private final TimeZones timeZones;
+
+    public SlotController(SlotCapacityService slotCapacityService, TimeZones timeZones) {
+        this.slotCapacityService = slotCapacityService;
+        this.timeZones = timeZones;
+    }
+
+    // GET SLOT (capacity, booked and held seats)
+    @GetMapping
+    public ResponseEntity<SlotStatus> getSlot(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam(required = false) String zone) {
+        long startsAt = TimeZones.epochMillis(dateTime, timeZones.resolve(zone));
+        return ResponseEntity.ok(slotCapacityService.getSlot(Instant.ofEpochMilli(startsAt)));
+    }
+
+    // SET SLOT CAPACITY (409 if more seats are already booked)
+    @PutMapping("/capacity")
+    public ResponseEntity<SlotStatus> setCapacity(@Valid @RequestBody SetSlotCapacityRequest request) {
+        return ResponseEntity.ok(slotCapacityService.setCapacity(request));
+    }
+}
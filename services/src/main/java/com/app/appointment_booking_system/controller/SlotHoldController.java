@@ -0,0 +1,49 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.dto.ConfirmHoldRequest;
+import com.app.appointment_booking_system.dto.HoldSlotRequest;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.service.SlotHoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/appointments/holds")
+@CrossOrigin(origins = "http://localhost:5173")
+public class SlotHoldController {
+
+    private final SlotHoldService slotHoldService;
+
+    public SlotHoldController(SlotHoldService slotHoldService) {
+        this.slotHoldService = slotHoldService;
+    }
+
+    // HOLD A SLOT WHILE THE BOOKING IS FILLED IN (409 if booked or held by someone else)
+    @PostMapping
+    public ResponseEntity<SlotHold> holdSlot(@Valid @RequestBody HoldSlotRequest request) {
+        return new ResponseEntity<>(slotHoldService.holdSlot(request), HttpStatus.CREATED);
+    }
+
+    // GET HOLD (410 once expired or released)
+    @GetMapping("/{id}")
+    public ResponseEntity<SlotHold> getHold(@PathVariable String id) {
+        return ResponseEntity.ok(slotHoldService.getHold(id));
+    }
+
+    // CONFIRM HOLD (books the held slot)
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<Appointment> confirmHold(@PathVariable String id,
+                                                   @RequestBody(required = false) ConfirmHoldRequest request) {
+        return new ResponseEntity<>(slotHoldService.confirmHold(id, request), HttpStatus.CREATED);
+    }
+
+    // RELEASE HOLD
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id) {
+        slotHoldService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
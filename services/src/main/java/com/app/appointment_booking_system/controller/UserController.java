@@ -1,13 +1,23 @@
 package com.app.appointment_booking_system.controller;
 
 import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.dto.ImportReport;
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Job;
 import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.service.UserDeletionService;
+import com.app.appointment_booking_system.service.UserImportService;
 import com.app.appointment_booking_system.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,10 +26,15 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserDeletionService userDeletionService;
+    private final UserImportService userImportService;
 
     // Constructor Injection
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserDeletionService userDeletionService,
+                          UserImportService userImportService) {
         this.userService = userService;
+        this.userDeletionService = userDeletionService;
+        this.userImportService = userImportService;
     }
 
     // CREATE USER
@@ -29,34 +44,53 @@ public class UserController {
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    // IMPORT USERS FROM CSV (raw request body)
+    @PostMapping(value = "/import/csv", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importCsv(body));
+    }
+
     // GET ALL USERS
     @GetMapping
     public ResponseEntity<List<User>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // SEARCH USERS BY NAME / EMAIL / PHONE
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<User>> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.searchUsers(query, page, size));
+    }
+
     // GET USER BY ID
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
-                .map(ResponseEntity::ok)
+                .map(user -> ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // UPDATE USER
+    // UPDATE USER (optional If-Match: "<version>")
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody User user) {
 
-        User updatedUser = userService.updateUser(id, user);
-        return ResponseEntity.ok(updatedUser);
+        User updatedUser = userService.updateUser(id, user, EntityTags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedUser.getVersion())).body(updatedUser);
     }
 
-    // DELETE USER
+    // DELETE USER with all appointments (204 when done, 202 + job location when running in the background)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Job> deleteUser(@PathVariable Long id) {
+        return userDeletionService.deleteUser(id)
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/api/jobs/" + job.getId()))
+                        .body(job))
+                .orElse(ResponseEntity.noContent().build());
     }
 }
@@ -0,0 +1,54 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.JoinWaitlistRequest;
+import com.app.appointment_booking_system.model.WaitlistEntry;
+import com.app.appointment_booking_system.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/appointments/waitlist")
+@CrossOrigin(origins = "http://localhost:5173")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+    private final TimeZones timeZones;
+
+    public WaitlistController(WaitlistService waitlistService, TimeZones timeZones) {
+        this.waitlistService = waitlistService;
+        this.timeZones = timeZones;
+    }
+
+    // JOIN WAITLIST FOR A DATE/TIME WINDOW
+    @PostMapping
+    public ResponseEntity<WaitlistEntry> joinWaitlist(@Valid @RequestBody JoinWaitlistRequest request) {
+        return new ResponseEntity<>(waitlistService.joinWaitlist(request), HttpStatus.CREATED);
+    }
+
+    // GET WAITING ENTRIES FOR A DATE (the day as seen in ?zone=, default appointments.default-zone)
+    @GetMapping("/date/{date}")
+    public ResponseEntity<List<WaitlistEntry>> getWaitingEntriesForDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String zone) {
+        return ResponseEntity.ok(waitlistService.getWaitingEntriesForDate(date, timeZones.resolve(zone)));
+    }
+
+    // GET WAITLIST ENTRIES OF A USER
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<WaitlistEntry>> getEntriesByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getEntriesByUserId(userId));
+    }
+
+    // LEAVE WAITLIST
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> leaveWaitlist(@PathVariable Long id) {
+        return ResponseEntity.ok(waitlistService.leaveWaitlist(id));
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.appointment_booking_system.dedup;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings: {@link #mightContain} never misses a key that was put, and
+ * wrongly says yes for roughly the configured share of other keys while no more than the
+ * expected number of keys have been put. Lock-free; bits are set with compare-and-set.
+ *
+ * The k bit positions come from two 64-bit hashes combined as h1 + i * h2 (Kirsch and
+ * Mitzenmacher), which keeps the false positive rate of k independent hashes.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long expectedKeys;
+    private final AtomicLong keys = new AtomicLong();
+
+    private BloomFilter(long bits, int hashes, long expectedKeys) {
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bits = bits;
+        this.hashes = hashes;
+        this.expectedKeys = expectedKeys;
+    }
+
+    /** Sized so that {@code expectedKeys} keys give about {@code falsePositiveRate}. */
+    public static BloomFilter create(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes, n);
+    }
+
+    public void put(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            long mask = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+        }
+        keys.incrementAndGet();
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Past the expected key count the false positive rate climbs; time to rebuild bigger. */
+    public boolean isSaturated() {
+        return keys.get() > expectedKeys;
+    }
+
+    public long keys() {
+        return keys.get();
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    // FNV-1a over the UTF-16 code units, then the murmur3 finalizer to spread the low bits
+    private static long hash(String key, long seed) {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
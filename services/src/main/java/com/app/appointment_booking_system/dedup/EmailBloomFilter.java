@@ -0,0 +1,93 @@
+package com.app.appointment_booking_system.dedup;
+
+import com.app.appointment_booking_system.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Every email in the users table (soft-deleted users included, since the unique constraint
+ * still covers them), so a new email can usually be accepted without a lookup.
+ *
+ * Callers add an email before inserting it: a rolled-back insert only leaves a false
+ * positive, never a miss. Emails stay in the filter after an update or purge for the same
+ * reason. Inserts made by other instances are not seen here; the unique constraint on
+ * users.email still rejects those, so it remains the final word on duplicates. Until the
+ * first load finishes every email is a possible hit.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnly;
+
+    @Value("${users.email-filter.expected-emails:1000000}")
+    private long expectedEmails;
+
+    @Value("${users.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Filter being loaded; adds go to both so none is lost while it is built
+    private volatile BloomFilter building;
+
+    public EmailBloomFilter(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        // Room for the table to double before the filter is rebuilt
+        BloomFilter next = BloomFilter.create(Math.max(expectedEmails, 2 * userRepository.count()), falsePositiveRate);
+        building = next;
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(next::put);
+                }
+            });
+            filter = next;
+        } finally {
+            building = null;
+        }
+        logger.info("📧 Email filter loaded: {} emails, {} KiB, {} hashes, in {} ms",
+                next.keys(), next.bits() / 8 / 1024, next.hashes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** False means the email is certainly not taken; true means look it up. */
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(email);
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+        BloomFilter loading = building;
+        if (loading != null) {
+            loading.put(email);
+        }
+    }
+
+    // After large imports, so lookups do not creep back as the filter fills up
+    public void reloadIfSaturated() {
+        BloomFilter current = filter;
+        if (current != null && current.isSaturated() && building == null) {
+            load();
+        }
+    }
+}
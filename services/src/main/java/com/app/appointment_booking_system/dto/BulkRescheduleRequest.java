@@ -0,0 +1,77 @@
+package com.app.appointment_booking_system.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Moves every SCHEDULED appointment in [windowStart, windowEnd) either by offsetMinutes
+// or onto targetDate (keeping the time of day); exactly one of the two must be given
+public class BulkRescheduleRequest {
+
+    @NotNull(message = "Window start is required")
+    private LocalDateTime windowStart;
+
+    @NotNull(message = "Window end is required")
+    private LocalDateTime windowEnd;
+
+    private Long offsetMinutes;
+
+    private LocalDate targetDate;
+
+    // IANA zone of the window and target date; defaults to appointments.default-zone
+    private String timeZone;
+
+    // Only compute and return the plan
+    private boolean dryRun;
+
+    public BulkRescheduleRequest() {}
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public Long getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public void setOffsetMinutes(Long offsetMinutes) {
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public LocalDate getTargetDate() {
+        return targetDate;
+    }
+
+    public void setTargetDate(LocalDate targetDate) {
+        this.targetDate = targetDate;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+}
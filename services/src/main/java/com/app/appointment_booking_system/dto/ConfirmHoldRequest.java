@@ -0,0 +1,16 @@
+package com.app.appointment_booking_system.dto;
+
+public class ConfirmHoldRequest {
+
+    private String notes;
+
+    public ConfirmHoldRequest() {}
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
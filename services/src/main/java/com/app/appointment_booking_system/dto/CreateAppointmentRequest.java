@@ -13,8 +13,14 @@ public class CreateAppointmentRequest {
     @Future(message = "Appointment date must be in the future")
     private LocalDateTime appointmentDateTime;
 
+    // IANA zone of appointmentDateTime; defaults to the user's zone
+    private String timeZone;
+
     private String notes;
 
+    // Hold from POST /api/appointments/holds that reserved this slot for the user
+    private String holdId;
+
     public CreateAppointmentRequest() {}
 
     public CreateAppointmentRequest(Long userId, LocalDateTime appointmentDateTime, String notes) {
@@ -46,4 +52,20 @@ public class CreateAppointmentRequest {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
 }
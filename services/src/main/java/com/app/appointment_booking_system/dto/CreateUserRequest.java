@@ -14,6 +14,9 @@ public class CreateUserRequest {
     @Email(message = "Email must be valid")
     @NotBlank(message = "Email is required")
     private String email;
+
+    // IANA zone id, e.g. "Europe/Berlin"; optional
+    private String timeZone;
     
     // Getters and Setters
     public String getName() { 
@@ -39,5 +42,13 @@ public class CreateUserRequest {
     public void setEmail(String email) { 
         this.email = email; 
     }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
 }
 
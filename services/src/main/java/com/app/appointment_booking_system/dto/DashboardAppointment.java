@@ -0,0 +1,19 @@
+package com.app.appointment_booking_system.dto;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment as the dashboard lists it: the user by id only, resolved through
+ * DashboardResponse.users so each user is sent once however many appointments it has.
+ */
+public record DashboardAppointment(Long id,
+                                   Long userId,
+                                   LocalDateTime appointmentDateTime,
+                                   Long startsAt,
+                                   String timeZone,
+                                   String notes,
+                                   AppointmentStatus status,
+                                   Long version) {
+}
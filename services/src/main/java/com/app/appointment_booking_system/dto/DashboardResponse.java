@@ -0,0 +1,21 @@
+package com.app.appointment_booking_system.dto;
+
+import com.app.appointment_booking_system.model.User;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything the admin dashboard shows for [from, to) in one response: the window's
+ * appointments, each user they reference (once), and summary counts.
+ */
+public record DashboardResponse(Instant from,
+                                Instant to,
+                                List<DashboardAppointment> appointments,
+                                List<User> users,
+                                Summary summary) {
+
+    /** Status counts are for the window; activeUsers is for the whole system. */
+    public record Summary(long scheduled, long completed, long cancelled, long activeUsers) {
+    }
+}
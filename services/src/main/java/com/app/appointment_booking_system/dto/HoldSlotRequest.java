@@ -0,0 +1,55 @@
+package com.app.appointment_booking_system.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class HoldSlotRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Appointment date and time is required")
+    @Future(message = "Appointment date must be in the future")
+    private LocalDateTime appointmentDateTime;
+
+    // IANA zone of appointmentDateTime; defaults to the user's zone
+    private String timeZone;
+
+    // How long to hold the slot; defaults to appointments.holds.ttl-minutes
+    private Integer minutes;
+
+    public HoldSlotRequest() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getAppointmentDateTime() {
+        return appointmentDateTime;
+    }
+
+    public void setAppointmentDateTime(LocalDateTime appointmentDateTime) {
+        this.appointmentDateTime = appointmentDateTime;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(Integer minutes) {
+        this.minutes = minutes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.app.appointment_booking_system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    // Row-level errors kept in the response; the counters stay exact beyond this
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void recordImported(int count) {
+        totalRows += count;
+        imported += count;
+    }
+
+    public void recordError(long line, String message) {
+        totalRows++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,43 @@
+package com.app.appointment_booking_system.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Result of a bulk reschedule: every planned move, and whether it was written.
+// A plan with conflicts is never applied.
+public class ReschedulePlan {
+
+    private final boolean dryRun;
+    private final boolean applied;
+    private final List<Move> moves;
+
+    public ReschedulePlan(boolean dryRun, boolean applied, List<Move> moves) {
+        this.dryRun = dryRun;
+        this.applied = applied;
+        this.moves = moves;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public int getTotal() {
+        return moves.size();
+    }
+
+    public long getConflicts() {
+        return moves.stream().filter(move -> move.conflict() != null).count();
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    // from/to are wall-clock times in the appointment's timeZone; conflict is null when the move can be made
+    public record Move(Long appointmentId, Long userId, String timeZone,
+                       LocalDateTime from, LocalDateTime to, String conflict) {}
+}
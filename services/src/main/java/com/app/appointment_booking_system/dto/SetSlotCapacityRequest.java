@@ -0,0 +1,46 @@
+package com.app.appointment_booking_system.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class SetSlotCapacityRequest {
+
+    @NotNull(message = "Slot date and time is required")
+    private LocalDateTime dateTime;
+
+    // IANA zone of dateTime; defaults to appointments.default-zone
+    private String timeZone;
+
+    @NotNull(message = "Capacity is required")
+    @Min(value = 1, message = "Capacity must be at least 1")
+    @Max(value = 10000, message = "Capacity must be at most 10000")
+    private Integer capacity;
+
+    public SetSlotCapacityRequest() {}
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public void setDateTime(LocalDateTime dateTime) {
+        this.dateTime = dateTime;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+}
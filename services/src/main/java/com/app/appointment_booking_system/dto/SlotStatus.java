@@ -0,0 +1,8 @@
+package com.app.appointment_booking_system.dto;
+
+/**
+ * Seats of one slot. {@code available} is what a new booking can still get:
+ * capacity minus booked appointments minus active holds.
+ */
+public record SlotStatus(long startsAt, int capacity, int booked, int held, int available) {
+}
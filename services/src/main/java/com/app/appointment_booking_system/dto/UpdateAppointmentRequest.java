@@ -11,6 +11,9 @@ public class UpdateAppointmentRequest {
     @Future(message = "Appointment date must be in the future")
     private LocalDateTime appointmentDateTime;
 
+    // IANA zone of appointmentDateTime; defaults to the appointment's current zone
+    private String timeZone;
+
     private String notes;
 
     private AppointmentStatus status;
@@ -48,4 +51,12 @@ public class UpdateAppointmentRequest {
     public void setStatus(AppointmentStatus status) {
         this.status = status;
     }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
 }
@@ -0,0 +1,20 @@
+package com.app.appointment_booking_system.hold;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A short-lived reservation of one slot for one user, made while the booking form is
+ * being filled in. The id is an unguessable token; only its holder can confirm it.
+ */
+public record SlotHold(String id,
+                       Long userId,
+                       LocalDateTime appointmentDateTime,
+                       String timeZone,
+                       long startsAt,
+                       Instant expiresAt) {
+
+    boolean isExpired(long now) {
+        return expiresAt.toEpochMilli() <= now;
+    }
+}
@@ -0,0 +1,182 @@
+package com.app.appointment_booking_system.hold;
+
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory slot holds, indexed by slot instant and by id, with a min-heap on expiry.
+ * A slot with several seats can carry several holds, one seat each.
+ *
+ * Expired holds are treated as absent on every lookup, so correctness never waits for the
+ * sweeper; the sweeper only pops the heap head while it is expired, so abandoned holds
+ * cost O(log n) each and nothing is scanned. Released holds stay in the heap until their
+ * expiry comes up and are skipped then.
+ *
+ * Holds live in memory, so every hold taken or released here is sent to the other
+ * instances (InvalidationPublisher) and theirs are applied here (applyPeer). A peer's
+ * hold counts against the slot like a local one, and the instance that receives it can
+ * confirm it. The replicas lag by the transport's delivery time (one poll interval for jdbc).
+ * A hold whose release message is lost simply runs to its expiry. Holds of a restarted
+ * instance are lost.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotHoldRegistry.class);
+
+    private final Map<Long, List<SlotHold>> bySlot = new HashMap<>();
+    private final Map<String, SlotHold> byId = new HashMap<>();
+    private final Map<Long, Integer> countByUser = new HashMap<>();
+    private final PriorityQueue<SlotHold> byExpiry =
+            new PriorityQueue<>(Comparator.comparing(SlotHold::expiresAt));
+
+    private final InvalidationPublisher peers;
+
+    @Value("${appointments.holds.max-holds:100000}")
+    private int maxHolds;
+
+    @Value("${appointments.holds.max-per-user:3}")
+    private int maxPerUser;
+
+    public enum Outcome { HELD, SLOT_HELD, USER_LIMIT, FULL }
+
+    public SlotHoldRegistry(InvalidationPublisher peers) {
+        this.peers = peers;
+    }
+
+    /** Adds the hold unless the slot's {@code unbookedSeats} are all held already. */
+    public Outcome tryHold(SlotHold hold, int unbookedSeats) {
+        synchronized (this) {
+            if (heldSeats(hold.startsAt(), null) >= unbookedSeats) {
+                return Outcome.SLOT_HELD;
+            }
+            if (byId.size() >= maxHolds) {
+                return Outcome.FULL;
+            }
+            if (countByUser.getOrDefault(hold.userId(), 0) >= maxPerUser) {
+                return Outcome.USER_LIMIT;
+            }
+            add(hold);
+        }
+        // Outside the lock: the jdbc transport writes a row
+        peers.holdTaken(hold);
+        return Outcome.HELD;
+    }
+
+    /** Holds another instance took or released; they were checked against limits there. */
+    public synchronized void applyPeer(Collection<SlotHold> taken, Collection<String> released) {
+        long now = System.currentTimeMillis();
+        for (SlotHold hold : taken) {
+            if (!hold.isExpired(now) && !byId.containsKey(hold.id())) {
+                add(hold);
+            }
+        }
+        for (String id : released) {
+            SlotHold hold = byId.get(id);
+            if (hold != null) {
+                remove(hold);
+            }
+        }
+    }
+
+    public synchronized Optional<SlotHold> find(String id) {
+        SlotHold hold = byId.get(id);
+        return hold == null || hold.isExpired(System.currentTimeMillis()) ? Optional.empty() : Optional.of(hold);
+    }
+
+    /** Seats of the slot held by holds other than {@code exceptHoldId} (may be null). */
+    public synchronized int heldSeats(long startsAt, String exceptHoldId) {
+        List<SlotHold> holds = bySlot.get(startsAt);
+        if (holds == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int held = 0;
+        for (SlotHold hold : holds) {
+            if (!hold.isExpired(now) && !hold.id().equals(exceptHoldId)) {
+                held++;
+            }
+        }
+        return held;
+    }
+
+    public Optional<SlotHold> release(String id) {
+        SlotHold hold;
+        synchronized (this) {
+            hold = byId.get(id);
+            if (hold == null) {
+                return Optional.empty();
+            }
+            remove(hold);
+        }
+        peers.holdReleased(id);
+        return Optional.of(hold);
+    }
+
+    /** Releases the hold once the booking that consumed it has committed. */
+    public void releaseAfterCommit(String id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(id);
+                }
+            });
+        } else {
+            release(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.holds.sweep-interval-ms:1000}")
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        int expired = 0;
+        SlotHold head;
+        while ((head = byExpiry.peek()) != null && head.isExpired(now)) {
+            byExpiry.poll();
+            // Skip heap entries whose hold was already released or replaced
+            if (byId.get(head.id()) == head) {
+                remove(head);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            logger.debug("⌛ Expired {} slot hold(s)", expired);
+        }
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private void add(SlotHold hold) {
+        bySlot.computeIfAbsent(hold.startsAt(), slot -> new ArrayList<>(1)).add(hold);
+        byId.put(hold.id(), hold);
+        countByUser.merge(hold.userId(), 1, Integer::sum);
+        byExpiry.add(hold);
+    }
+
+    private void remove(SlotHold hold) {
+        byId.remove(hold.id(), hold);
+        List<SlotHold> holds = bySlot.get(hold.startsAt());
+        if (holds != null && holds.remove(hold) && holds.isEmpty()) {
+            bySlot.remove(hold.startsAt());
+        }
+        countByUser.computeIfPresent(hold.userId(), (user, count) -> count == 1 ? null : count - 1);
+    }
+}
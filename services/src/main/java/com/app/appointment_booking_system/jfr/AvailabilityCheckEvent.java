@@ -0,0 +1,30 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("appointments.AvailabilityCheck")
+@Label("Availability Check")
+@Category({"Appointment Booking", "Bookings"})
+@Description("One isTimeSlotAvailable call; SQL Statements is 0 when it shared another caller's read")
+@StackTrace(false)
+public class AvailabilityCheckEvent extends TimedOperationEvent {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String UNAVAILABLE = "UNAVAILABLE";
+
+    @Label("Slot")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long slot;
+
+    public static AvailabilityCheckEvent start(long startsAt) {
+        AvailabilityCheckEvent event = new AvailabilityCheckEvent();
+        event.beginTiming();
+        event.slot = startsAt;
+        return event;
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("appointments.BookingAttempt")
+@Label("Booking Attempt")
+@Category({"Appointment Booking", "Bookings"})
+@Description("One createAppointment call, from the user lookup to the saved row (before commit)")
+@StackTrace(false)
+public class BookingAttemptEvent extends TimedOperationEvent {
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Slot")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long slot;
+
+    @Label("With Hold")
+    private boolean withHold;
+
+    public static BookingAttemptEvent start(Long userId, boolean withHold) {
+        BookingAttemptEvent event = new BookingAttemptEvent();
+        event.beginTiming();
+        event.userId = userId == null ? 0 : userId;
+        event.withHold = withHold;
+        return event;
+    }
+
+    public void setSlot(long startsAt) {
+        this.slot = startsAt;
+    }
+}
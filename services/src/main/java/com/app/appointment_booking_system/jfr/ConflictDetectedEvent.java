@@ -0,0 +1,44 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("appointments.ConflictDetected")
+@Label("Conflict Detected")
+@Category({"Appointment Booking", "Bookings"})
+@Description("A booking, hold or reschedule refused because its slot is taken")
+@StackTrace(false)
+public class ConflictDetectedEvent extends Event {
+
+    // Seats all booked
+    public static final String BOOKED = "BOOKED";
+    // Free seats reserved by holds
+    public static final String HELD = "HELD";
+    // Taken by another row of the same bulk reschedule
+    public static final String CLAIMED = "CLAIMED";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Slot")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long slot;
+
+    @Label("Reason")
+    private String reason;
+
+    public static void emit(String operation, long startsAt, String reason) {
+        ConflictDetectedEvent event = new ConflictDetectedEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.slot = startsAt;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+}
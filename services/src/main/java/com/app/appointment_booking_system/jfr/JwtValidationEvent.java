@@ -0,0 +1,37 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("appointments.JwtValidation")
+@Label("JWT Validation")
+@Category({"Appointment Booking", "Security"})
+@Description("Signature and expiry check of one bearer token")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    public static final String VALID = "VALID";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String INVALID = "INVALID";
+
+    @Label("Outcome")
+    private String outcome;
+
+    public static JwtValidationEvent start() {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
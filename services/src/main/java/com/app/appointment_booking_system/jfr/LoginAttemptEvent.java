@@ -0,0 +1,25 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("appointments.LoginAttempt")
+@Label("Login Attempt")
+@Category({"Appointment Booking", "Security"})
+@Description("One POST /api/auth/login, including the BCrypt check; the email is not recorded")
+@StackTrace(false)
+public class LoginAttemptEvent extends TimedOperationEvent {
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String UNKNOWN_EMAIL = "UNKNOWN_EMAIL";
+    public static final String BAD_PASSWORD = "BAD_PASSWORD";
+
+    public static LoginAttemptEvent start() {
+        LoginAttemptEvent event = new LoginAttemptEvent();
+        event.beginTiming();
+        return event;
+    }
+}
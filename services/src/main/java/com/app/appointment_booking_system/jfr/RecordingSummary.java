@@ -0,0 +1,103 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline summary of the appointments.* events in a flight recording: one latency table per
+ * operation and outcome, and conflict counts by operation and reason.
+ *
+ *   java -cp target/classes com.app.appointment_booking_system.jfr.RecordingSummary booking.jfr
+ */
+public final class RecordingSummary {
+
+    private static final String PREFIX = "appointments.";
+    private static final String CONFLICT = PREFIX + "ConflictDetected";
+
+    private RecordingSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: RecordingSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(summarize(Path.of(args[0])));
+    }
+
+    public static String summarize(Path recording) throws IOException {
+        // Sorted keys keep the report stable between runs
+        Map<String, Timings> timings = new TreeMap<>();
+        Map<String, Integer> conflicts = new TreeMap<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if (!name.startsWith(PREFIX)) {
+                    continue;
+                }
+                if (name.equals(CONFLICT)) {
+                    conflicts.merge(event.getString("operation") + " / " + event.getString("reason"), 1, Integer::sum);
+                    continue;
+                }
+                String operation = name.substring(PREFIX.length()) + " / " + event.getString("outcome");
+                int sql = event.hasField("sqlStatements") ? event.getInt("sqlStatements") : -1;
+                timings.computeIfAbsent(operation, key -> new Timings()).add(event.getDuration().toNanos(), sql);
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %8s %9s %9s %9s %9s %8s%n",
+                "operation / outcome", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "avg sql"));
+        timings.forEach((operation, t) -> report.append(String.format("%-40s %8d %9.3f %9.3f %9.3f %9.3f %8s%n",
+                operation, t.count, t.percentile(50), t.percentile(90), t.percentile(99), t.percentile(100),
+                t.averageSql())));
+        if (timings.isEmpty()) {
+            report.append("(no timed appointments.* events; was the recording started with appointments.jfc?)\n");
+        }
+
+        report.append(String.format("%n%-40s %8s%n", "conflict operation / reason", "count"));
+        conflicts.forEach((key, count) -> report.append(String.format("%-40s %8d%n", key, count)));
+        if (conflicts.isEmpty()) {
+            report.append("(none)\n");
+        }
+        return report.toString();
+    }
+
+    private static final class Timings {
+        private final List<Long> nanos = new ArrayList<>();
+        private int count;
+        private long sqlTotal;
+        private boolean hasSql;
+
+        void add(long durationNanos, int sql) {
+            nanos.add(durationNanos);
+            count++;
+            if (sql >= 0) {
+                sqlTotal += sql;
+                hasSql = true;
+            }
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        double percentile(int p) {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+
+        String averageSql() {
+            return hasSql ? String.format("%.1f", (double) sqlTotal / count) : "-";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.appointment_booking_system.jfr;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so flight recorder events
+ * can report how many statements an operation ran. Registered as
+ * hibernate.session_factory.statement_inspector; the statement itself is left unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    // Statements prepared on this thread so far; only differences between two reads mean anything
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
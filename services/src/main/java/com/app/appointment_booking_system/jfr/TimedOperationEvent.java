@@ -0,0 +1,51 @@
+package com.app.appointment_booking_system.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Base of the timed booking events: an outcome and the SQL statements run between
+ * beginTiming() and finish(). While no recording has the event enabled, both do no more
+ * than the enabled check.
+ */
+public abstract class TimedOperationEvent extends Event {
+
+    @Label("Outcome")
+    protected String outcome;
+
+    @Label("SQL Statements")
+    protected int sqlStatements;
+
+    private transient long sqlAtStart;
+
+    protected void beginTiming() {
+        begin();
+        if (isEnabled()) {
+            sqlAtStart = SqlStatementCounter.current();
+        }
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.sqlStatements = (int) (SqlStatementCounter.current() - sqlAtStart);
+            commit();
+        }
+    }
+
+    // Refusals are recorded by their HTTP status (CONFLICT, NOT_FOUND, ...), anything else by type
+    public void finish(Throwable failure) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (failure instanceof ResponseStatusException e) {
+            HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+            finish(status != null ? status.name() : String.valueOf(e.getStatusCode().value()));
+        } else {
+            finish(failure.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.app.appointment_booking_system.job;
+
+// Thrown from JobContext.checkpoint() to unwind a handler after cancellation or a lost lease
+public class JobCancelledException extends RuntimeException {
+
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
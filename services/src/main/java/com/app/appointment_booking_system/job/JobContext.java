@@ -0,0 +1,94 @@
+package com.app.appointment_booking_system.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Handed to a {@link JobHandler} while it runs. Progress is kept in memory and written to the
+ * job row by the worker's heartbeat, so reporting it is cheap enough to do per item.
+ */
+public class JobContext {
+
+    private final long jobId;
+    private final String payload;
+    private final int attempt;
+    private final ObjectMapper objectMapper;
+
+    private volatile long progressCurrent;
+    private volatile long progressTotal;
+    private volatile boolean cancelRequested;
+    private volatile boolean leaseLost;
+
+    JobContext(long jobId, String payload, int attempt, long progressCurrent, long progressTotal,
+               ObjectMapper objectMapper) {
+        this.jobId = jobId;
+        this.payload = payload;
+        this.attempt = attempt;
+        this.progressCurrent = progressCurrent;
+        this.progressTotal = progressTotal;
+        this.objectMapper = objectMapper;
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    // 1 on the first run, higher when the job is reclaimed after a worker died
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public <T> T getPayload(Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid payload for job " + jobId, e);
+        }
+    }
+
+    public void setTotal(long total) {
+        this.progressTotal = total;
+    }
+
+    public void setProgress(long current) {
+        this.progressCurrent = current;
+    }
+
+    public void addProgress(long delta) {
+        this.progressCurrent += delta;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested || leaseLost;
+    }
+
+    // Stop point for handlers: throws if the job was cancelled or taken over by another worker
+    public void checkpoint() {
+        if (leaseLost) {
+            throw new JobCancelledException("Lease lost");
+        }
+        if (cancelRequested || Thread.currentThread().isInterrupted()) {
+            throw new JobCancelledException("Cancelled");
+        }
+    }
+
+    long getProgressCurrent() {
+        return progressCurrent;
+    }
+
+    long getProgressTotal() {
+        return progressTotal;
+    }
+
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+
+    void markLeaseLost() {
+        this.leaseLost = true;
+    }
+
+    boolean isLeaseLost() {
+        return leaseLost;
+    }
+}
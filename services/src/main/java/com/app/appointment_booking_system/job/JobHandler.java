@@ -0,0 +1,20 @@
+package com.app.appointment_booking_system.job;
+
+/**
+ * Runs one type of background job. Implementations are Spring beans; the worker picks the
+ * handler whose {@link #type()} matches the job row.
+ *
+ * A job can be picked up again after a crash, so {@link #run} must be safe to re-run from the
+ * start (or resume using its own persisted state).
+ */
+public interface JobHandler {
+
+    String type();
+
+    /**
+     * Does the work. Call {@link JobContext#checkpoint} regularly: it publishes progress and throws
+     * {@link JobCancelledException} once cancellation was requested. The returned text is stored as
+     * the job's result message.
+     */
+    String run(JobContext context) throws Exception;
+}
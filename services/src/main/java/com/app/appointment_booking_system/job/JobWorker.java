@@ -0,0 +1,315 @@
+package com.app.appointment_booking_system.job;
+
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import com.app.appointment_booking_system.repository.DialectQueries;
+import com.app.appointment_booking_system.repository.JobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Claims jobs from the jobs table and runs them on a fixed pool of worker threads.
+ *
+ * Each claimed job carries a lease (owner + expiry) that a heartbeat keeps extending while the
+ * handler runs. If this process dies, the lease runs out and any instance reclaims the job
+ * (up to max_attempts). Cancellation is a flag on the row that the heartbeat picks up and the
+ * handler observes at its next {@link JobContext#checkpoint()}.
+ *
+ * Heartbeats run on their own thread, so a slow claim transaction cannot hold up lease
+ * renewal. On shutdown the handlers are interrupted and given jobs.shutdown-grace-ms to
+ * stop; only the jobs whose handlers did stop go back to the queue. A handler still running
+ * keeps its lease until it expires, so no other instance starts the same job meanwhile.
+ */
+@Component
+public class JobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWorker.class);
+
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private final JobRepository jobRepository;
+    private final DialectQueries dialectQueries;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<JobHandler> handlerProvider;
+    private final ObjectMapper objectMapper;
+    private final String owner = workerId();
+
+    private final Map<Long, JobContext> running = new ConcurrentHashMap<>();
+    // Jobs whose handlers were interrupted by shutdown, to be handed back to the queue
+    private final Set<Long> interrupted = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> newThread(runnable, "job-poller"));
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            runnable -> newThread(runnable, "job-heartbeat"));
+    private final int parallelism;
+    private final Semaphore slots;
+    private final ExecutorService pool;
+
+    private volatile Map<String, JobHandler> handlers;
+    private volatile boolean stopping;
+
+    // Only touched by the poller thread
+    private LocalDateTime lastSweep;
+
+    @Value("${jobs.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${jobs.heartbeat-ms:2000}")
+    private long heartbeatMs;
+
+    @Value("${jobs.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${jobs.shutdown-grace-ms:10000}")
+    private long shutdownGraceMs;
+
+    public JobWorker(JobRepository jobRepository,
+                     DialectQueries dialectQueries,
+                     PlatformTransactionManager transactionManager,
+                     ObjectProvider<JobHandler> handlerProvider,
+                     ObjectMapper objectMapper,
+                     @Value("${jobs.worker.parallelism:2}") int parallelism) {
+        this.jobRepository = jobRepository;
+        this.dialectQueries = dialectQueries;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlerProvider = handlerProvider;
+        this.objectMapper = objectMapper;
+        this.parallelism = Math.max(1, parallelism);
+        this.slots = new Semaphore(this.parallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.parallelism,
+                runnable -> newThread(runnable, "job-worker-" + threadNumber.incrementAndGet()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        heartbeats.scheduleWithFixedDelay(this::heartbeatSafely, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        logger.info("⚙️ Job worker {} started with {} thread(s)", owner, parallelism);
+    }
+
+    // Poll right away instead of waiting for the next interval (e.g. after a submit)
+    public void wakeUp() {
+        if (!scheduler.isShutdown()) {
+            scheduler.execute(this::pollSafely);
+        }
+    }
+
+    // Flag a job running on this instance directly instead of waiting for the next heartbeat
+    public void cancelLocal(long jobId) {
+        JobContext context = running.get(jobId);
+        if (context != null) {
+            context.requestCancel();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+        // Heartbeats keep the leases while the interrupted handlers wind down
+        boolean terminated = pool.awaitTermination(shutdownGraceMs, TimeUnit.MILLISECONDS);
+        heartbeats.shutdownNow();
+        if (!terminated) {
+            logger.warn("⚙️ {} job(s) still running after {} ms; they are reclaimed once their leases expire",
+                    running.size(), shutdownGraceMs);
+        }
+        // Hand stopped jobs back right away rather than waiting for their leases to expire
+        if (!interrupted.isEmpty()) {
+            List<Long> stopped = List.copyOf(interrupted);
+            int released = inTransaction(() -> jobRepository.releaseLeases(stopped, owner, LocalDateTime.now()));
+            interrupted.removeAll(stopped);
+            logger.info("⚙️ Released {} interrupted job(s) on shutdown", released);
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            logger.error("❌ Job poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        // Abandoned leases can only appear once per lease period, so sweep at that pace
+        if (lastSweep == null || lastSweep.plusSeconds(leaseSeconds).isBefore(now)) {
+            inTransaction(() -> jobRepository.failAbandoned(now) + jobRepository.cancelAbandoned(now));
+            lastSweep = now;
+        }
+
+        while (slots.tryAcquire()) {
+            Optional<Job> claimed = claimNext();
+            if (claimed.isEmpty()) {
+                slots.release();
+                return;
+            }
+            Job job = claimed.get();
+            JobContext context = new JobContext(job.getId(), job.getPayload(), job.getAttempts(),
+                    job.getProgressCurrent(), job.getProgressTotal(), objectMapper);
+            running.put(job.getId(), context);
+            try {
+                pool.execute(() -> run(job, context));
+            } catch (RuntimeException e) {
+                // Pool shut down between claim and dispatch; the lease expires and the job is reclaimed
+                running.remove(job.getId());
+                slots.release();
+                throw e;
+            }
+        }
+    }
+
+    private Optional<Job> claimNext() {
+        return transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            return dialectQueries.claimNextJob(owner, now, now.plusSeconds(leaseSeconds))
+                    .flatMap(jobRepository::findById);
+        });
+    }
+
+    private void run(Job job, JobContext context) {
+        long started = System.currentTimeMillis();
+        JobStatus outcome;
+        String message;
+        try {
+            JobHandler handler = handlers().get(job.getType());
+            if (handler == null) {
+                outcome = JobStatus.FAILED;
+                message = "No handler for job type " + job.getType();
+            } else {
+                message = handler.run(context);
+                outcome = JobStatus.SUCCEEDED;
+            }
+        } catch (JobCancelledException e) {
+            outcome = JobStatus.CANCELLED;
+            message = e.getMessage();
+        } catch (Exception e) {
+            outcome = JobStatus.FAILED;
+            message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            logger.error("❌ Job {} ({}) failed: {}", job.getId(), job.getType(), message, e);
+        } finally {
+            running.remove(job.getId());
+            slots.release();
+        }
+
+        if (context.isLeaseLost()) {
+            logger.warn("⚙️ Job {} lost its lease; result discarded", job.getId());
+        } else if (stopping && outcome != JobStatus.SUCCEEDED && !context.isCancelRequested()) {
+            // Stopped by shutdown rather than by its own outcome; stop() hands it back
+            interrupted.add(job.getId());
+            return;
+        } else {
+            finish(job.getId(), outcome, message, context);
+            logger.info("⚙️ Job {} ({}) {} in {} ms", job.getId(), job.getType(), outcome,
+                    System.currentTimeMillis() - started);
+        }
+        if (!stopping) {
+            wakeUp();
+        }
+    }
+
+    private void finish(long jobId, JobStatus outcome, String message, JobContext context) {
+        String trimmed = message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+        inTransaction(() -> jobRepository.finish(jobId, owner, outcome, trimmed,
+                context.getProgressCurrent(), context.getProgressTotal(), LocalDateTime.now()));
+    }
+
+    private void heartbeatSafely() {
+        try {
+            heartbeat();
+        } catch (RuntimeException e) {
+            logger.error("❌ Job heartbeat failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Extend leases, publish progress and pick up cancellation requests for local jobs
+    private void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        transactionTemplate.executeWithoutResult(tx -> {
+            running.forEach((jobId, context) -> {
+                if (jobRepository.renewLease(jobId, owner, context.getProgressCurrent(),
+                        context.getProgressTotal(), leaseUntil, now) == 0) {
+                    context.markLeaseLost();
+                }
+            });
+            List<Long> cancelled = jobRepository.findCancelRequestedIds(running.keySet());
+            cancelled.forEach(jobId -> {
+                JobContext context = running.get(jobId);
+                if (context != null) {
+                    context.requestCancel();
+                }
+            });
+        });
+    }
+
+    private Map<String, JobHandler> handlers() {
+        // Resolved lazily: handlers usually depend on JobService, which depends on this worker
+        Map<String, JobHandler> resolved = handlers;
+        if (resolved == null) {
+            resolved = handlerProvider.orderedStream()
+                    .collect(Collectors.toUnmodifiableMap(JobHandler::type, Function.identity()));
+            handlers = resolved;
+        }
+        return resolved;
+    }
+
+    public boolean hasHandler(String type) {
+        return handlers().containsKey(type);
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(tx -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    private static Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static String workerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -3,9 +3,12 @@ package com.app.appointment_booking_system.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_status_starts_at", columnList = "status, starts_at")
+})
 public class Appointment {
 
     @Id
@@ -17,10 +20,19 @@ public class Appointment {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Wall-clock time in timeZone, as the client booked it
     @NotNull
     @Column(name = "appointment_date_time", nullable = false)
     private LocalDateTime appointmentDateTime;
 
+    // The same moment as UTC epoch milliseconds; range, day and slot queries compare this.
+    // Nullable only for rows written before zones existed, until AppointmentZoneBackfill runs.
+    @Column(name = "starts_at")
+    private Long startsAt;
+
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
     @Column(name = "notes", length = 1000)
     private String notes;
 
@@ -35,6 +47,11 @@ public class Appointment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; existing rows start at 0 via the column default
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     public enum AppointmentStatus {
         SCHEDULED,
         CANCELLED,
@@ -46,11 +63,11 @@ public class Appointment {
         this.createdAt = LocalDateTime.now();
     }
 
-    public Appointment(User user, LocalDateTime appointmentDateTime, String notes) {
+    public Appointment(User user, LocalDateTime appointmentDateTime, ZoneId zone, String notes) {
         this();
         this.user = user;
-        this.appointmentDateTime = appointmentDateTime;
         this.notes = notes;
+        setSchedule(appointmentDateTime, zone);
     }
 
     @PrePersist
@@ -85,8 +102,19 @@ public class Appointment {
         return appointmentDateTime;
     }
 
-    public void setAppointmentDateTime(LocalDateTime appointmentDateTime) {
+    public Long getStartsAt() {
+        return startsAt;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    // Wall-clock time and zone always change together so startsAt cannot drift
+    public void setSchedule(LocalDateTime appointmentDateTime, ZoneId zone) {
         this.appointmentDateTime = appointmentDateTime;
+        this.timeZone = zone.getId();
+        this.startsAt = appointmentDateTime.atZone(zone).toInstant().toEpochMilli();
     }
 
     public String getNotes() {
@@ -120,4 +148,18 @@ public class Appointment {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * What a conditional status UPDATE of this row wrote, applied to this copy of it
+     * without writing again; only for rows the persistence context no longer manages.
+     */
+    public void applyStatusUpdate(AppointmentStatus status, LocalDateTime updatedAt) {
+        this.status = status;
+        this.updatedAt = updatedAt;
+        this.version = version + 1;
+    }
 }
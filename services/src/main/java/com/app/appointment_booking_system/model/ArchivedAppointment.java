@@ -0,0 +1,93 @@
+package com.app.appointment_booking_system.model;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a COMPLETED/CANCELLED appointment that has been moved out of
+ * the hot {@code appointments} table by the archive job. The id is the id the
+ * appointment had in the live table; the user is kept as a plain id so archived
+ * history does not hold a foreign key on {@code users}.
+ */
+@Entity
+@Table(name = "appointments_archive", indexes = {
+        @Index(name = "idx_archive_user_id", columnList = "user_id"),
+        @Index(name = "idx_archive_date_time", columnList = "appointment_date_time")
+})
+public class ArchivedAppointment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "appointment_date_time", nullable = false)
+    private LocalDateTime appointmentDateTime;
+
+    @Column(name = "starts_at")
+    private Long startsAt;
+
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    @Column(name = "notes", length = 1000)
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedAppointment() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getAppointmentDateTime() {
+        return appointmentDateTime;
+    }
+
+    public Long getStartsAt() {
+        return startsAt;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
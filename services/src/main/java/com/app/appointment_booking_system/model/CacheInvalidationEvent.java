@@ -0,0 +1,87 @@
+package com.app.appointment_booking_system.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per published cache invalidation (cluster.invalidation.transport=jdbc). Key sets
+ * are comma-separated ids, slot holds are encoded by JdbcInvalidationTransport; rows are
+ * deleted once every instance has had time to read them.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+        @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidationEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String origin;
+
+    @Column(name = "user_ids", length = 4000)
+    private String userIds;
+
+    @Column(name = "appointment_ids", length = 4000)
+    private String appointmentIds;
+
+    @Column(length = 4000)
+    private String days;
+
+    @Column(name = "waitlist_entry_ids", length = 4000)
+    private String waitlistEntryIds;
+
+    @Column(name = "holds_taken", length = 4000)
+    private String holdsTaken;
+
+    @Column(name = "holds_released", length = 4000)
+    private String holdsReleased;
+
+    @Column(nullable = false)
+    private boolean everything;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public CacheInvalidationEvent() {}
+
+    public CacheInvalidationEvent(String origin, String userIds, String appointmentIds, String days,
+                                  String waitlistEntryIds, String holdsTaken, String holdsReleased,
+                                  boolean everything) {
+        this.origin = origin;
+        this.userIds = userIds;
+        this.appointmentIds = appointmentIds;
+        this.days = days;
+        this.waitlistEntryIds = waitlistEntryIds;
+        this.holdsTaken = holdsTaken;
+        this.holdsReleased = holdsReleased;
+        this.everything = everything;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+
+    public String getOrigin() { return origin; }
+
+    public String getUserIds() { return userIds; }
+
+    public String getAppointmentIds() { return appointmentIds; }
+
+    public String getDays() { return days; }
+
+    public String getWaitlistEntryIds() { return waitlistEntryIds; }
+
+    public String getHoldsTaken() { return holdsTaken; }
+
+    public String getHoldsReleased() { return holdsReleased; }
+
+    public boolean isEverything() { return everything; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,134 @@
+package com.app.appointment_booking_system.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_status_id", columnList = "status, id"),
+        @Index(name = "idx_jobs_dedup_key", columnList = "dedup_key")
+})
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Selects the JobHandler that runs the job
+    @NotNull
+    @Column(nullable = false, length = 100)
+    private String type;
+
+    // Optional: while a job with this key is QUEUED/RUNNING, submitting the same key returns it
+    @Column(name = "dedup_key", length = 200)
+    private String dedupKey;
+
+    // Handler input as JSON
+    @Column(length = 4000)
+    private String payload;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(name = "progress_current", nullable = false)
+    private long progressCurrent;
+
+    @Column(name = "progress_total", nullable = false)
+    private long progressTotal;
+
+    // Result summary or failure reason
+    @Column(length = 2000)
+    private String message;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    // Claims so far; a job whose worker died is reclaimed until max_attempts is reached
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    // Worker currently holding the job and until when; an expired lease means the worker is gone
+    @Column(name = "lease_owner", length = 200)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    public Job() {
+        this.status = JobStatus.QUEUED;
+    }
+
+    public Job(String type, String dedupKey, String payload, int maxAttempts) {
+        this();
+        this.type = type;
+        this.dedupKey = dedupKey;
+        this.payload = payload;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public String getType() { return type; }
+
+    public String getDedupKey() { return dedupKey; }
+
+    public String getPayload() { return payload; }
+
+    public JobStatus getStatus() { return status; }
+
+    public long getProgressCurrent() { return progressCurrent; }
+
+    public long getProgressTotal() { return progressTotal; }
+
+    public String getMessage() { return message; }
+
+    public boolean isCancelRequested() { return cancelRequested; }
+
+    public int getAttempts() { return attempts; }
+
+    public int getMaxAttempts() { return maxAttempts; }
+
+    public String getLeaseOwner() { return leaseOwner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,41 @@
+package com.app.appointment_booking_system.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Check;
+
+/**
+ * Seats of one slot: how many SCHEDULED appointments it may hold and how many it does.
+ *
+ * Rows are created on first use and only changed through the conditional UPDATEs in
+ * SlotCounterRepository, which is what keeps booked within capacity under concurrency.
+ */
+@Entity
+@Table(name = "slot_counters")
+@Check(constraints = "booked >= 0 AND booked <= capacity")
+public class SlotCounter {
+
+    // UTC epoch milliseconds, same as Appointment.startsAt
+    @Id
+    @Column(name = "starts_at")
+    private Long startsAt;
+
+    @Column(nullable = false)
+    private int capacity;
+
+    @Column(nullable = false)
+    private int booked;
+
+    public SlotCounter() {}
+
+    public Long getStartsAt() {
+        return startsAt;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBooked() {
+        return booked;
+    }
+}
@@ -1,9 +1,12 @@
 package com.app.appointment_booking_system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
 public class User {
@@ -24,6 +27,19 @@ public class User {
     @Column(unique = true)
     private String email;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // IANA zone id the user books and reads times in; null means appointments.default-zone
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    // Set when deletion starts; the row is purged together with its history afterwards
+    @JsonIgnore
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     public User() {}
 
     public User(String name, String phoneNumber, String email) {
@@ -42,4 +58,11 @@ public class User {
 
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
 }
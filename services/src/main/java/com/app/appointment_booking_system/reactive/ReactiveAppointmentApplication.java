@@ -0,0 +1,60 @@
+package com.app.appointment_booking_system.reactive;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.security.JwtUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive deployment mode: WebFlux on Netty with R2DBC, for nodes that hold many slow
+ * concurrent clients (SSE dashboards, mobile) on a handful of event-loop threads instead of
+ * a request thread and a JDBC connection each.
+ *
+ * Serves the core of /api/users, /api/appointments and /api/auth with the same JSON and
+ * the same slot counter rules as the servlet application; holds, waitlist, search, bulk
+ * operations and jobs stay servlet-only. It runs against its own database (see
+ * ServletDatabaseGuard). The jar's Start-Class is the servlet application, so start this
+ * mode explicitly:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.main-class=com.app.appointment_booking_system.reactive.ReactiveAppointmentApplication
+ *   java -cp target/appointment-booking-system-0.0.1-SNAPSHOT.jar \
+ *        -Dloader.main=com.app.appointment_booking_system.reactive.ReactiveAppointmentApplication \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import({JwtUtil.class, TimeZones.class})
+public class ReactiveAppointmentApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveAppointmentApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE);
+    }
+
+    // Tomcat is on the classpath for the servlet application; this mode always runs on Netty
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
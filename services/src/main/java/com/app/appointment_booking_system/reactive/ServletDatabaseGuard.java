@@ -0,0 +1,51 @@
+package com.app.appointment_booking_system.reactive;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Refuses to start the reactive mode against a database the servlet application manages.
+ * Reactive writes go to the same tables but take no slot holds, write no audit journal and
+ * publish no cluster invalidations, so servlet nodes sharing the database would serve
+ * bookings their holds, waitlists and caches never saw.
+ *
+ * The servlet application is recognised by tables only it creates (Flyway history, the job
+ * queue, the invalidation log). appointments.reactive.allow-servlet-database lets a
+ * read-only comparison (ReactiveVsMvcBenchmark) open such a database on purpose.
+ */
+@Component
+public class ServletDatabaseGuard implements InitializingBean {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${appointments.reactive.allow-servlet-database:false}")
+    private boolean allowServletDatabase;
+
+    public ServletDatabaseGuard(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Runs while the context refreshes, before the web server accepts requests
+    @Override
+    public void afterPropertiesSet() {
+        if (allowServletDatabase) {
+            return;
+        }
+        Long servletTables = databaseClient.sql("SELECT count(*) AS servlet_tables FROM information_schema.tables " +
+                        "WHERE lower(table_name) IN ('flyway_schema_history', 'jobs', 'cache_invalidations')")
+                .map(row -> row.get("servlet_tables", Long.class))
+                .one()
+                .block(TIMEOUT);
+        if (servletTables != null && servletTables > 0) {
+            throw new IllegalStateException("spring.r2dbc.url points at a database managed by the servlet " +
+                    "application; the reactive mode needs its own database " +
+                    "(or set appointments.reactive.allow-servlet-database=true for read-only use)");
+        }
+    }
+}
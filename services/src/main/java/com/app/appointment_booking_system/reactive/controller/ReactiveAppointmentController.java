@@ -0,0 +1,120 @@
+package com.app.appointment_booking_system.reactive.controller;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.controller.EntityTags;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.reactive.model.AppointmentView;
+import com.app.appointment_booking_system.reactive.service.ReactiveAppointmentService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * AppointmentController for the reactive deployment mode. List endpoints return a Flux
+ * straight from the database: application/json writes it as one array, while
+ * application/x-ndjson and text/event-stream send each appointment as soon as it is read,
+ * at the pace the client consumes them.
+ */
+@RestController
+@RequestMapping("/api/appointments")
+public class ReactiveAppointmentController {
+
+    private final ReactiveAppointmentService appointmentService;
+    private final TimeZones timeZones;
+
+    public ReactiveAppointmentController(ReactiveAppointmentService appointmentService, TimeZones timeZones) {
+        this.appointmentService = appointmentService;
+        this.timeZones = timeZones;
+    }
+
+    // CREATE APPOINTMENT
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<AppointmentView> createAppointment(@Valid @RequestBody CreateAppointmentRequest request) {
+        return appointmentService.createAppointment(request);
+    }
+
+    // GET ALL APPOINTMENTS
+    @GetMapping
+    public Flux<AppointmentView> getAllAppointments() {
+        return appointmentService.getAllAppointments();
+    }
+
+    // GET APPOINTMENT BY ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AppointmentView>> getAppointmentById(@PathVariable Long id) {
+        return appointmentService.getAppointmentById(id)
+                .map(this::withETag)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // GET APPOINTMENTS BY USER ID
+    @GetMapping("/user/{userId}")
+    public Flux<AppointmentView> getAppointmentsByUserId(@PathVariable Long userId) {
+        return appointmentService.getAppointmentsByUserId(userId);
+    }
+
+    // GET APPOINTMENTS BY STATUS
+    @GetMapping("/status/{status}")
+    public Flux<AppointmentView> getAppointmentsByStatus(@PathVariable AppointmentStatus status) {
+        return appointmentService.getAppointmentsByStatus(status);
+    }
+
+    // GET APPOINTMENTS BY DATE (the day as seen in ?zone=, default appointments.default-zone)
+    @GetMapping("/date/{date}")
+    public Flux<AppointmentView> getAppointmentsByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String zone) {
+        return appointmentService.getAppointmentsByDate(date, timeZones.resolve(zone));
+    }
+
+    // GET APPOINTMENTS IN DATE RANGE (wall-clock bounds in ?zone=)
+    @GetMapping("/range")
+    public Flux<AppointmentView> getAppointmentsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String zone) {
+        return appointmentService.getAppointmentsInRange(epochMillis(startDate, zone), epochMillis(endDate, zone));
+    }
+
+    // CHECK AVAILABILITY
+    @GetMapping("/availability")
+    public Mono<Boolean> checkAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateTime,
+            @RequestParam(required = false) String zone) {
+        return appointmentService.isTimeSlotAvailable(epochMillis(dateTime, zone));
+    }
+
+    // CANCEL APPOINTMENT
+    @PutMapping("/{id}/cancel")
+    public Mono<ResponseEntity<AppointmentView>> cancelAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return appointmentService.cancelAppointment(id, EntityTags.parseIfMatch(ifMatch)).map(this::withETag);
+    }
+
+    // COMPLETE APPOINTMENT
+    @PutMapping("/{id}/complete")
+    public Mono<ResponseEntity<AppointmentView>> completeAppointment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return appointmentService.completeAppointment(id, EntityTags.parseIfMatch(ifMatch)).map(this::withETag);
+    }
+
+    private long epochMillis(LocalDateTime wallClock, String zone) {
+        return TimeZones.epochMillis(wallClock, timeZones.resolve(zone));
+    }
+
+    private ResponseEntity<AppointmentView> withETag(AppointmentView appointment) {
+        return ResponseEntity.ok().eTag(EntityTags.of(appointment.version())).body(appointment);
+    }
+}
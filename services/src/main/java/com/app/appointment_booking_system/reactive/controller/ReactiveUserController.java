@@ -0,0 +1,59 @@
+package com.app.appointment_booking_system.reactive.controller;
+
+import com.app.appointment_booking_system.controller.EntityTags;
+import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.reactive.model.UserRow;
+import com.app.appointment_booking_system.reactive.service.ReactiveUserService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * UserController for the reactive deployment mode. Deletion (a background job) and search
+ * are servlet-only.
+ */
+@RestController
+@RequestMapping("/api/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    // CREATE USER
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<UserRow> createUser(@Valid @RequestBody CreateUserRequest request) {
+        return userService.createUser(request);
+    }
+
+    // GET ALL USERS
+    @GetMapping
+    public Flux<UserRow> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    // GET USER BY ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserRow>> getUserById(@PathVariable Long id) {
+        return userService.getUserById(id)
+                .map(user -> ResponseEntity.ok().eTag(EntityTags.of(user.getVersion())).body(user))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // UPDATE USER (optional If-Match: "<version>")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UserRow>> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserRow user) {
+        return userService.updateUser(id, user, EntityTags.parseIfMatch(ifMatch))
+                .map(updated -> ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated));
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.appointment_booking_system.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the admins table, read for login only.
+ */
+@Table("admins")
+public class AdminRow {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String email;
+
+    private String password;
+
+    public AdminRow() {}
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getEmail() { return email; }
+
+    public String getPassword() { return password; }
+}
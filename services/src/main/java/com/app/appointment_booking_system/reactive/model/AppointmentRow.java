@@ -0,0 +1,79 @@
+package com.app.appointment_booking_system.reactive.model;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * R2DBC mapping of the appointments table. The user is a plain id here; responses join
+ * the user in (AppointmentView).
+ */
+@Table("appointments")
+public class AppointmentRow {
+
+    @Id
+    private Long id;
+
+    @Column("user_id")
+    private Long userId;
+
+    @Column("appointment_date_time")
+    private LocalDateTime appointmentDateTime;
+
+    @Column("starts_at")
+    private Long startsAt;
+
+    @Column("time_zone")
+    private String timeZone;
+
+    private String notes;
+
+    private AppointmentStatus status;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public AppointmentRow() {}
+
+    public AppointmentRow(Long userId, LocalDateTime appointmentDateTime, ZoneId zone, String notes) {
+        this.userId = userId;
+        this.appointmentDateTime = appointmentDateTime;
+        this.timeZone = zone.getId();
+        this.startsAt = appointmentDateTime.atZone(zone).toInstant().toEpochMilli();
+        this.notes = notes;
+        this.status = AppointmentStatus.SCHEDULED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+
+    public Long getStartsAt() { return startsAt; }
+
+    public String getTimeZone() { return timeZone; }
+
+    public String getNotes() { return notes; }
+
+    public AppointmentStatus getStatus() { return status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,22 @@
+package com.app.appointment_booking_system.reactive.model;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * An appointment with its user, in the JSON shape of model.Appointment, read in one joined
+ * query so list endpoints can stream rows as they arrive.
+ */
+public record AppointmentView(
+        Long id,
+        UserRow user,
+        LocalDateTime appointmentDateTime,
+        Long startsAt,
+        String timeZone,
+        String notes,
+        AppointmentStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+}
@@ -0,0 +1,71 @@
+package com.app.appointment_booking_system.reactive.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the users table; serializes like model.User.
+ */
+@Table("users")
+public class UserRow {
+
+    @Id
+    private Long id;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    @Column("phone_number")
+    private String phoneNumber;
+
+    @Email
+    @NotBlank
+    private String email;
+
+    @Version
+    private Long version;
+
+    @Column("time_zone")
+    private String timeZone;
+
+    @JsonIgnore
+    @Column("deleted_at")
+    private LocalDateTime deletedAt;
+
+    public UserRow() {}
+
+    public UserRow(Long id, String name, String phoneNumber, String email, Long version, String timeZone) {
+        this.id = id;
+        this.name = name;
+        this.phoneNumber = phoneNumber;
+        this.email = email;
+        this.version = version;
+        this.timeZone = timeZone;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+}
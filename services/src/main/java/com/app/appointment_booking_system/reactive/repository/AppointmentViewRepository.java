@@ -0,0 +1,101 @@
+package com.app.appointment_booking_system.reactive.repository;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.reactive.model.AppointmentView;
+import com.app.appointment_booking_system.reactive.model.UserRow;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appointments joined with their users, one row per appointment. Results are Fluxes that
+ * emit rows as the driver produces them, fetched in batches of FETCH_SIZE.
+ *
+ * A stream holds its connection until the last row is read, so up to read-ahead-rows are
+ * read ahead of a slow subscriber: ranges up to that size give the connection back at
+ * once, and only longer ones are held back at the subscriber's pace.
+ */
+@Repository
+public class AppointmentViewRepository {
+
+    private static final int FETCH_SIZE = 256;
+
+    private static final String SELECT =
+            "SELECT a.id, a.appointment_date_time, a.starts_at, a.time_zone, a.notes, a.status, " +
+            "a.created_at, a.updated_at, a.version, " +
+            "u.id AS u_id, u.name AS u_name, u.phone_number AS u_phone_number, u.email AS u_email, " +
+            "u.version AS u_version, u.time_zone AS u_time_zone " +
+            "FROM appointments a JOIN users u ON u.id = a.user_id ";
+
+    private final DatabaseClient databaseClient;
+    private final int readAheadRows;
+
+    public AppointmentViewRepository(DatabaseClient databaseClient,
+                                     @Value("${appointments.reactive.read-ahead-rows:2048}") int readAheadRows) {
+        this.databaseClient = databaseClient;
+        this.readAheadRows = readAheadRows;
+    }
+
+    public Flux<AppointmentView> findAll() {
+        return stream(databaseClient.sql(SELECT + "ORDER BY a.id ASC"));
+    }
+
+    public Mono<AppointmentView> findById(Long id) {
+        return databaseClient.sql(SELECT + "WHERE a.id = :id")
+                .bind("id", id)
+                .map(AppointmentViewRepository::toView)
+                .one();
+    }
+
+    public Flux<AppointmentView> findByUserId(Long userId) {
+        return stream(databaseClient.sql(SELECT + "WHERE a.user_id = :userId ORDER BY a.id ASC")
+                .bind("userId", userId));
+    }
+
+    public Flux<AppointmentView> findByStatus(AppointmentStatus status) {
+        return stream(databaseClient.sql(SELECT + "WHERE a.status = :status ORDER BY a.id ASC")
+                .bind("status", status.name()));
+    }
+
+    // Scheduled appointments in [from, to), epoch milliseconds
+    public Flux<AppointmentView> findScheduledInRange(long from, long to) {
+        return stream(databaseClient.sql(SELECT +
+                        "WHERE a.starts_at >= :from AND a.starts_at < :to AND a.status = 'SCHEDULED' " +
+                        "ORDER BY a.starts_at ASC")
+                .bind("from", from)
+                .bind("to", to));
+    }
+
+    private Flux<AppointmentView> stream(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(AppointmentViewRepository::toView)
+                .all()
+                .limitRate(readAheadRows);
+    }
+
+    private static AppointmentView toView(Readable row) {
+        UserRow user = new UserRow(
+                row.get("u_id", Long.class),
+                row.get("u_name", String.class),
+                row.get("u_phone_number", String.class),
+                row.get("u_email", String.class),
+                row.get("u_version", Long.class),
+                row.get("u_time_zone", String.class));
+        return new AppointmentView(
+                row.get("id", Long.class),
+                user,
+                row.get("appointment_date_time", LocalDateTime.class),
+                row.get("starts_at", Long.class),
+                row.get("time_zone", String.class),
+                row.get("notes", String.class),
+                AppointmentStatus.valueOf(row.get("status", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
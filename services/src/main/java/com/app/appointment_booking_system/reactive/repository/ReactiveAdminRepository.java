@@ -0,0 +1,12 @@
+package com.app.appointment_booking_system.reactive.repository;
+
+import com.app.appointment_booking_system.reactive.model.AdminRow;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveAdminRepository extends R2dbcRepository<AdminRow, Long> {
+
+    Mono<AdminRow> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.app.appointment_booking_system.reactive.repository;
+
+import com.app.appointment_booking_system.reactive.model.AppointmentRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveAppointmentRepository extends R2dbcRepository<AppointmentRow, Long> {
+
+    // Same conditional transition as AppointmentRepository.transitionStatus; a null version
+    // matches any version
+    @Modifying
+    @Query("UPDATE appointments SET status = :target, updated_at = :now, version = version + 1 " +
+           "WHERE id = :id AND status = :expected AND version = COALESCE(:version, version)")
+    Mono<Integer> transitionStatus(
+            @Param("id") Long id,
+            @Param("expected") String expected,
+            @Param("target") String target,
+            @Param("version") Long version,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,73 @@
+package com.app.appointment_booking_system.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * The slot_counters statements of SlotCounterRepository over R2DBC. Holds only exist in the
+ * servlet application, so claims here reserve no seats for them.
+ */
+@Repository
+public class ReactiveSlotCounterRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveSlotCounterRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Boolean> exists(long startsAt) {
+        return databaseClient.sql("SELECT 1 FROM slot_counters WHERE starts_at = :startsAt")
+                .bind("startsAt", startsAt)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    // Creates the counter seeded from the appointments already in the slot; a primary key
+    // violation if another transaction created it first
+    public Mono<Long> insertCounter(long startsAt, int capacity) {
+        return databaseClient.sql("INSERT INTO slot_counters (starts_at, capacity, booked) " +
+                        "SELECT :startsAt, GREATEST(count(*), :capacity), count(*) " +
+                        "FROM appointments WHERE starts_at = :startsAt AND status = 'SCHEDULED'")
+                .bind("startsAt", startsAt)
+                .bind("capacity", capacity)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> claimSeats(long startsAt, int seats) {
+        return databaseClient.sql("UPDATE slot_counters SET booked = booked + :seats " +
+                        "WHERE starts_at = :startsAt AND booked + :seats <= capacity")
+                .bind("startsAt", startsAt)
+                .bind("seats", seats)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> releaseSeats(long startsAt, int seats) {
+        return databaseClient.sql("UPDATE slot_counters SET booked = booked - :seats " +
+                        "WHERE starts_at = :startsAt AND booked >= :seats")
+                .bind("startsAt", startsAt)
+                .bind("seats", seats)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Free seats of a slot with a counter; empty when it has none yet
+    public Mono<Integer> unbookedSeats(long startsAt) {
+        return databaseClient.sql("SELECT capacity - booked AS unbooked FROM slot_counters WHERE starts_at = :startsAt")
+                .bind("startsAt", startsAt)
+                .map(row -> row.get("unbooked", Integer.class))
+                .first();
+    }
+
+    public Mono<Long> countScheduled(long startsAt) {
+        return databaseClient.sql("SELECT count(*) AS scheduled FROM appointments " +
+                        "WHERE starts_at = :startsAt AND status = 'SCHEDULED'")
+                .bind("startsAt", startsAt)
+                .map(row -> row.get("scheduled", Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.appointment_booking_system.reactive.repository;
+
+import com.app.appointment_booking_system.reactive.model.UserRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<UserRow, Long> {
+
+    // Users not being deleted, in id order
+    @Query("SELECT * FROM users WHERE deleted_at IS NULL ORDER BY id ASC")
+    Flux<UserRow> findActive();
+
+    @Query("SELECT * FROM users WHERE id = :id AND deleted_at IS NULL")
+    Mono<UserRow> findActiveById(@Param("id") Long id);
+
+    Mono<Boolean> existsByEmail(String email);
+}
@@ -0,0 +1,178 @@
+package com.app.appointment_booking_system.reactive.service;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.reactive.model.AppointmentRow;
+import com.app.appointment_booking_system.reactive.model.AppointmentView;
+import com.app.appointment_booking_system.reactive.repository.AppointmentViewRepository;
+import com.app.appointment_booking_system.reactive.repository.ReactiveAppointmentRepository;
+import com.app.appointment_booking_system.reactive.repository.ReactiveSlotCounterRepository;
+import com.app.appointment_booking_system.reactive.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * AppointmentServiceImpl over R2DBC: the same slot counters and conditional status
+ * transitions, without holds, waitlist fills, search indexing or read coalescing, which
+ * live in the servlet application.
+ */
+@Service
+public class ReactiveAppointmentService {
+
+    private final ReactiveAppointmentRepository appointmentRepository;
+    private final AppointmentViewRepository appointmentViews;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveSlotCounterRepository slotCounters;
+    private final TransactionalOperator transactionalOperator;
+    private final TimeZones timeZones;
+
+    @Value("${appointments.slots.default-capacity:1}")
+    private int defaultCapacity;
+
+    public ReactiveAppointmentService(ReactiveAppointmentRepository appointmentRepository,
+                                      AppointmentViewRepository appointmentViews,
+                                      ReactiveUserRepository userRepository,
+                                      ReactiveSlotCounterRepository slotCounters,
+                                      TransactionalOperator transactionalOperator,
+                                      TimeZones timeZones) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentViews = appointmentViews;
+        this.userRepository = userRepository;
+        this.slotCounters = slotCounters;
+        this.transactionalOperator = transactionalOperator;
+        this.timeZones = timeZones;
+    }
+
+    public Mono<AppointmentView> createAppointment(CreateAppointmentRequest request) {
+        if (request.getHoldId() != null) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Holds are not available in reactive mode"));
+        }
+        return userRepository.findActiveById(request.getUserId())
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
+                .flatMap(user -> {
+                    // The wall-clock time is meant in the request's zone, else the user's
+                    ZoneId zone = request.getTimeZone() != null
+                            ? timeZones.resolve(request.getTimeZone())
+                            : user.getTimeZone() != null ? ZoneId.of(user.getTimeZone()) : timeZones.defaultZone();
+                    AppointmentRow appointment = new AppointmentRow(
+                            user.getId(), request.getAppointmentDateTime(), zone, request.getNotes());
+                    long startsAt = appointment.getStartsAt();
+
+                    // Take a seat and insert in one transaction; the counter itself is created before it
+                    Mono<AppointmentRow> booking = slotCounters.claimSeats(startsAt, 1)
+                            .flatMap(claimed -> claimed == 1
+                                    ? appointmentRepository.save(appointment)
+                                    : Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                            "Time slot is already booked. Please select another time.")));
+                    return ensureCounter(startsAt).then(booking.as(transactionalOperator::transactional));
+                })
+                .flatMap(saved -> appointmentViews.findById(saved.getId()));
+    }
+
+    public Flux<AppointmentView> getAllAppointments() {
+        return appointmentViews.findAll();
+    }
+
+    public Mono<AppointmentView> getAppointmentById(Long id) {
+        return appointmentViews.findById(id);
+    }
+
+    public Flux<AppointmentView> getAppointmentsByUserId(Long userId) {
+        return appointmentViews.findByUserId(userId);
+    }
+
+    public Flux<AppointmentView> getAppointmentsByStatus(AppointmentStatus status) {
+        return appointmentViews.findByStatus(status);
+    }
+
+    public Flux<AppointmentView> getAppointmentsByDate(LocalDate date, ZoneId zone) {
+        // The day as the caller's zone sees it (23 or 25 hours on DST changes)
+        long startOfDay = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long endOfDay = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return appointmentViews.findScheduledInRange(startOfDay, endOfDay);
+    }
+
+    public Flux<AppointmentView> getAppointmentsInRange(long from, long to) {
+        return appointmentViews.findScheduledInRange(from, to);
+    }
+
+    public Mono<Boolean> isTimeSlotAvailable(long startsAt) {
+        return slotCounters.unbookedSeats(startsAt)
+                .switchIfEmpty(slotCounters.countScheduled(startsAt).map(booked -> defaultCapacity - booked.intValue()))
+                .map(unbooked -> unbooked > 0);
+    }
+
+    public Mono<AppointmentView> cancelAppointment(Long id, Long expectedVersion) {
+        // Cancelling a completed appointment frees no seat
+        return transition(id, AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED, expectedVersion)
+                .switchIfEmpty(transition(id, AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED, expectedVersion))
+                .switchIfEmpty(refusedTransition(id, AppointmentStatus.CANCELLED, expectedVersion));
+    }
+
+    public Mono<AppointmentView> completeAppointment(Long id, Long expectedVersion) {
+        return transition(id, AppointmentStatus.SCHEDULED, AppointmentStatus.COMPLETED, expectedVersion)
+                .switchIfEmpty(refusedTransition(id, AppointmentStatus.COMPLETED, expectedVersion));
+    }
+
+    // Single conditional UPDATE, plus the seat when it leaves SCHEDULED; empty if nothing matched
+    private Mono<AppointmentView> transition(Long id,
+                                             AppointmentStatus expected,
+                                             AppointmentStatus target,
+                                             Long expectedVersion) {
+        Mono<AppointmentView> update = appointmentRepository.transitionStatus(
+                        id, expected.name(), target.name(), expectedVersion, LocalDateTime.now())
+                .filter(updated -> updated == 1)
+                .flatMap(updated -> appointmentViews.findById(id))
+                .flatMap(appointment -> expected == AppointmentStatus.SCHEDULED
+                        ? slotCounters.releaseSeats(appointment.startsAt(), 1).thenReturn(appointment)
+                        : Mono.just(appointment));
+        return update.as(transactionalOperator::transactional);
+    }
+
+    // Nothing matched: explain why, as AppointmentServiceImpl does
+    private Mono<AppointmentView> refusedTransition(Long id, AppointmentStatus target, Long expectedVersion) {
+        return appointmentViews.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Appointment not found")))
+                .flatMap(appointment -> {
+                    if (expectedVersion != null && !expectedVersion.equals(appointment.version())) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatus.PRECONDITION_FAILED, "Appointment was modified by another request"));
+                    }
+                    if (appointment.status() == target) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                target == AppointmentStatus.CANCELLED
+                                        ? "Appointment is already cancelled"
+                                        : "Appointment is already completed"));
+                    }
+                    return Mono.error(new ResponseStatusException(
+                            HttpStatus.CONFLICT, "Cannot complete a cancelled appointment"));
+                });
+    }
+
+    /**
+     * Counters are created on a slot's first booking, outside the booking's transaction so
+     * that losing the insert race cannot roll it back; see SlotCapacityServiceImpl.
+     */
+    private Mono<Void> ensureCounter(long startsAt) {
+        return slotCounters.exists(startsAt)
+                .flatMap(exists -> exists
+                        ? Mono.<Long>empty()
+                        : slotCounters.insertCounter(startsAt, defaultCapacity))
+                // Created concurrently; the conditional UPDATEs work on that row
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                .then();
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.appointment_booking_system.reactive.service;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.reactive.model.UserRow;
+import com.app.appointment_booking_system.reactive.repository.ReactiveUserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * UserServiceImpl over R2DBC, without the search index (servlet application only).
+ */
+@Service
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final TimeZones timeZones;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository, TimeZones timeZones) {
+        this.userRepository = userRepository;
+        this.timeZones = timeZones;
+    }
+
+    public Mono<UserRow> createUser(CreateUserRequest request) {
+        UserRow user = new UserRow();
+        user.setName(request.getName());
+        user.setPhoneNumber(request.getPhoneNumber());
+        user.setEmail(request.getEmail());
+        user.setTimeZone(timeZones.normalize(request.getTimeZone()));
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(emailExists())
+                        : userRepository.save(user))
+                // Lost a race with a concurrent create of the same email
+                .onErrorMap(DataIntegrityViolationException.class, e -> emailExists());
+    }
+
+    public Flux<UserRow> getAllUsers() {
+        return userRepository.findActive();
+    }
+
+    public Mono<UserRow> getUserById(Long id) {
+        return userRepository.findActiveById(id);
+    }
+
+    public Mono<UserRow> updateUser(Long id, UserRow user, Long expectedVersion) {
+        return userRepository.findActiveById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
+                .flatMap(existing -> {
+                    if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatus.PRECONDITION_FAILED, "User was modified by another request"));
+                    }
+                    existing.setName(user.getName());
+                    existing.setPhoneNumber(user.getPhoneNumber());
+                    existing.setEmail(user.getEmail());
+                    existing.setTimeZone(timeZones.normalize(user.getTimeZone()));
+                    return userRepository.save(existing);
+                })
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ResponseStatusException(
+                        HttpStatus.CONFLICT, "User was modified by another request"));
+    }
+
+    private static ResponseStatusException emailExists() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+    }
+}
@@ -1,15 +1,21 @@
 package com.app.appointment_booking_system.repository;
 
+import com.app.appointment_booking_system.dto.DashboardAppointment;
 import com.app.appointment_booking_system.model.Appointment;
 import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -17,32 +23,107 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // Find appointments by user
     List<Appointment> findByUserId(Long userId);
 
+    long countByUserId(Long userId);
+
+    // A chunk of one user's appointment ids (used for bulk deletion)
+    @Query("SELECT a.id FROM Appointment a WHERE a.user.id = :userId ORDER BY a.id ASC")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     // Find appointments by status
     List<Appointment> findByStatus(AppointmentStatus status);
 
     // Find appointments by user and status
     List<Appointment> findByUserIdAndStatus(Long userId, AppointmentStatus status);
 
-    // Check for overlapping appointments (same time slot, scheduled status)
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDateTime = :appointmentDateTime " +
-           "AND a.status = 'SCHEDULED'")
-    Optional<Appointment> findScheduledAppointmentByDateTime(@Param("appointmentDateTime") LocalDateTime appointmentDateTime);
+    // Scheduled appointments in one slot (seats taken before its counter exists)
+    @Query("SELECT count(a) FROM Appointment a WHERE a.startsAt = :startsAt AND a.status = 'SCHEDULED'")
+    long countScheduledByStartsAt(@Param("startsAt") long startsAt);
 
-    // Find all scheduled appointments in a date range
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDateTime >= :startDate " +
-           "AND a.appointmentDateTime < :endDate " +
+    // Find all scheduled appointments in [from, to), epoch milliseconds
+    @Query("SELECT a FROM Appointment a WHERE a.startsAt >= :from " +
+           "AND a.startsAt < :to " +
            "AND a.status = 'SCHEDULED' " +
-           "ORDER BY a.appointmentDateTime ASC")
+           "ORDER BY a.startsAt ASC")
     List<Appointment> findScheduledAppointmentsInRange(
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate);
+            @Param("from") long from,
+            @Param("to") long to);
 
-    // Find appointments for a specific date
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDateTime >= :startOfDay " +
-           "AND a.appointmentDateTime < :endOfDay " +
+    // Scheduled appointments in a range with their users in the same query (bulk reschedule)
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user " +
+           "WHERE a.startsAt >= :from AND a.startsAt < :to " +
            "AND a.status = 'SCHEDULED' " +
-           "ORDER BY a.appointmentDateTime ASC")
-    List<Appointment> findScheduledAppointmentsByDate(
-            @Param("startOfDay") LocalDateTime startOfDay,
-            @Param("endOfDay") LocalDateTime endOfDay);
+           "ORDER BY a.startsAt ASC, a.id ASC")
+    List<Appointment> findScheduledWithUserInRange(
+            @Param("from") long from,
+            @Param("to") long to);
+
+    // Every appointment in [from, to) with its user as an id only, so no user is loaded (dashboard)
+    @Query("SELECT new com.app.appointment_booking_system.dto.DashboardAppointment(" +
+           "a.id, a.user.id, a.appointmentDateTime, a.startsAt, a.timeZone, a.notes, a.status, a.version) " +
+           "FROM Appointment a WHERE a.startsAt >= :from AND a.startsAt < :to " +
+           "ORDER BY a.startsAt ASC, a.id ASC")
+    List<DashboardAppointment> findDashboardRowsInRange(
+            @Param("from") long from,
+            @Param("to") long to);
+
+    // Appointments per status in [from, to), as (status, count) pairs
+    @Query("SELECT a.status, count(a) FROM Appointment a " +
+           "WHERE a.startsAt >= :from AND a.startsAt < :to GROUP BY a.status")
+    List<Object[]> countByStatusInRange(
+            @Param("from") long from,
+            @Param("to") long to);
+
+    // Ids of finished appointments that are due for archiving (oldest first)
+    @Query("SELECT a.id FROM Appointment a WHERE a.status IN :statuses " +
+           "AND a.startsAt < :cutoff " +
+           "ORDER BY a.startsAt ASC")
+    List<Long> findArchivableIds(
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("cutoff") long cutoff,
+            Pageable pageable);
+
+    // Rows written before appointments carried an instant (AppointmentZoneBackfill)
+    @Query("SELECT a FROM Appointment a WHERE a.startsAt IS NULL ORDER BY a.id ASC")
+    List<Appointment> findWithoutStartsAt(Pageable pageable);
+
+    // Copy a batch of appointments into the archive table
+    @Modifying
+    @Query(value = "INSERT INTO appointments_archive " +
+                   "(id, user_id, appointment_date_time, starts_at, time_zone, notes, status, created_at, updated_at, archived_at) " +
+                   "SELECT id, user_id, appointment_date_time, starts_at, time_zone, notes, status, created_at, updated_at, :archivedAt " +
+                   "FROM appointments WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Remove a batch of appointments from the hot table
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Conditional status transition in a single statement; returns 0 if the row is missing,
+    // not in one of the expected statuses, or (when given) not at the expected version
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :target, a.updatedAt = :now, a.version = a.version + 1 " +
+           "WHERE a.id = :id AND a.status IN :expected " +
+           "AND (:version IS NULL OR a.version = :version)")
+    int transitionStatus(
+            @Param("id") Long id,
+            @Param("expected") Collection<AppointmentStatus> expected,
+            @Param("target") AppointmentStatus target,
+            @Param("version") Long version,
+            @Param("now") LocalDateTime now);
+
+    // Cursor over every appointment in a range, users fetched in the same query;
+    // must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user " +
+           "WHERE a.startsAt >= :from AND a.startsAt < :to " +
+           "ORDER BY a.startsAt ASC, a.id ASC")
+    Stream<Appointment> streamInRange(
+            @Param("from") long from,
+            @Param("to") long to);
+
+    // Slots of the scheduled appointments among the ids, one entry per appointment
+    @Query("SELECT a.startsAt FROM Appointment a WHERE a.id IN :ids AND a.status = 'SCHEDULED'")
+    List<Long> findScheduledStartsAtByIdIn(@Param("ids") Collection<Long> ids);
 }
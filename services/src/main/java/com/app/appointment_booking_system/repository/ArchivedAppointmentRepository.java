@@ -0,0 +1,33 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.ArchivedAppointment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    // Archived history, newest first
+    Page<ArchivedAppointment> findAllByOrderByAppointmentDateTimeDesc(Pageable pageable);
+
+    // Archived history of one user, newest first
+    Page<ArchivedAppointment> findByUserIdOrderByAppointmentDateTimeDesc(Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // A chunk of one user's archived ids (used for bulk deletion)
+    @Query("SELECT a.id FROM ArchivedAppointment a WHERE a.userId = :userId ORDER BY a.id ASC")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedAppointment a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
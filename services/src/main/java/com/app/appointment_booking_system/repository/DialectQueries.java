@@ -0,0 +1,30 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries whose best form depends on the database. One implementation is active per
+ * persistence profile: {@link PostgresDialectQueries} for "postgres", {@link PortableDialectQueries}
+ * (plain JPQL, works on H2) otherwise.
+ */
+public interface DialectQueries {
+
+    /**
+     * Claims up to {@code limit} archivable appointment ids for the current transaction.
+     * Where supported the rows are locked and rows already locked by another archiver are
+     * skipped, so concurrent instances work on disjoint batches.
+     */
+    List<Long> claimArchivableIds(Collection<AppointmentStatus> statuses, long cutoff, int limit);
+
+    /**
+     * Atomically moves the oldest claimable job (queued, or running with an expired lease)
+     * to RUNNING under the given lease owner. Must run inside a transaction.
+     */
+    Optional<Long> claimNextJob(String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+}
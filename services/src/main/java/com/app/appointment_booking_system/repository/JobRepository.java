@@ -0,0 +1,108 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    Page<Job> findAllByOrderByIdDesc(Pageable pageable);
+
+    Page<Job> findByStatusOrderByIdDesc(JobStatus status, Pageable pageable);
+
+    // Active job with the same deduplication key, if any
+    Optional<Job> findFirstByDedupKeyAndStatusIn(String dedupKey, Collection<JobStatus> statuses);
+
+    // Queued jobs, or running jobs whose worker stopped renewing its lease (oldest first)
+    @Query("SELECT j.id FROM Job j WHERE j.cancelRequested = false AND j.attempts < j.maxAttempts " +
+           "AND (j.status = 'QUEUED' OR (j.status = 'RUNNING' AND j.leaseExpiresAt < :now)) " +
+           "ORDER BY j.id ASC")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional claim; returns 0 if another worker got there first
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'RUNNING', j.leaseOwner = :owner, j.leaseExpiresAt = :leaseUntil, " +
+           "j.attempts = j.attempts + 1, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.cancelRequested = false AND j.attempts < j.maxAttempts " +
+           "AND (j.status = 'QUEUED' OR (j.status = 'RUNNING' AND j.leaseExpiresAt < :now))")
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Heartbeat: extend the lease and publish progress; 0 means the lease was lost
+    @Modifying
+    @Query("UPDATE Job j SET j.leaseExpiresAt = :leaseUntil, j.progressCurrent = :current, " +
+           "j.progressTotal = :total, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.leaseOwner = :owner AND j.status = 'RUNNING'")
+    int renewLease(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("current") long current,
+                   @Param("total") long total,
+                   @Param("leaseUntil") LocalDateTime leaseUntil,
+                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM Job j WHERE j.id IN :ids AND j.cancelRequested = true")
+    List<Long> findCancelRequestedIds(@Param("ids") Collection<Long> ids);
+
+    // Final state, written only by the worker that still holds the lease
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.message = :message, j.progressCurrent = :current, " +
+           "j.progressTotal = :total, j.finishedAt = :now, j.updatedAt = :now, " +
+           "j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id = :id AND j.leaseOwner = :owner AND j.status = 'RUNNING'")
+    int finish(@Param("id") Long id,
+               @Param("owner") String owner,
+               @Param("status") JobStatus status,
+               @Param("message") String message,
+               @Param("current") long current,
+               @Param("total") long total,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.cancelRequested = true, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status IN ('QUEUED', 'RUNNING')")
+    int requestCancel(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Queued jobs are cancelled at once; running ones stop at their next checkpoint
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'CANCELLED', j.finishedAt = :now, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = 'QUEUED'")
+    int cancelQueued(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Jobs whose worker died on the last allowed attempt
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'FAILED', j.message = 'Worker lease expired', " +
+           "j.finishedAt = :now, j.updatedAt = :now, j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.status = 'RUNNING' AND j.leaseExpiresAt < :now " +
+           "AND j.attempts >= j.maxAttempts AND j.cancelRequested = false")
+    int failAbandoned(@Param("now") LocalDateTime now);
+
+    // Jobs cancelled while their worker was gone are not reclaimed, just closed
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'CANCELLED', " +
+           "j.finishedAt = :now, j.updatedAt = :now, j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.status = 'RUNNING' AND j.leaseExpiresAt < :now AND j.cancelRequested = true")
+    int cancelAbandoned(@Param("now") LocalDateTime now);
+
+    // On shutdown: hand jobs whose handlers this worker stopped back to the queue
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'QUEUED', j.attempts = j.attempts - 1, j.updatedAt = :now, " +
+           "j.leaseOwner = NULL, j.leaseExpiresAt = NULL " +
+           "WHERE j.id IN :ids AND j.leaseOwner = :owner AND j.status = 'RUNNING'")
+    int releaseLeases(@Param("ids") Collection<Long> ids,
+                      @Param("owner") String owner,
+                      @Param("now") LocalDateTime now);
+}
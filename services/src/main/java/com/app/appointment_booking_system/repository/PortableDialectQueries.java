@@ -0,0 +1,44 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Fallback for H2 and other databases: no row locking, callers rely on idempotent follow-up statements
+@Repository
+@Profile("!postgres")
+public class PortableDialectQueries implements DialectQueries {
+
+    // Candidates tried per claim; losing a race on all of them just means another poll
+    private static final int CLAIM_CANDIDATES = 8;
+
+    private final AppointmentRepository appointmentRepository;
+    private final JobRepository jobRepository;
+
+    public PortableDialectQueries(AppointmentRepository appointmentRepository, JobRepository jobRepository) {
+        this.appointmentRepository = appointmentRepository;
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public List<Long> claimArchivableIds(Collection<AppointmentStatus> statuses, long cutoff, int limit) {
+        return appointmentRepository.findArchivableIds(statuses, cutoff, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public Optional<Long> claimNextJob(String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        // Select, then claim with a conditional UPDATE; whoever updates the row first wins it
+        for (Long id : jobRepository.findClaimableIds(now, PageRequest.ofSize(CLAIM_CANDIDATES))) {
+            if (jobRepository.claim(id, owner, now, leaseUntil) == 1) {
+                return Optional.of(id);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("postgres")
+public class PostgresDialectQueries implements DialectQueries {
+
+    private final EntityManager entityManager;
+
+    public PostgresDialectQueries(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> claimArchivableIds(Collection<AppointmentStatus> statuses, long cutoff, int limit) {
+        List<?> ids = entityManager.createNativeQuery(
+                        "SELECT id FROM appointments " +
+                        "WHERE status IN (:statuses) AND starts_at < :cutoff " +
+                        "ORDER BY starts_at " +
+                        "LIMIT :limit " +
+                        "FOR UPDATE SKIP LOCKED")
+                .setParameter("statuses", statuses.stream().map(Enum::name).toList())
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    @Override
+    public Optional<Long> claimNextJob(String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        // One round-trip; workers polling at the same time skip each other's candidate rows
+        List<?> claimed = entityManager.createNativeQuery(
+                        "UPDATE jobs SET status = 'RUNNING', lease_owner = :owner, lease_expires_at = :leaseUntil, " +
+                        "attempts = attempts + 1, started_at = COALESCE(started_at, :now), updated_at = :now " +
+                        "WHERE id = (" +
+                        "  SELECT id FROM jobs " +
+                        "  WHERE cancel_requested = false AND attempts < max_attempts " +
+                        "  AND (status = 'QUEUED' OR (status = 'RUNNING' AND lease_expires_at < :now)) " +
+                        "  ORDER BY id LIMIT 1 " +
+                        "  FOR UPDATE SKIP LOCKED" +
+                        ") RETURNING id")
+                .setParameter("owner", owner)
+                .setParameter("leaseUntil", leaseUntil)
+                .setParameter("now", now)
+                .getResultList();
+        return claimed.stream().findFirst().map(id -> ((Number) id).longValue());
+    }
+}
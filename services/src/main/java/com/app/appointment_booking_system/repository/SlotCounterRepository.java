@@ -0,0 +1,38 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.SlotCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SlotCounterRepository extends JpaRepository<SlotCounter, Long> {
+
+    // Creates the counter seeded from the appointments already in the slot; a primary key
+    // violation if another transaction created it first
+    @Modifying
+    @Query("INSERT INTO SlotCounter (startsAt, capacity, booked) " +
+           "SELECT :startsAt, CASE WHEN count(a) > :capacity THEN cast(count(a) as Integer) ELSE :capacity END, " +
+           "cast(count(a) as Integer) " +
+           "FROM Appointment a WHERE a.startsAt = :startsAt AND a.status = 'SCHEDULED'")
+    int insertCounter(@Param("startsAt") long startsAt, @Param("capacity") int capacity);
+
+    // Takes seats only if that leaves room for the seats reserved by others (holds)
+    @Modifying
+    @Query("UPDATE SlotCounter c SET c.booked = c.booked + :seats " +
+           "WHERE c.startsAt = :startsAt AND c.booked + :seats + :reserved <= c.capacity")
+    int claimSeats(@Param("startsAt") long startsAt, @Param("seats") int seats, @Param("reserved") int reserved);
+
+    @Modifying
+    @Query("UPDATE SlotCounter c SET c.booked = c.booked - :seats " +
+           "WHERE c.startsAt = :startsAt AND c.booked >= :seats")
+    int releaseSeats(@Param("startsAt") long startsAt, @Param("seats") int seats);
+
+    // Refused (0 rows) when more seats are already booked than the new capacity
+    @Modifying
+    @Query("UPDATE SlotCounter c SET c.capacity = :capacity " +
+           "WHERE c.startsAt = :startsAt AND c.booked <= :capacity")
+    int updateCapacity(@Param("startsAt") long startsAt, @Param("capacity") int capacity);
+}
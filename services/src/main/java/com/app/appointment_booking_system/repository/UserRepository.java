@@ -1,10 +1,55 @@
 package com.app.appointment_booking_system.repository;
 
 import com.app.appointment_booking_system.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    // Which of these emails are taken, by active or deleted users (bulk import)
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findTakenEmails(@Param("emails") Collection<String> emails);
+
+    // Every email in the table, read with a cursor (EmailBloomFilter); needs a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    // Users that are not being deleted
+    List<User> findByDeletedAtIsNull();
+
+    @Query("SELECT u FROM User u WHERE u.id = :id AND u.deletedAt IS NULL")
+    Optional<User> findActiveById(@Param("id") Long id);
+
+    long countByDeletedAtIsNull();
+
+    // Each user with an appointment starting in [from, to), once (dashboard)
+    @Query("SELECT u FROM User u WHERE u.id IN " +
+           "(SELECT a.user.id FROM Appointment a WHERE a.startsAt >= :from AND a.startsAt < :to) " +
+           "ORDER BY u.id ASC")
+    List<User> findWithAppointmentsInRange(@Param("from") long from, @Param("to") long to);
+
+    // Soft-delete; returns 0 if the user is missing or already being deleted
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.deletedAt = :now, u.version = u.version + 1 " +
+           "WHERE u.id = :id AND u.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Final step of a deletion, once no appointments reference the user any more
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id AND u.deletedAt IS NOT NULL")
+    int deleteMarked(@Param("id") Long id);
 }
@@ -0,0 +1,53 @@
+package com.app.appointment_booking_system.repository;
+
+import com.app.appointment_booking_system.model.WaitlistEntry;
+import com.app.appointment_booking_system.model.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Entries still waiting whose window has not closed yet
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.windowEnd > :now " +
+           "ORDER BY w.id ASC")
+    List<WaitlistEntry> findOpenEntries(@Param("now") LocalDateTime now);
+
+    // Waiting entries whose window overlaps [start, end)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' " +
+           "AND w.windowStart < :end AND w.windowEnd > :start " +
+           "ORDER BY w.id ASC")
+    List<WaitlistEntry> findWaitingOverlapping(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(Long userId);
+
+    // Conditional transition, so two cancellations can never hand one entry two slots
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :target WHERE w.id = :id AND w.status = 'WAITING'")
+    int transitionFromWaiting(@Param("id") Long id, @Param("target") WaitlistStatus target);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.appointmentId = :appointmentId WHERE w.id = :id")
+    int setAppointmentId(@Param("id") Long id, @Param("appointmentId") Long appointmentId);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED' WHERE w.status = 'WAITING' AND w.windowEnd <= :now")
+    int expireClosedWindows(@Param("now") LocalDateTime now);
+
+    // Stop a user's open waitlist entries from being fulfilled (user deletion)
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'CANCELLED' WHERE w.user.id = :userId AND w.status = 'WAITING'")
+    int cancelWaitingForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
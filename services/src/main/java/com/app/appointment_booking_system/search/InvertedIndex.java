@@ -0,0 +1,175 @@
+package com.app.appointment_booking_system.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index from lower-cased tokens to document ids.
+ *
+ * Terms are kept in a sorted map so a query token matches both exact terms and every
+ * term it is a prefix of (type-ahead). A document must match every query token; it
+ * scores {@link #EXACT_SCORE} per exact match and {@link #PREFIX_SCORE} per prefix-only
+ * match, and results are ordered by score then id. Updates replace all terms of a
+ * document, so callers simply re-index after each write.
+ */
+public class InvertedIndex {
+
+    static final int EXACT_SCORE = 3;
+    static final int PREFIX_SCORE = 1;
+
+    private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(long id, Collection<String> values) {
+        Set<String> terms = new HashSet<>();
+        for (String value : values) {
+            terms.addAll(tokenize(value));
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (terms.isEmpty()) {
+                return;
+            }
+            documentTerms.put(id, terms);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // AND semantics: keep only documents matching every token
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : tokenScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> a.getValue().equals(b.getValue())
+                ? Long.compare(a.getKey(), b.getKey())
+                : Integer.compare(b.getValue(), a.getValue()));
+
+        int from = Math.min(Math.max(offset, 0), ranked.size());
+        int to = Math.min(from + Math.max(limit, 0), ranked.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (Map.Entry<Long, Integer> entry : ranked.subList(from, to)) {
+            ids.add(entry.getKey());
+        }
+        return new Hits(ids, ranked.size());
+    }
+
+    private Map<Long, Integer> scoreToken(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        NavigableMap<String, Set<Long>> matches = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Set<Long>> entry : matches.entrySet()) {
+            int score = entry.getKey().equals(token) ? EXACT_SCORE : PREFIX_SCORE;
+            for (Long id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void removeLocked(long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits on anything that is not a letter or digit. Values containing '@' (emails)
+     * are also indexed whole, and values made of digits and phone punctuation are also
+     * indexed as a single digit string so "555 12" and "55512" both find "555-1234".
+     */
+    static Set<String> tokenize(String value) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (value == null || value.isBlank()) {
+            return tokens;
+        }
+        String lower = value.toLowerCase(Locale.ROOT).trim();
+        for (String part : lower.split("[^\\p{L}\\p{N}]+")) {
+            if (!part.isEmpty()) {
+                tokens.add(part);
+            }
+        }
+        if (lower.indexOf('@') > 0 && lower.indexOf(' ') < 0) {
+            tokens.add(lower);
+        }
+        if (lower.matches("[+()\\d\\s.-]+")) {
+            String digits = lower.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.add(digits);
+            }
+        }
+        return tokens;
+    }
+
+    public record Hits(List<Long> ids, int total) {}
+}
@@ -0,0 +1,84 @@
+package com.app.appointment_booking_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit driven by request latency.
+ *
+ * While the smoothed latency stays under {@code load-shedding.target-latency-ms} the limit
+ * grows by roughly one per round trip; once it goes above, the limit is cut by
+ * {@code load-shedding.backoff-ratio} (at most once per cooldown). Requests over the limit
+ * are rejected immediately instead of queueing behind the ones already in flight.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double EWMA_WEIGHT = 0.1;
+    private static final long DECREASE_COOLDOWN_NANOS = 100_000_000L;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0));
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double targetLatencyMs;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${load-shedding.initial-limit:50}") int initialLimit,
+            @Value("${load-shedding.min-limit:4}") int minLimit,
+            @Value("${load-shedding.max-limit:400}") int maxLimit,
+            @Value("${load-shedding.target-latency-ms:250}") double targetLatencyMs,
+            @Value("${load-shedding.backoff-ratio:0.9}") double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyMs = targetLatencyMs;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        double sampleMs = latencyNanos / 1_000_000d;
+        double smoothed = Double.longBitsToDouble(latencyBits.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            return Double.doubleToLongBits(current == 0 ? sampleMs : current + EWMA_WEIGHT * (sampleMs - current));
+        }));
+
+        if (smoothed > targetLatencyMs) {
+            long now = System.nanoTime();
+            long last = lastDecreaseNanos.get();
+            if (now - last > DECREASE_COOLDOWN_NANOS && lastDecreaseNanos.compareAndSet(last, now)) {
+                limitBits.updateAndGet(bits -> Double.doubleToLongBits(
+                        Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio)));
+            }
+        } else {
+            limitBits.updateAndGet(bits -> {
+                double limit = Double.longBitsToDouble(bits);
+                return Double.doubleToLongBits(Math.min(maxLimit, limit + 1 / limit));
+            });
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
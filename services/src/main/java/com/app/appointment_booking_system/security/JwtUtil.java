@@ -1,6 +1,8 @@
 package com.app.appointment_booking_system.security;
 
+import com.app.appointment_booking_system.jfr.JwtValidationEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
@@ -36,10 +38,16 @@ public class JwtUtil {
 
     // ✅ Validate token
     public boolean validateToken(String token) {
+        JwtValidationEvent event = JwtValidationEvent.start();
         try {
             getClaims(token);
+            event.finish(JwtValidationEvent.VALID);
             return true;
+        } catch (ExpiredJwtException e) {
+            event.finish(JwtValidationEvent.EXPIRED);
+            return false;
         } catch (Exception e) {
+            event.finish(JwtValidationEvent.INVALID);
             return false;
         }
     }
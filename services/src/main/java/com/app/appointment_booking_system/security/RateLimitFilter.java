@@ -0,0 +1,77 @@
+package com.app.appointment_booking_system.security;
+
+import com.app.appointment_booking_system.security.RateLimiterRegistry.Kind;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiting and load shedding for /api/**. Runs right after the JWT filter so the
+ * principal is known: over-quota clients get 429 with Retry-After, and when the adaptive
+ * concurrency limit is reached new requests get 503 before they touch the database.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public RateLimitFilter(RateLimiterRegistry rateLimiterRegistry,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = consumeToken(request);
+        if (waitNanos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            response.sendError(429, "Too many requests");
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is overloaded");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private long consumeToken(HttpServletRequest request) {
+        if (LOGIN_PATH.equals(request.getRequestURI())) {
+            return rateLimiterRegistry.tryConsume(Kind.LOGIN, request.getRemoteAddr());
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return rateLimiterRegistry.tryConsume(Kind.PRINCIPAL, authentication.getName());
+        }
+        return rateLimiterRegistry.tryConsume(Kind.ANONYMOUS, request.getRemoteAddr());
+    }
+}
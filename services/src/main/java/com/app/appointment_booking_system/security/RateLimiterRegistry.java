@@ -0,0 +1,68 @@
+package com.app.appointment_booking_system.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets keyed by client. Login attempts are limited per IP (each one costs a
+ * BCrypt hash); other API calls per authenticated principal, or per IP when anonymous.
+ * Buckets that have not been touched for {@code rate-limit.idle-eviction-minutes} are
+ * dropped so the map only holds active clients.
+ */
+@Component
+public class RateLimiterRegistry {
+
+    public enum Kind { LOGIN, PRINCIPAL, ANONYMOUS }
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${rate-limit.login.capacity:10}")
+    private double loginCapacity;
+
+    @Value("${rate-limit.login.per-second:0.2}")
+    private double loginPerSecond;
+
+    @Value("${rate-limit.principal.capacity:200}")
+    private double principalCapacity;
+
+    @Value("${rate-limit.principal.per-second:100}")
+    private double principalPerSecond;
+
+    @Value("${rate-limit.anonymous.capacity:40}")
+    private double anonymousCapacity;
+
+    @Value("${rate-limit.anonymous.per-second:20}")
+    private double anonymousPerSecond;
+
+    @Value("${rate-limit.idle-eviction-minutes:10}")
+    private long idleEvictionMinutes;
+
+    /** Returns 0 if the request may proceed, otherwise nanoseconds until it could. */
+    public long tryConsume(Kind kind, String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(kind.name() + ':' + client, key -> newBucket(kind, now));
+        return bucket.tryConsume(now);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleEvictionMinutes);
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(cutoff));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket newBucket(Kind kind, long now) {
+        return switch (kind) {
+            case LOGIN -> new TokenBucket(loginCapacity, loginPerSecond, now);
+            case PRINCIPAL -> new TokenBucket(principalCapacity, principalPerSecond, now);
+            case ANONYMOUS -> new TokenBucket(anonymousCapacity, anonymousPerSecond, now);
+        };
+    }
+}
@@ -2,6 +2,10 @@ package com.app.appointment_booking_system.security;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
+import com.app.appointment_booking_system.web.IdempotencyFilter;
+import com.app.appointment_booking_system.web.IdempotencyKeyStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +17,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -24,9 +29,18 @@ public class SecurityConfig {
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          IdempotencyKeyStore idempotencyKeyStore,
+                          RateLimiterRegistry rateLimiterRegistry,
+                          AdaptiveConcurrencyLimiter concurrencyLimiter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @Bean
@@ -51,6 +65,7 @@ public class SecurityConfig {
         ));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag", "Retry-After", IdempotencyFilter.REPLAYED_HEADER));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -69,6 +84,9 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
 
+                // ✅ ASYNC DISPATCH - the original request was already authorized (streaming exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // ✅ PUBLIC ENDPOINTS
                 .requestMatchers(
                         "/api/auth/**",
@@ -83,7 +101,11 @@ public class SecurityConfig {
 
                 .anyRequest().permitAll()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // 🚦 Token buckets + adaptive concurrency limit, once the principal is known
+            .addFilterAfter(new RateLimitFilter(rateLimiterRegistry, concurrencyLimiter), JwtAuthenticationFilter.class)
+            // 🔁 Idempotency-Key replay, only for requests that passed authorization
+            .addFilterAfter(new IdempotencyFilter(idempotencyKeyStore), AuthorizationFilter.class);
 
         // H2 console support
         http.headers(headers -> headers.frameOptions(frame -> frame.disable()));
@@ -0,0 +1,46 @@
+package com.app.appointment_booking_system.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. The whole state is swapped with a CAS so concurrent
+ * requests for the same key never block each other.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(double capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token. Returns 0 on success, otherwise the number of nanoseconds until
+     * a token will be available.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity,
+                    current.tokens + Math.max(0, nowNanos - current.updatedNanos) * tokensPerNano);
+            if (tokens < 1) {
+                // Record the refill time so the bucket is not seen as idle while it is being hammered
+                if (state.compareAndSet(current, new State(tokens, nowNanos))) {
+                    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+            } else if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdleSince(long cutoffNanos) {
+        return state.get().updatedNanos - cutoffNanos < 0;
+    }
+
+    private record State(double tokens, long updatedNanos) {}
+}
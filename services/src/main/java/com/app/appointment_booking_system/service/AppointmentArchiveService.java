@@ -0,0 +1,15 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.ArchivedAppointment;
+
+import java.time.Instant;
+
+public interface AppointmentArchiveService {
+
+    // Move COMPLETED/CANCELLED appointments older than the cutoff into the archive
+    int archiveAppointmentsBefore(Instant cutoff);
+
+    // READ archived history (newest first), optionally for a single user
+    PageResponse<ArchivedAppointment> getArchivedAppointments(Long userId, int page, int size);
+}
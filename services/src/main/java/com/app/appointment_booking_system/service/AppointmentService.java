@@ -1,13 +1,21 @@
 package com.app.appointment_booking_system.service;
 
+import com.app.appointment_booking_system.coalesce.SingleFlight;
+import com.app.appointment_booking_system.dto.BulkRescheduleRequest;
 import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.dto.ReschedulePlan;
 import com.app.appointment_booking_system.dto.UpdateAppointmentRequest;
 import com.app.appointment_booking_system.model.Appointment;
 import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.snapshot.DaySnapshot;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AppointmentService {
@@ -24,19 +32,41 @@ public interface AppointmentService {
     
     List<Appointment> getAppointmentsByStatus(AppointmentStatus status);
     
-    List<Appointment> getAppointmentsByDate(LocalDate date);
+    // Scheduled appointments on a calendar day as seen in the given zone
+    List<Appointment> getAppointmentsByDate(LocalDate date, ZoneId zone);
+
+    // The same day, already encoded as JSON (and gzip) and kept until it changes
+    DaySnapshot getDaySnapshot(LocalDate date, ZoneId zone);
     
-    List<Appointment> getAppointmentsInRange(LocalDateTime startDate, LocalDateTime endDate);
+    List<Appointment> getAppointmentsInRange(Instant start, Instant end);
     
+    // SEARCH appointment notes (ranked, paginated)
+    PageResponse<Appointment> searchAppointments(String query, int page, int size);
+
     // Check availability for a specific time slot
-    boolean isTimeSlotAvailable(LocalDateTime dateTime);
+    boolean isTimeSlotAvailable(Instant start);
+
+    // Counters of the single-flight layer in front of the range and availability reads
+    Map<String, SingleFlight.Stats> getReadCoalescingStats();
+
+    DaySnapshotCache.Stats getDaySnapshotStats();
 
     // UPDATE
     Appointment updateAppointment(Long id, UpdateAppointmentRequest request);
 
+    // UPDATE only if the appointment is still at the expected version (null = unconditional)
+    Appointment updateAppointment(Long id, UpdateAppointmentRequest request, Long expectedVersion);
+
+    // BULK RESCHEDULE every scheduled appointment in a window (all or nothing)
+    ReschedulePlan rescheduleWindow(BulkRescheduleRequest request);
+
     // CANCEL
     Appointment cancelAppointment(Long id);
 
+    Appointment cancelAppointment(Long id, Long expectedVersion);
+
     // COMPLETE
     Appointment completeAppointment(Long id);
+
+    Appointment completeAppointment(Long id, Long expectedVersion);
 }
@@ -0,0 +1,21 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface AppointmentTransferService {
+
+    // EXPORT (streamed straight from a database cursor)
+    void exportCsv(Instant start, Instant end, OutputStream out) throws IOException;
+
+    void exportIcs(Instant start, Instant end, OutputStream out) throws IOException;
+
+    // IMPORT (parsed incrementally, inserted in batches, errors reported per row)
+    ImportReport importCsv(InputStream in) throws IOException;
+
+    ImportReport importIcs(InputStream in) throws IOException;
+}
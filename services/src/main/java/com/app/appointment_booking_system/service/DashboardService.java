@@ -0,0 +1,11 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.DashboardResponse;
+
+import java.time.Instant;
+
+public interface DashboardService {
+
+    /** Appointments starting in [from, to), the users they reference and summary counts. */
+    DashboardResponse getDashboard(Instant from, Instant to);
+}
@@ -0,0 +1,25 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+
+import java.util.Optional;
+
+public interface JobService {
+
+    /**
+     * Queues a job for the handler registered under {@code type}; the payload is stored as JSON.
+     * If {@code dedupKey} is given and a queued or running job has the same key, that job is
+     * returned instead of queueing a second one. Joins the caller's transaction, if any.
+     */
+    Job submit(String type, String dedupKey, Object payload);
+
+    // READ
+    Optional<Job> getJob(Long id);
+
+    PageResponse<Job> getJobs(JobStatus status, int page, int size);
+
+    // CANCEL (queued jobs stop at once, running ones at their next checkpoint)
+    Job cancelJob(Long id);
+}
@@ -0,0 +1,32 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+
+import java.util.Collection;
+
+public interface SearchService {
+
+    // SEARCH (ranked, paginated)
+    PageResponse<User> searchUsers(String query, int page, int size);
+
+    PageResponse<Appointment> searchAppointments(String query, int page, int size);
+
+    // INDEX MAINTENANCE (applied after the surrounding transaction commits)
+    void indexUser(User user);
+
+    void removeUser(Long userId);
+
+    void indexAppointment(Appointment appointment);
+
+    void removeAppointments(Collection<Long> appointmentIds);
+
+    // Reload entries another instance changed; rows that are gone (or deleted users) are dropped
+    void refreshUsers(Collection<Long> userIds);
+
+    void refreshAppointments(Collection<Long> appointmentIds);
+
+    // Rebuild both indexes from the database
+    void rebuild();
+}
@@ -0,0 +1,37 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.SetSlotCapacityRequest;
+import com.app.appointment_booking_system.dto.SlotStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Seat accounting per slot (slot_counters). Every write that makes an appointment
+ * SCHEDULED at an instant claims a seat there, and every write that stops it from
+ * being SCHEDULED there releases one, in the same transaction.
+ */
+public interface SlotCapacityService {
+
+    // READ
+    SlotStatus getSlot(Instant start);
+
+    // CAPACITY (409 if more seats are booked than the new capacity)
+    SlotStatus setCapacity(SetSlotCapacityRequest request);
+
+    /** Capacity minus SCHEDULED appointments; holds are not subtracted. */
+    int unbookedSeats(long startsAt);
+
+    /** Capacity per instant; slots without a counter have the default capacity. */
+    Map<Long, Integer> capacitiesOf(Collection<Long> startsAt);
+
+    /**
+     * Takes seats with one conditional UPDATE in the caller's transaction. Returns false,
+     * changing nothing, when that would exceed capacity less the seats held by holds other
+     * than {@code holdId} (may be null).
+     */
+    boolean tryClaim(long startsAt, int seats, String holdId);
+
+    void release(long startsAt, int seats);
+}
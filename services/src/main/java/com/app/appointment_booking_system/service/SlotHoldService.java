@@ -0,0 +1,20 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.ConfirmHoldRequest;
+import com.app.appointment_booking_system.dto.HoldSlotRequest;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.model.Appointment;
+
+public interface SlotHoldService {
+
+    // HOLD
+    SlotHold holdSlot(HoldSlotRequest request);
+
+    SlotHold getHold(String id);
+
+    // CONFIRM (books the held slot and consumes the hold)
+    Appointment confirmHold(String id, ConfirmHoldRequest request);
+
+    // RELEASE
+    void releaseHold(String id);
+}
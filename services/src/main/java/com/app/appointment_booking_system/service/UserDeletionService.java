@@ -0,0 +1,15 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.model.Job;
+
+import java.util.Optional;
+
+public interface UserDeletionService {
+
+    /**
+     * Deletes a user with all appointments, archived appointments and waitlist entries.
+     * Small histories are removed before returning (empty result); larger ones are purged in
+     * chunks by a background job, which is returned so the caller can follow its progress.
+     */
+    Optional<Job> deleteUser(Long id);
+}
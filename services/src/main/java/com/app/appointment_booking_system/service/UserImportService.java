@@ -0,0 +1,12 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    // IMPORT (parsed incrementally, checked against the email filter, inserted in batches)
+    ImportReport importCsv(InputStream in) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.app.appointment_booking_system.service;
 
 import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.dto.PageResponse;
 import com.app.appointment_booking_system.model.User;
 
 import java.util.List;
@@ -16,9 +17,12 @@ public interface UserService {
 
     Optional<User> getUserById(Long id);
 
+    // SEARCH by name, email or phone (ranked, paginated)
+    PageResponse<User> searchUsers(String query, int page, int size);
+
     // UPDATE
     User updateUser(Long id, User user);
 
-    // DELETE
-    void deleteUser(Long id);
+    // UPDATE only if the user is still at the expected version (null = unconditional)
+    User updateUser(Long id, User user, Long expectedVersion);
 }
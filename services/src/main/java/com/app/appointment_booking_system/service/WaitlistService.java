@@ -0,0 +1,37 @@
+package com.app.appointment_booking_system.service;
+
+import com.app.appointment_booking_system.dto.JoinWaitlistRequest;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.WaitlistEntry;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistService {
+
+    // JOIN
+    WaitlistEntry joinWaitlist(JoinWaitlistRequest request);
+
+    // READ
+    List<WaitlistEntry> getWaitingEntriesForDate(LocalDate date, ZoneId zone);
+
+    List<WaitlistEntry> getEntriesByUserId(Long userId);
+
+    // LEAVE
+    WaitlistEntry leaveWaitlist(Long id);
+
+    /**
+     * Books the freed slot for the first matching waiter. Must be called inside the
+     * transaction that freed the slot so both commit or roll back together.
+     * The slot is given as UTC epoch milliseconds (Appointment.startsAt).
+     */
+    Optional<Appointment> fillFreedSlot(long slot);
+
+    // PEERS: entries another instance changed, re-read into this instance's index
+    void refreshEntries(Collection<Long> entryIds);
+
+    void rebuildIndex();
+}
@@ -0,0 +1,105 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.ArchivedAppointment;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.ArchivedAppointmentRepository;
+import com.app.appointment_booking_system.repository.DialectQueries;
+import com.app.appointment_booking_system.service.AppointmentArchiveService;
+import com.app.appointment_booking_system.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class AppointmentArchiveServiceImpl implements AppointmentArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiveServiceImpl.class);
+
+    private static final Set<AppointmentStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final SearchService searchService;
+    private final DialectQueries dialectQueries;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${appointments.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${appointments.archive.batch-size:500}")
+    private int batchSize;
+
+    public AppointmentArchiveServiceImpl(AppointmentRepository appointmentRepository,
+                                         ArchivedAppointmentRepository archivedAppointmentRepository,
+                                         SearchService searchService,
+                                         DialectQueries dialectQueries,
+                                         PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.searchService = searchService;
+        this.dialectQueries = dialectQueries;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Nightly job: keep only the live working set in the appointments table
+    @Scheduled(cron = "${appointments.archive.cron:0 30 2 * * *}")
+    public void archiveExpiredAppointments() {
+        Instant cutoff = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        int archived = archiveAppointmentsBefore(cutoff);
+        if (archived > 0) {
+            logger.info("📦 Archived {} appointments older than {}", archived, cutoff);
+        }
+    }
+
+    @Override
+    public int archiveAppointmentsBefore(Instant cutoff) {
+        int total = 0;
+        int moved;
+        // Each batch commits on its own so the hot table is never locked for the whole run
+        do {
+            Integer result = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            moved = result == null ? 0 : result;
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Long> ids = dialectQueries.claimArchivableIds(ARCHIVABLE_STATUSES, cutoff.toEpochMilli(), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        appointmentRepository.copyToArchive(ids, LocalDateTime.now());
+        appointmentRepository.deleteByIdIn(ids);
+        searchService.removeAppointments(ids);
+        return ids.size();
+    }
+
+    @Override
+    public PageResponse<ArchivedAppointment> getArchivedAppointments(Long userId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        if (userId != null) {
+            return PageResponse.of(archivedAppointmentRepository
+                    .findByUserIdOrderByAppointmentDateTimeDesc(userId, pageRequest));
+        }
+        return PageResponse.of(archivedAppointmentRepository
+                .findAllByOrderByAppointmentDateTimeDesc(pageRequest));
+    }
+}
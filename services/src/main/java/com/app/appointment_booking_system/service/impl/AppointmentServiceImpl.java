@@ -1,58 +1,159 @@
 package com.app.appointment_booking_system.service.impl;
 
+import com.app.appointment_booking_system.audit.AuditAction;
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.coalesce.SingleFlight;
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.dto.BulkRescheduleRequest;
 import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.dto.ReschedulePlan;
 import com.app.appointment_booking_system.dto.UpdateAppointmentRequest;
+import com.app.appointment_booking_system.jfr.AvailabilityCheckEvent;
+import com.app.appointment_booking_system.jfr.BookingAttemptEvent;
+import com.app.appointment_booking_system.jfr.ConflictDetectedEvent;
 import com.app.appointment_booking_system.model.Appointment;
 import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
 import com.app.appointment_booking_system.model.User;
 import com.app.appointment_booking_system.repository.AppointmentRepository;
 import com.app.appointment_booking_system.repository.UserRepository;
 import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import com.app.appointment_booking_system.snapshot.DaySnapshot;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    // Reads of a row that keeps changing before a status transition can be written
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final WaitlistService waitlistService;
+    private final TimeZones timeZones;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final SlotHoldRegistry slotHolds;
+    private final SlotCapacityService slotCapacity;
+    private final AuditJournal auditJournal;
+    private final DaySnapshotCache daySnapshots;
+
+    @Value("${appointments.reschedule.max-appointments:2000}")
+    private int maxRescheduleAppointments;
 
     public AppointmentServiceImpl(AppointmentRepository appointmentRepository,
-                                  UserRepository userRepository) {
+                                  UserRepository userRepository,
+                                  SearchService searchService,
+                                  WaitlistService waitlistService,
+                                  TimeZones timeZones,
+                                  AppointmentReadCoalescer readCoalescer,
+                                  SlotHoldRegistry slotHolds,
+                                  SlotCapacityService slotCapacity,
+                                  AuditJournal auditJournal,
+                                  DaySnapshotCache daySnapshots) {
         this.appointmentRepository = appointmentRepository;
         this.userRepository = userRepository;
+        this.searchService = searchService;
+        this.waitlistService = waitlistService;
+        this.timeZones = timeZones;
+        this.readCoalescer = readCoalescer;
+        this.slotHolds = slotHolds;
+        this.slotCapacity = slotCapacity;
+        this.auditJournal = auditJournal;
+        this.daySnapshots = daySnapshots;
     }
 
     @Override
     @Transactional
     public Appointment createAppointment(CreateAppointmentRequest request) {
+        BookingAttemptEvent event = BookingAttemptEvent.start(request.getUserId(), request.getHoldId() != null);
+        try {
+            Appointment saved = book(request, event);
+            event.finish(HttpStatus.CREATED.name());
+            return saved;
+        } catch (RuntimeException e) {
+            event.finish(e);
+            throw e;
+        }
+    }
+
+    private Appointment book(CreateAppointmentRequest request, BookingAttemptEvent event) {
         // Validate user exists
-        User user = userRepository.findById(request.getUserId())
+        User user = userRepository.findActiveById(request.getUserId())
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "User not found"));
 
-        // Check for double-booking (prevent overlapping appointments)
-        if (!isTimeSlotAvailable(request.getAppointmentDateTime())) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT, 
-                    "Time slot is already booked. Please select another time.");
-        }
+        // The wall-clock time is meant in the request's zone, else the user's
+        ZoneId zone = request.getTimeZone() != null
+                ? timeZones.resolve(request.getTimeZone())
+                : timeZones.forUser(user);
 
         // Create appointment
         Appointment appointment = new Appointment();
         appointment.setUser(user);
-        appointment.setAppointmentDateTime(request.getAppointmentDateTime());
+        appointment.setSchedule(request.getAppointmentDateTime(), zone);
         appointment.setNotes(request.getNotes());
+        event.setSlot(appointment.getStartsAt());
+
+        // A hold only books the slot and user it was taken for
+        if (request.getHoldId() != null) {
+            SlotHold hold = slotHolds.find(request.getHoldId())
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.GONE, "Hold has expired or was released"));
+            if (hold.startsAt() != appointment.getStartsAt() || !hold.userId().equals(user.getId())) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Hold is for a different slot or user");
+            }
+        }
+
+        // Take a seat: one conditional UPDATE on the slot counter, refused when the slot is full
+        if (!slotCapacity.tryClaim(appointment.getStartsAt(), 1, request.getHoldId())) {
+            throw slotUnavailable("create", appointment.getStartsAt(), request.getHoldId());
+        }
+
         appointment.setStatus(AppointmentStatus.SCHEDULED);
 
-        return appointmentRepository.save(appointment);
+        try {
+            Appointment saved = appointmentRepository.saveAndFlush(appointment);
+            searchService.indexAppointment(saved);
+            readCoalescer.invalidateAfterCommit(saved.getStartsAt());
+            auditJournal.recordAfterCommit(AuditAction.CREATED, saved, null);
+            if (request.getHoldId() != null) {
+                slotHolds.releaseAfterCommit(request.getHoldId());
+            }
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Time slot is already booked. Please select another time.");
+        }
     }
 
     @Override
@@ -76,51 +177,91 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
-    public List<Appointment> getAppointmentsByDate(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-        return appointmentRepository.findScheduledAppointmentsByDate(startOfDay, endOfDay);
+    public List<Appointment> getAppointmentsByDate(LocalDate date, ZoneId zone) {
+        // The day as the caller's zone sees it (23 or 25 hours on DST changes)
+        long startOfDay = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long endOfDay = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return readCoalescer.range(startOfDay, endOfDay,
+                () -> appointmentRepository.findScheduledAppointmentsInRange(startOfDay, endOfDay));
+    }
+
+    @Override
+    public DaySnapshot getDaySnapshot(LocalDate date, ZoneId zone) {
+        long startOfDay = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long endOfDay = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return daySnapshots.get(startOfDay, endOfDay, () -> getAppointmentsByDate(date, zone));
+    }
+
+    @Override
+    public List<Appointment> getAppointmentsInRange(Instant start, Instant end) {
+        long from = start.toEpochMilli();
+        long to = end.toEpochMilli();
+        return readCoalescer.range(from, to, () -> appointmentRepository.findScheduledAppointmentsInRange(from, to));
+    }
+
+    @Override
+    public PageResponse<Appointment> searchAppointments(String query, int page, int size) {
+        return searchService.searchAppointments(query, page, size);
     }
 
     @Override
-    public List<Appointment> getAppointmentsInRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return appointmentRepository.findScheduledAppointmentsInRange(startDate, endDate);
+    public boolean isTimeSlotAvailable(Instant start) {
+        long startsAt = start.toEpochMilli();
+        AvailabilityCheckEvent event = AvailabilityCheckEvent.start(startsAt);
+        try {
+            // Holds are subtracted outside the coalesced read; they are in memory and change often
+            boolean available = readCoalescer.unbookedSeats(startsAt, () -> slotCapacity.unbookedSeats(startsAt))
+                    > slotHolds.heldSeats(startsAt, null);
+            event.finish(available ? AvailabilityCheckEvent.AVAILABLE : AvailabilityCheckEvent.UNAVAILABLE);
+            return available;
+        } catch (RuntimeException e) {
+            event.finish(e);
+            throw e;
+        }
     }
 
     @Override
-    public boolean isTimeSlotAvailable(LocalDateTime dateTime) {
-        return appointmentRepository.findScheduledAppointmentByDateTime(dateTime).isEmpty();
+    public Map<String, SingleFlight.Stats> getReadCoalescingStats() {
+        return readCoalescer.stats();
+    }
+
+    @Override
+    public DaySnapshotCache.Stats getDaySnapshotStats() {
+        return daySnapshots.stats();
     }
 
     @Override
     @Transactional
     public Appointment updateAppointment(Long id, UpdateAppointmentRequest request) {
+        return updateAppointment(id, request, null);
+    }
+
+    @Override
+    @Transactional
+    public Appointment updateAppointment(Long id, UpdateAppointmentRequest request, Long expectedVersion) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Appointment not found"));
 
+        if (expectedVersion != null && !expectedVersion.equals(appointment.getVersion())) {
+            throw preconditionFailed();
+        }
+        Long previousStartsAt = appointment.getStartsAt();
+        boolean wasScheduled = appointment.getStatus() == AppointmentStatus.SCHEDULED;
+
         // Update user if provided
         if (request.getUserId() != null) {
-            User user = userRepository.findById(request.getUserId())
+            User user = userRepository.findActiveById(request.getUserId())
                     .orElseThrow(() -> new ResponseStatusException(
                             HttpStatus.NOT_FOUND, "User not found"));
             appointment.setUser(user);
         }
 
-        // Check for double-booking if date/time is being changed
         if (request.getAppointmentDateTime() != null) {
-            LocalDateTime newDateTime = request.getAppointmentDateTime();
-            // Only check if it's different from current time and not the same appointment
-            if (!newDateTime.equals(appointment.getAppointmentDateTime())) {
-                Optional<Appointment> existing = appointmentRepository
-                        .findScheduledAppointmentByDateTime(newDateTime);
-                if (existing.isPresent() && !existing.get().getId().equals(id)) {
-                    throw new ResponseStatusException(
-                            HttpStatus.CONFLICT,
-                            "Time slot is already booked. Please select another time.");
-                }
-            }
-            appointment.setAppointmentDateTime(newDateTime);
+            ZoneId zone = request.getTimeZone() != null
+                    ? timeZones.resolve(request.getTimeZone())
+                    : timeZones.forAppointment(appointment);
+            appointment.setSchedule(request.getAppointmentDateTime(), zone);
         }
 
         // Update notes if provided
@@ -133,43 +274,269 @@ public class AppointmentServiceImpl implements AppointmentService {
             appointment.setStatus(request.getStatus());
         }
 
-        return appointmentRepository.save(appointment);
+        // Move the seat when the appointment leaves or enters a slot as SCHEDULED
+        boolean isScheduled = appointment.getStatus() == AppointmentStatus.SCHEDULED;
+        boolean moved = !appointment.getStartsAt().equals(previousStartsAt);
+        if (wasScheduled && (moved || !isScheduled)) {
+            slotCapacity.release(previousStartsAt, 1);
+        }
+        if (isScheduled && (moved || !wasScheduled)
+                && !slotCapacity.tryClaim(appointment.getStartsAt(), 1, null)) {
+            throw slotUnavailable("update", appointment.getStartsAt(), null);
+        }
+
+        try {
+            // Flush here so a concurrent edit surfaces as a 409 instead of at commit
+            Appointment saved = appointmentRepository.saveAndFlush(appointment);
+            searchService.indexAppointment(saved);
+            readCoalescer.invalidateAfterCommit(Arrays.asList(previousStartsAt, saved.getStartsAt()));
+            auditJournal.recordAfterCommit(AuditAction.UPDATED, saved, previousStartsAt);
+            return saved;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Appointment was modified by another request");
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Time slot is already booked. Please select another time.");
+        }
     }
 
     @Override
     @Transactional
-    public Appointment cancelAppointment(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Appointment not found"));
+    public ReschedulePlan rescheduleWindow(BulkRescheduleRequest request) {
+        if (!request.getWindowEnd().isAfter(request.getWindowStart())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Window end must be after window start");
+        }
+        if ((request.getOffsetMinutes() == null) == (request.getTargetDate() == null)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Give exactly one of offsetMinutes or targetDate");
+        }
+        if (request.getOffsetMinutes() != null && request.getOffsetMinutes() == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offsetMinutes must not be zero");
+        }
+        // Window and target day are wall-clock values in the request's zone
+        ZoneId zone = timeZones.resolve(request.getTimeZone());
 
-        if (appointment.getStatus() == AppointmentStatus.CANCELLED) {
+        // One range load for the appointments being moved...
+        List<Appointment> moving = appointmentRepository.findScheduledWithUserInRange(
+                TimeZones.epochMillis(request.getWindowStart(), zone),
+                TimeZones.epochMillis(request.getWindowEnd(), zone));
+        if (moving.size() > maxRescheduleAppointments) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Window holds " + moving.size() + " appointments; at most "
+                            + maxRescheduleAppointments + " can be moved at once");
+        }
+        if (moving.isEmpty()) {
+            return new ReschedulePlan(request.isDryRun(), false, List.of());
+        }
+
+        Map<Long, Long> targets = new LinkedHashMap<>();
+        for (Appointment appointment : moving) {
+            targets.put(appointment.getId(), targetOf(appointment.getStartsAt(), request, zone));
+        }
+
+        // ...and one for whatever is booked where they land. Rows that are moving themselves
+        // vacate their slot, so a plain shift never conflicts with its own window.
+        Map<Long, Long> firstStayingBySlot = new HashMap<>();
+        Map<Long, Integer> stayingBySlot = new HashMap<>();
+        long firstTarget = Collections.min(targets.values());
+        long lastTarget = Collections.max(targets.values());
+        for (Appointment booked : appointmentRepository.findScheduledWithUserInRange(firstTarget, lastTarget + 1)) {
+            if (!targets.containsKey(booked.getId())) {
+                firstStayingBySlot.putIfAbsent(booked.getStartsAt(), booked.getId());
+                stayingBySlot.merge(booked.getStartsAt(), 1, Integer::sum);
+            }
+        }
+        Map<Long, Integer> capacities = slotCapacity.capacitiesOf(targets.values());
+
+        long now = System.currentTimeMillis();
+        Map<Long, Long> firstClaimBySlot = new HashMap<>();
+        Map<Long, Integer> claimedBySlot = new HashMap<>();
+        List<ReschedulePlan.Move> moves = new ArrayList<>(moving.size());
+        boolean conflictFree = true;
+        for (Appointment appointment : moving) {
+            long target = targets.get(appointment.getId());
+            int capacity = capacities.get(target);
+            int staying = stayingBySlot.getOrDefault(target, 0);
+            int claimed = claimedBySlot.getOrDefault(target, 0);
+            String conflict = null;
+            if (target <= now) {
+                conflict = "Target time is in the past";
+            } else if (staying >= capacity) {
+                conflict = capacity == 1
+                        ? "Slot is already booked by appointment " + firstStayingBySlot.get(target)
+                        : "Slot is fully booked (" + capacity + " seats)";
+                ConflictDetectedEvent.emit("reschedule", target, ConflictDetectedEvent.BOOKED);
+            } else if (staying + claimed >= capacity) {
+                conflict = "Slot is also the target of appointment " + firstClaimBySlot.get(target);
+                ConflictDetectedEvent.emit("reschedule", target, ConflictDetectedEvent.CLAIMED);
+            } else if (staying + claimed + slotHolds.heldSeats(target, null) >= capacity) {
+                conflict = "Slot is held by a booking in progress";
+                ConflictDetectedEvent.emit("reschedule", target, ConflictDetectedEvent.HELD);
+            }
+            if (conflict == null) {
+                firstClaimBySlot.putIfAbsent(target, appointment.getId());
+                claimedBySlot.merge(target, 1, Integer::sum);
+            }
+            conflictFree &= conflict == null;
+            // Reported in each appointment's own zone, the way it is stored and shown
+            ZoneId own = timeZones.forAppointment(appointment);
+            moves.add(new ReschedulePlan.Move(appointment.getId(), appointment.getUser().getId(), own.getId(),
+                    appointment.getAppointmentDateTime(), Instant.ofEpochMilli(target).atZone(own).toLocalDateTime(),
+                    conflict));
+        }
+
+        if (request.isDryRun() || !conflictFree) {
+            return new ReschedulePlan(request.isDryRun(), false, moves);
+        }
+
+        // Seats move as a batch: every vacated slot is released before any target is claimed,
+        // so rows can land on each other's slots. Vacated slots are not offered to the
+        // waitlist: the window is being cleared because it is unavailable.
+        Map<Long, Integer> vacated = new HashMap<>();
+        Map<Long, Integer> landing = new HashMap<>();
+        List<Long> touched = new ArrayList<>(moving.size() * 2);
+        long[] previousStartsAt = new long[moving.size()];
+        for (int i = 0; i < moving.size(); i++) {
+            Appointment appointment = moving.get(i);
+            previousStartsAt[i] = appointment.getStartsAt();
+            vacated.merge(appointment.getStartsAt(), 1, Integer::sum);
+            touched.add(appointment.getStartsAt());
+            appointment.setSchedule(moves.get(i).to(), timeZones.forAppointment(appointment));
+            landing.merge(appointment.getStartsAt(), 1, Integer::sum);
+            touched.add(appointment.getStartsAt());
+        }
+        vacated.forEach(slotCapacity::release);
+        landing.forEach((slot, seats) -> {
+            // Lost to a booking made since the plan was checked
+            if (!slotCapacity.tryClaim(slot, seats, null)) {
+                throw slotUnavailable("reschedule", slot, null);
+            }
+        });
+        readCoalescer.invalidateAfterCommit(touched);
+        try {
+            // Dirty rows go out as JDBC batches (hibernate.jdbc.batch_size)
+            appointmentRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "An appointment in the window was modified by another request");
+        } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Appointment is already cancelled");
+                    HttpStatus.CONFLICT, "Time slot is already booked. Please select another time.");
         }
+        // After the flush, so each record carries the version it was written with
+        for (int i = 0; i < moving.size(); i++) {
+            auditJournal.recordAfterCommit(AuditAction.RESCHEDULED, moving.get(i), previousStartsAt[i]);
+        }
+        return new ReschedulePlan(false, true, moves);
+    }
 
-        appointment.setStatus(AppointmentStatus.CANCELLED);
-        return appointmentRepository.save(appointment);
+    // Target instant: shifted by the offset, or the same time of day (in zone) on the target date
+    private static long targetOf(long startsAt, BulkRescheduleRequest request, ZoneId zone) {
+        if (request.getOffsetMinutes() != null) {
+            return startsAt + request.getOffsetMinutes() * 60_000L;
+        }
+        LocalDateTime from = Instant.ofEpochMilli(startsAt).atZone(zone).toLocalDateTime();
+        return TimeZones.epochMillis(request.getTargetDate().atTime(from.toLocalTime()), zone);
     }
 
     @Override
     @Transactional
-    public Appointment completeAppointment(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Appointment not found"));
+    public Appointment cancelAppointment(Long id) {
+        return cancelAppointment(id, null);
+    }
 
-        if (appointment.getStatus() == AppointmentStatus.COMPLETED) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Appointment is already completed");
+    @Override
+    @Transactional
+    public Appointment cancelAppointment(Long id, Long expectedVersion) {
+        Transition transition = transition(id, AppointmentStatus.CANCELLED, expectedVersion);
+        Appointment cancelled = transition.appointment();
+        auditJournal.recordAfterCommit(AuditAction.CANCELLED, cancelled, null);
+        // Cancelling a completed appointment frees nothing, so no waitlist fill
+        if (transition.previous() == AppointmentStatus.SCHEDULED) {
+            releaseSeat(cancelled);
+            // Hand the freed slot to the first matching waiter in this same transaction
+            waitlistService.fillFreedSlot(cancelled.getStartsAt());
         }
+        return cancelled;
+    }
 
-        if (appointment.getStatus() == AppointmentStatus.CANCELLED) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Cannot complete a cancelled appointment");
+    @Override
+    @Transactional
+    public Appointment completeAppointment(Long id) {
+        return completeAppointment(id, null);
+    }
+
+    @Override
+    @Transactional
+    public Appointment completeAppointment(Long id, Long expectedVersion) {
+        Appointment completed = transition(id, AppointmentStatus.COMPLETED, expectedVersion).appointment();
+        releaseSeat(completed);
+        auditJournal.recordAfterCommit(AuditAction.COMPLETED, completed, null);
+        return completed;
+    }
+
+    private record Transition(Appointment appointment, AppointmentStatus previous) {}
+
+    /**
+     * One read, which also builds the response and explains a refusal, then one conditional
+     * UPDATE guarded by the status and version read. The response is the row as read with
+     * the UPDATE applied, so it is not read again.
+     */
+    private Transition transition(Long id, AppointmentStatus target, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            Appointment appointment = appointmentRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.NOT_FOUND, "Appointment not found"));
+            if (expectedVersion != null && !expectedVersion.equals(appointment.getVersion())) {
+                throw preconditionFailed();
+            }
+            AppointmentStatus previous = appointment.getStatus();
+            if (previous == target) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        target == AppointmentStatus.CANCELLED
+                                ? "Appointment is already cancelled"
+                                : "Appointment is already completed");
+            }
+            if (previous != AppointmentStatus.SCHEDULED && target == AppointmentStatus.COMPLETED) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Cannot complete a cancelled appointment");
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            // Clears the persistence context, so the copy read above is detached from here on
+            if (appointmentRepository.transitionStatus(
+                    id, Set.of(previous), target, appointment.getVersion(), now) == 1) {
+                appointment.applyStatusUpdate(target, now);
+                return new Transition(appointment, previous);
+            }
+            // Changed since the read: a given version is stale now, otherwise look again
+            if (expectedVersion != null) {
+                throw preconditionFailed();
+            }
+            if (attempt == MAX_TRANSITION_ATTEMPTS) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Appointment was modified by another request");
+            }
         }
+    }
+
+    private void releaseSeat(Appointment appointment) {
+        slotCapacity.release(appointment.getStartsAt(), 1);
+        readCoalescer.invalidateAfterCommit(appointment.getStartsAt());
+    }
+
+    // A refused claim: full of bookings, or the free seats are held by bookings in progress
+    private ResponseStatusException slotUnavailable(String operation, long startsAt, String holdId) {
+        boolean held = slotHolds.heldSeats(startsAt, holdId) > 0;
+        ConflictDetectedEvent.emit(operation, startsAt, held ? ConflictDetectedEvent.HELD : ConflictDetectedEvent.BOOKED);
+        return new ResponseStatusException(HttpStatus.CONFLICT, held
+                ? "Time slot is held by another booking. Please select another time."
+                : "Time slot is already booked. Please select another time.");
+    }
 
-        appointment.setStatus(AppointmentStatus.COMPLETED);
-        return appointmentRepository.save(appointment);
+    private ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(
+                HttpStatus.PRECONDITION_FAILED, "Appointment was modified by another request");
     }
 }
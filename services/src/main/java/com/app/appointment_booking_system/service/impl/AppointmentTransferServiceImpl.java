@@ -0,0 +1,357 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.audit.AuditAction;
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.ImportReport;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentTransferService;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.transfer.CsvReader;
+import com.app.appointment_booking_system.transfer.CsvWriter;
+import com.app.appointment_booking_system.transfer.IcsReader;
+import com.app.appointment_booking_system.transfer.IcsWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class AppointmentTransferServiceImpl implements AppointmentTransferService {
+
+    private static final String[] CSV_HEADER = {
+            "id", "userId", "userName", "userEmail", "appointmentDateTime", "timeZone", "status", "notes", "createdAt", "updatedAt"
+    };
+
+    // Detach exported rows regularly so the persistence context never grows with the file
+    private static final int CLEAR_EVERY_ROWS = 500;
+
+    private static final DateTimeFormatter ICS_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICS_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeZones timeZones;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final SlotCapacityService slotCapacity;
+    private final AuditJournal auditJournal;
+
+    @Value("${appointments.transfer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${appointments.slot-minutes:60}")
+    private int slotMinutes;
+
+    public AppointmentTransferServiceImpl(AppointmentRepository appointmentRepository,
+                                          UserRepository userRepository,
+                                          SearchService searchService,
+                                          EntityManager entityManager,
+                                          PlatformTransactionManager transactionManager,
+                                          TimeZones timeZones,
+                                          AppointmentReadCoalescer readCoalescer,
+                                          SlotCapacityService slotCapacity,
+                                          AuditJournal auditJournal) {
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.searchService = searchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeZones = timeZones;
+        this.readCoalescer = readCoalescer;
+        this.slotCapacity = slotCapacity;
+        this.auditJournal = auditJournal;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCsv(Instant start, Instant end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRecord((Object[]) CSV_HEADER);
+        try (Stream<Appointment> rows = appointmentRepository.streamInRange(start.toEpochMilli(), end.toEpochMilli())) {
+            Iterator<Appointment> iterator = rows.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                Appointment a = iterator.next();
+                csv.writeRecord(a.getId(), a.getUser().getId(), a.getUser().getName(), a.getUser().getEmail(),
+                        a.getAppointmentDateTime(), a.getTimeZone(), a.getStatus(), a.getNotes(), a.getCreatedAt(), a.getUpdatedAt());
+                if (++count % CLEAR_EVERY_ROWS == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportIcs(Instant start, Instant end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        IcsWriter ics = new IcsWriter(writer, slotMinutes);
+        ics.begin();
+        try (Stream<Appointment> rows = appointmentRepository.streamInRange(start.toEpochMilli(), end.toEpochMilli())) {
+            Iterator<Appointment> iterator = rows.iterator();
+            long count = 0;
+            while (iterator.hasNext()) {
+                ics.write(iterator.next());
+                if (++count % CLEAR_EVERY_ROWS == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        ics.end();
+        writer.flush();
+    }
+
+    @Override
+    public ImportReport importCsv(InputStream in) throws IOException {
+        ImportReport report = new ImportReport();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return report;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Tolerate a UTF-8 byte order mark and any letter case in the header
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("appointmentdatetime")
+                || !(columns.containsKey("userid") || columns.containsKey("useremail"))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must contain appointmentDateTime and userId or userEmail");
+        }
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            long line = reader.getRecordLine();
+            String userId = field(record, columns, "userid");
+            String userEmail = field(record, columns, "useremail");
+            String dateTime = field(record, columns, "appointmentdatetime");
+            List<String> missing = new ArrayList<>(2);
+            if (dateTime == null) {
+                missing.add("appointmentDateTime");
+            }
+            if (userId == null && userEmail == null) {
+                missing.add("userId or userEmail");
+            }
+            if (!missing.isEmpty()) {
+                report.recordError(line, "Invalid row: missing " + String.join(", ", missing));
+                continue;
+            }
+            try {
+                String status = field(record, columns, "status");
+                String timeZone = field(record, columns, "timezone");
+                batch.add(new ImportRow(
+                        line,
+                        userId == null ? null : Long.valueOf(userId),
+                        userEmail,
+                        LocalDateTime.parse(dateTime),
+                        timeZone == null ? null : ZoneId.of(timeZone),
+                        status == null ? AppointmentStatus.SCHEDULED : AppointmentStatus.valueOf(status.toUpperCase(Locale.ROOT)),
+                        field(record, columns, "notes")));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                report.recordError(line, "Invalid row: " + e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                importBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+        return report;
+    }
+
+    @Override
+    public ImportReport importIcs(InputStream in) throws IOException {
+        ImportReport report = new ImportReport();
+        IcsReader reader = new IcsReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        Map<String, String> event;
+        while ((event = reader.nextEvent()) != null) {
+            long line = reader.getEventLine();
+            try {
+                String attendee = event.get("ATTENDEE");
+                if (attendee == null || !attendee.toLowerCase(Locale.ROOT).startsWith("mailto:")) {
+                    throw new IllegalArgumentException("ATTENDEE with a mailto: address is required");
+                }
+                batch.add(new ImportRow(
+                        line,
+                        null,
+                        attendee.substring("mailto:".length()),
+                        parseIcsDateTime(event.get("DTSTART")),
+                        icsZone(event),
+                        icsStatus(event),
+                        event.get("DESCRIPTION")));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                report.recordError(line, "Invalid event: " + e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                importBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report);
+        }
+        return report;
+    }
+
+    /**
+     * Inserts one batch in its own transaction: users for the whole batch are resolved
+     * with one query, each SCHEDULED row claims a seat in its slot, then valid rows are
+     * saved together.
+     */
+    private void importBatch(List<ImportRow> batch, ImportReport report) {
+        List<ImportReport.RowError> rowErrors = new ArrayList<>();
+        Integer imported;
+        try {
+            imported = transactionTemplate.execute(status -> {
+                Set<Long> userIds = batch.stream().map(ImportRow::userId)
+                        .filter(id -> id != null).collect(Collectors.toSet());
+                Set<String> emails = batch.stream().filter(row -> row.userId() == null).map(ImportRow::userEmail)
+                        .filter(email -> email != null).collect(Collectors.toSet());
+                Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                        .filter(user -> user.getDeletedAt() == null)
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+                Map<String, User> usersByEmail = emails.isEmpty() ? Map.of() : userRepository.findByEmailIn(emails)
+                        .stream().filter(user -> user.getDeletedAt() == null).collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+                // Rows without a zone are meant in their user's zone
+                List<Appointment> candidates = new ArrayList<>(batch.size());
+                List<ImportRow> candidateRows = new ArrayList<>(batch.size());
+                for (ImportRow row : batch) {
+                    User user = row.userId() != null ? usersById.get(row.userId()) : usersByEmail.get(row.userEmail());
+                    if (user == null) {
+                        rowErrors.add(new ImportReport.RowError(row.line(), "User not found"));
+                        continue;
+                    }
+                    ZoneId zone = row.zone() != null ? row.zone() : timeZones.forUser(user);
+                    Appointment appointment = new Appointment(user, row.dateTime(), zone, row.notes());
+                    appointment.setStatus(row.status());
+                    candidates.add(appointment);
+                    candidateRows.add(row);
+                }
+
+                Set<Long> scheduledStarts = new HashSet<>();
+                List<Appointment> appointments = new ArrayList<>(candidates.size());
+                for (int i = 0; i < candidates.size(); i++) {
+                    Appointment appointment = candidates.get(i);
+                    if (appointment.getStatus() != AppointmentStatus.SCHEDULED) {
+                        appointments.add(appointment);
+                    } else if (!slotCapacity.tryClaim(appointment.getStartsAt(), 1, null)) {
+                        rowErrors.add(new ImportReport.RowError(candidateRows.get(i).line(), "Time slot is already booked"));
+                    } else {
+                        scheduledStarts.add(appointment.getStartsAt());
+                        appointments.add(appointment);
+                    }
+                }
+                for (Appointment saved : appointmentRepository.saveAll(appointments)) {
+                    searchService.indexAppointment(saved);
+                    auditJournal.recordAfterCommit(AuditAction.CREATED, saved, null);
+                }
+                readCoalescer.invalidateAfterCommit(scheduledStarts);
+                entityManager.flush();
+                entityManager.clear();
+                return appointments.size();
+            });
+        } catch (RuntimeException e) {
+            rowErrors.clear();
+            for (ImportRow row : batch) {
+                rowErrors.add(new ImportReport.RowError(row.line(), "Batch rejected: " + e.getMessage()));
+            }
+            imported = 0;
+        }
+        report.recordImported(imported == null ? 0 : imported);
+        rowErrors.forEach(error -> report.recordError(error.line(), error.message()));
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDateTime parseIcsDateTime(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("DTSTART is required");
+        }
+        // UTC times are kept as UTC wall-clock; others are read in their TZID or the user's zone
+        return isUtc(value) ? LocalDateTime.parse(value, ICS_UTC) : LocalDateTime.parse(value, ICS_LOCAL);
+    }
+
+    // UTC, the zone named by TZID, or null for a floating time
+    private static ZoneId icsZone(Map<String, String> event) {
+        if (isUtc(event.get("DTSTART"))) {
+            return ZoneOffset.UTC;
+        }
+        String tzid = IcsReader.parameter(event, "DTSTART", "TZID");
+        return tzid == null ? null : ZoneId.of(tzid);
+    }
+
+    private static boolean isUtc(String icsDateTime) {
+        return icsDateTime != null && icsDateTime.endsWith("Z");
+    }
+
+    private static AppointmentStatus icsStatus(Map<String, String> event) {
+        String own = event.get("X-APPOINTMENT-STATUS");
+        if (own != null) {
+            return AppointmentStatus.valueOf(own.toUpperCase(Locale.ROOT));
+        }
+        return "CANCELLED".equalsIgnoreCase(event.get("STATUS")) ? AppointmentStatus.CANCELLED : AppointmentStatus.SCHEDULED;
+    }
+
+    // zone is null when the source did not say; the user's zone applies then
+    private record ImportRow(long line, Long userId, String userEmail, LocalDateTime dateTime, ZoneId zone,
+                             AppointmentStatus status, String notes) {}
+}
@@ -0,0 +1,118 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.DashboardAppointment;
+import com.app.appointment_booking_system.dto.DashboardResponse;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.DashboardService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The dashboard's four queries are independent of each other, so they run side by side on
+ * a small pool and the response takes as long as the slowest one instead of their sum.
+ * Each runs in its own short read, so the counts may be a moment apart from the rows.
+ *
+ * The pool and its queue are bounded, which caps the connections dashboards can hold at
+ * once; past the queue the request thread runs the query itself, so a busy instance serves
+ * dashboards more slowly rather than failing them.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor pool;
+
+    @Value("${dashboard.max-window-days:92}")
+    private long maxWindowDays;
+
+    public DashboardServiceImpl(AppointmentRepository appointmentRepository,
+                                UserRepository userRepository,
+                                @Value("${dashboard.parallelism:4}") int parallelism,
+                                @Value("${dashboard.queue-capacity:100}") int queueCapacity) {
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public DashboardResponse getDashboard(Instant from, Instant to) {
+        if (!to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "to must be after from");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxWindowDays)) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The dashboard window can span at most " + maxWindowDays + " days");
+        }
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+
+        CompletableFuture<List<DashboardAppointment>> appointments =
+                submit(() -> appointmentRepository.findDashboardRowsInRange(start, end));
+        // Users are found by the same window rather than by the rows' ids, so this need not wait for them
+        CompletableFuture<List<User>> users = submit(() -> userRepository.findWithAppointmentsInRange(start, end));
+        CompletableFuture<List<Object[]>> statusCounts =
+                submit(() -> appointmentRepository.countByStatusInRange(start, end));
+        CompletableFuture<Long> activeUsers = submit(userRepository::countByDeletedAtIsNull);
+
+        Map<AppointmentStatus, Long> byStatus = new EnumMap<>(AppointmentStatus.class);
+        for (Object[] row : join(statusCounts)) {
+            byStatus.put((AppointmentStatus) row[0], (Long) row[1]);
+        }
+        DashboardResponse.Summary summary = new DashboardResponse.Summary(
+                byStatus.getOrDefault(AppointmentStatus.SCHEDULED, 0L),
+                byStatus.getOrDefault(AppointmentStatus.COMPLETED, 0L),
+                byStatus.getOrDefault(AppointmentStatus.CANCELLED, 0L),
+                join(activeUsers));
+        return new DashboardResponse(from, to, join(appointments), join(users), summary);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, pool);
+    }
+
+    // The query's own exception, not the CompletionException around it
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
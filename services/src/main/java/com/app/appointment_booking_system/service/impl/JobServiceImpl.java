@@ -0,0 +1,109 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.job.JobWorker;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import com.app.appointment_booking_system.repository.JobRepository;
+import com.app.appointment_booking_system.service.JobService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Set<JobStatus> ACTIVE = EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final JobRepository jobRepository;
+    private final JobWorker jobWorker;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    public JobServiceImpl(JobRepository jobRepository, JobWorker jobWorker, ObjectMapper objectMapper) {
+        this.jobRepository = jobRepository;
+        this.jobWorker = jobWorker;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional
+    public Job submit(String type, String dedupKey, Object payload) {
+        if (!jobWorker.hasHandler(type)) {
+            throw new IllegalArgumentException("No handler for job type " + type);
+        }
+        if (dedupKey != null) {
+            Optional<Job> active = jobRepository.findFirstByDedupKeyAndStatusIn(dedupKey, ACTIVE);
+            if (active.isPresent()) {
+                return active.get();
+            }
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job payload is not serializable", e);
+        }
+        Job saved = jobRepository.save(new Job(type, dedupKey, json, maxAttempts));
+        afterCommit(jobWorker::wakeUp);
+        return saved;
+    }
+
+    @Override
+    public Optional<Job> getJob(Long id) {
+        return jobRepository.findById(id);
+    }
+
+    @Override
+    public PageResponse<Job> getJobs(JobStatus status, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        if (status != null) {
+            return PageResponse.of(jobRepository.findByStatusOrderByIdDesc(status, pageRequest));
+        }
+        return PageResponse.of(jobRepository.findAllByOrderByIdDesc(pageRequest));
+    }
+
+    @Override
+    @Transactional
+    public Job cancelJob(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.requestCancel(id, now) == 0) {
+            Job job = jobRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Job is already " + job.getStatus().name().toLowerCase());
+        }
+        jobRepository.cancelQueued(id, now);
+        afterCommit(() -> jobWorker.cancelLocal(id));
+        return jobRepository.findById(id).orElseThrow();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
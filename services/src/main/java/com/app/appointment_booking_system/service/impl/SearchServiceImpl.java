@@ -0,0 +1,222 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import com.app.appointment_booking_system.dto.PageResponse;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.search.InvertedIndex;
+import com.app.appointment_booking_system.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final InvalidationPublisher peers;
+
+    // Replaced whole by rebuild(), so searches never see a half-built index
+    private volatile InvertedIndex userIndex = new InvertedIndex();
+    private volatile InvertedIndex appointmentIndex = new InvertedIndex();
+
+    // Ids written while a rebuild runs, re-read into its indexes once they are live
+    private volatile boolean rebuilding;
+    private final Set<Long> usersChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> appointmentsChangedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public SearchServiceImpl(UserRepository userRepository,
+                             AppointmentRepository appointmentRepository,
+                             InvalidationPublisher peers) {
+        this.userRepository = userRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.peers = peers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        long start = System.currentTimeMillis();
+        rebuild();
+        logger.info("🔎 Search indexes built: {} users, {} appointments in {} ms",
+                userIndex.size(), appointmentIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        rebuilding = true;
+        try {
+            InvertedIndex users = new InvertedIndex();
+            InvertedIndex appointments = new InvertedIndex();
+            for (User user : userRepository.findByDeletedAtIsNull()) {
+                users.index(user.getId(), termsOf(user));
+            }
+            for (Appointment appointment : appointmentRepository.findAll()) {
+                appointments.index(appointment.getId(), termsOf(appointment));
+            }
+            userIndex = users;
+            appointmentIndex = appointments;
+        } finally {
+            rebuilding = false;
+        }
+        // Writers that saw the flag noted their ids before touching an index; any later
+        // write goes to the new indexes
+        refreshUsers(drain(usersChangedDuringRebuild));
+        refreshAppointments(drain(appointmentsChangedDuringRebuild));
+    }
+
+    @Override
+    public PageResponse<User> searchUsers(String query, int page, int size) {
+        int pageSize = clampSize(size);
+        InvertedIndex.Hits hits = userIndex.search(query, Math.max(page, 0) * pageSize, pageSize);
+        List<User> users = inRankOrder(hits.ids(), userRepository.findAllById(hits.ids()), User::getId);
+        return new PageResponse<>(users, Math.max(page, 0), pageSize, hits.total());
+    }
+
+    @Override
+    public PageResponse<Appointment> searchAppointments(String query, int page, int size) {
+        int pageSize = clampSize(size);
+        InvertedIndex.Hits hits = appointmentIndex.search(query, Math.max(page, 0) * pageSize, pageSize);
+        List<Appointment> appointments = inRankOrder(
+                hits.ids(), appointmentRepository.findAllById(hits.ids()), Appointment::getId);
+        return new PageResponse<>(appointments, Math.max(page, 0), pageSize, hits.total());
+    }
+
+    @Override
+    public void indexUser(User user) {
+        afterCommit(() -> indexUserNow(user));
+        peers.usersChanged(List.of(user.getId()));
+    }
+
+    @Override
+    public void removeUser(Long userId) {
+        afterCommit(() -> usersFor(List.of(userId)).remove(userId));
+        peers.usersChanged(List.of(userId));
+    }
+
+    @Override
+    public void indexAppointment(Appointment appointment) {
+        afterCommit(() -> indexAppointmentNow(appointment));
+        peers.appointmentsChanged(List.of(appointment.getId()));
+    }
+
+    @Override
+    public void removeAppointments(Collection<Long> appointmentIds) {
+        List<Long> ids = new ArrayList<>(appointmentIds);
+        afterCommit(() -> ids.forEach(appointmentsFor(ids)::remove));
+        peers.appointmentsChanged(ids);
+    }
+
+    @Override
+    public void refreshUsers(Collection<Long> userIds) {
+        Set<Long> gone = new HashSet<>(userIds);
+        for (User user : userRepository.findAllById(userIds)) {
+            if (user.getDeletedAt() == null) {
+                indexUserNow(user);
+                gone.remove(user.getId());
+            }
+        }
+        gone.forEach(usersFor(gone)::remove);
+    }
+
+    @Override
+    public void refreshAppointments(Collection<Long> appointmentIds) {
+        Set<Long> gone = new HashSet<>(appointmentIds);
+        for (Appointment appointment : appointmentRepository.findAllById(appointmentIds)) {
+            indexAppointmentNow(appointment);
+            gone.remove(appointment.getId());
+        }
+        gone.forEach(appointmentsFor(gone)::remove);
+    }
+
+    private void indexUserNow(User user) {
+        usersFor(List.of(user.getId())).index(user.getId(), termsOf(user));
+    }
+
+    private void indexAppointmentNow(Appointment appointment) {
+        appointmentsFor(List.of(appointment.getId())).index(appointment.getId(), termsOf(appointment));
+    }
+
+    // The index to write to, after noting the ids if a rebuild is building its replacement
+    private InvertedIndex usersFor(Collection<Long> ids) {
+        if (rebuilding) {
+            usersChangedDuringRebuild.addAll(ids);
+        }
+        return userIndex;
+    }
+
+    private InvertedIndex appointmentsFor(Collection<Long> ids) {
+        if (rebuilding) {
+            appointmentsChangedDuringRebuild.addAll(ids);
+        }
+        return appointmentIndex;
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>(ids);
+        ids.removeAll(drained);
+        return drained;
+    }
+
+    private static List<String> termsOf(User user) {
+        return List.of(nullToEmpty(user.getName()), nullToEmpty(user.getEmail()), nullToEmpty(user.getPhoneNumber()));
+    }
+
+    private static List<String> termsOf(Appointment appointment) {
+        return List.of(nullToEmpty(appointment.getNotes()));
+    }
+
+    // The index must never show rows a rolled-back transaction did not write
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static <T> List<T> inRankOrder(List<Long> rankedIds, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.SetSlotCapacityRequest;
+import com.app.appointment_booking_system.dto.SlotStatus;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.model.SlotCounter;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.SlotCounterRepository;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class SlotCapacityServiceImpl implements SlotCapacityService {
+
+    private final SlotCounterRepository counterRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotHoldRegistry slotHolds;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final TimeZones timeZones;
+    private final TransactionTemplate newTransaction;
+
+    @Value("${appointments.slots.default-capacity:1}")
+    private int defaultCapacity;
+
+    public SlotCapacityServiceImpl(SlotCounterRepository counterRepository,
+                                   AppointmentRepository appointmentRepository,
+                                   SlotHoldRegistry slotHolds,
+                                   AppointmentReadCoalescer readCoalescer,
+                                   TimeZones timeZones,
+                                   PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.slotHolds = slotHolds;
+        this.readCoalescer = readCoalescer;
+        this.timeZones = timeZones;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public SlotStatus getSlot(Instant start) {
+        long startsAt = start.toEpochMilli();
+        int capacity;
+        int booked;
+        SlotCounter counter = counterRepository.findById(startsAt).orElse(null);
+        if (counter != null) {
+            capacity = counter.getCapacity();
+            booked = counter.getBooked();
+        } else {
+            booked = (int) appointmentRepository.countScheduledByStartsAt(startsAt);
+            capacity = Math.max(defaultCapacity, booked);
+        }
+        int held = slotHolds.heldSeats(startsAt, null);
+        return new SlotStatus(startsAt, capacity, booked, held, Math.max(0, capacity - booked - held));
+    }
+
+    @Override
+    @Transactional
+    public SlotStatus setCapacity(SetSlotCapacityRequest request) {
+        long startsAt = TimeZones.epochMillis(request.getDateTime(), timeZones.resolve(request.getTimeZone()));
+        ensureCounter(startsAt);
+        if (counterRepository.updateCapacity(startsAt, request.getCapacity()) == 0) {
+            SlotCounter counter = counterRepository.findById(startsAt).orElseThrow();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    counter.getBooked() + " seats are already booked in this slot");
+        }
+        readCoalescer.invalidateAfterCommit(startsAt);
+        return getSlot(Instant.ofEpochMilli(startsAt));
+    }
+
+    @Override
+    public int unbookedSeats(long startsAt) {
+        return counterRepository.findById(startsAt)
+                .map(counter -> counter.getCapacity() - counter.getBooked())
+                .orElseGet(() -> defaultCapacity - (int) appointmentRepository.countScheduledByStartsAt(startsAt));
+    }
+
+    @Override
+    public Map<Long, Integer> capacitiesOf(Collection<Long> startsAt) {
+        Map<Long, Integer> capacities = new HashMap<>();
+        for (SlotCounter counter : counterRepository.findAllById(startsAt)) {
+            capacities.put(counter.getStartsAt(), counter.getCapacity());
+        }
+        for (Long instant : startsAt) {
+            capacities.putIfAbsent(instant, defaultCapacity);
+        }
+        return capacities;
+    }
+
+    @Override
+    public boolean tryClaim(long startsAt, int seats, String holdId) {
+        ensureCounter(startsAt);
+        return counterRepository.claimSeats(startsAt, seats, slotHolds.heldSeats(startsAt, holdId)) == 1;
+    }
+
+    @Override
+    public void release(long startsAt, int seats) {
+        ensureCounter(startsAt);
+        counterRepository.releaseSeats(startsAt, seats);
+    }
+
+    /**
+     * Counters are created on a slot's first booking, in their own transaction so that
+     * losing the insert race to another booking cannot roll back the caller's. The new row
+     * counts the committed SCHEDULED appointments of the slot, so slots booked before
+     * counters existed start out right.
+     */
+    private void ensureCounter(long startsAt) {
+        if (counterRepository.existsById(startsAt)) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> counterRepository.insertCounter(startsAt, defaultCapacity));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently; the conditional UPDATEs work on that row
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.ConfirmHoldRequest;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.HoldSlotRequest;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.jfr.ConflictDetectedEvent;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.service.SlotHoldService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+@Service
+public class SlotHoldServiceImpl implements SlotHoldService {
+
+    private final SlotHoldRegistry registry;
+    private final UserRepository userRepository;
+    private final SlotCapacityService slotCapacity;
+    private final AppointmentService appointmentService;
+    private final TimeZones timeZones;
+
+    @Value("${appointments.holds.ttl-minutes:10}")
+    private int defaultMinutes;
+
+    @Value("${appointments.holds.max-ttl-minutes:30}")
+    private int maxMinutes;
+
+    public SlotHoldServiceImpl(SlotHoldRegistry registry,
+                               UserRepository userRepository,
+                               SlotCapacityService slotCapacity,
+                               AppointmentService appointmentService,
+                               TimeZones timeZones) {
+        this.registry = registry;
+        this.userRepository = userRepository;
+        this.slotCapacity = slotCapacity;
+        this.appointmentService = appointmentService;
+        this.timeZones = timeZones;
+    }
+
+    @Override
+    public SlotHold holdSlot(HoldSlotRequest request) {
+        int minutes = request.getMinutes() == null ? defaultMinutes : request.getMinutes();
+        if (minutes < 1 || minutes > maxMinutes) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Hold minutes must be between 1 and " + maxMinutes);
+        }
+        User user = userRepository.findActiveById(request.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        ZoneId zone = request.getTimeZone() != null
+                ? timeZones.resolve(request.getTimeZone())
+                : timeZones.forUser(user);
+        long startsAt = TimeZones.epochMillis(request.getAppointmentDateTime(), zone);
+
+        // Straight to the counter, not the coalesced read: the hold must see the latest bookings
+        int unbooked = slotCapacity.unbookedSeats(startsAt);
+        if (unbooked <= 0) {
+            ConflictDetectedEvent.emit("hold", startsAt, ConflictDetectedEvent.BOOKED);
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Time slot is already booked. Please select another time.");
+        }
+
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), user.getId(), request.getAppointmentDateTime(),
+                zone.getId(), startsAt, Instant.now().plusSeconds(minutes * 60L));
+        return switch (registry.tryHold(hold, unbooked)) {
+            case HELD -> hold;
+            case SLOT_HELD -> {
+                ConflictDetectedEvent.emit("hold", startsAt, ConflictDetectedEvent.HELD);
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT, "Time slot is held by another booking. Please select another time.");
+            }
+            case USER_LIMIT -> throw new ResponseStatusException(
+                    HttpStatus.TOO_MANY_REQUESTS, "User already holds the maximum number of slots");
+            case FULL -> throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Too many slot holds; try again shortly");
+        };
+    }
+
+    @Override
+    public SlotHold getHold(String id) {
+        return registry.find(id).orElseThrow(this::holdGone);
+    }
+
+    @Override
+    public Appointment confirmHold(String id, ConfirmHoldRequest request) {
+        SlotHold hold = getHold(id);
+        CreateAppointmentRequest create = new CreateAppointmentRequest(
+                hold.userId(), hold.appointmentDateTime(), request == null ? null : request.getNotes());
+        create.setTimeZone(hold.timeZone());
+        create.setHoldId(hold.id());
+        return appointmentService.createAppointment(create);
+    }
+
+    @Override
+    public void releaseHold(String id) {
+        registry.release(id).orElseThrow(this::holdGone);
+    }
+
+    private ResponseStatusException holdGone() {
+        return new ResponseStatusException(HttpStatus.GONE, "Hold has expired or was released");
+    }
+}
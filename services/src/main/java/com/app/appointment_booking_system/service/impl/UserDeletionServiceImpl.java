@@ -0,0 +1,179 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.job.JobContext;
+import com.app.appointment_booking_system.job.JobHandler;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.ArchivedAppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.repository.WaitlistEntryRepository;
+import com.app.appointment_booking_system.service.JobService;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.service.UserDeletionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+@Service
+public class UserDeletionServiceImpl implements UserDeletionService, JobHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionServiceImpl.class);
+
+    static final String JOB_TYPE = "user-deletion";
+
+    private final UserRepository userRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final WaitlistEntryRepository waitlistRepository;
+    private final SearchService searchService;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final SlotCapacityService slotCapacity;
+
+    @Value("${users.deletion.sync-threshold:1000}")
+    private long syncThreshold;
+
+    @Value("${users.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    public UserDeletionServiceImpl(UserRepository userRepository,
+                                   AppointmentRepository appointmentRepository,
+                                   ArchivedAppointmentRepository archivedAppointmentRepository,
+                                   WaitlistEntryRepository waitlistRepository,
+                                   SearchService searchService,
+                                   JobService jobService,
+                                   PlatformTransactionManager transactionManager,
+                                   AppointmentReadCoalescer readCoalescer,
+                                   SlotCapacityService slotCapacity) {
+        this.userRepository = userRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.searchService = searchService;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readCoalescer = readCoalescer;
+        this.slotCapacity = slotCapacity;
+    }
+
+    @Override
+    public Optional<Job> deleteUser(Long id) {
+        // Soft-delete first: the user disappears from the API and can't get new bookings
+        // or waitlist slots while the history is being removed
+        int marked = inTransaction(() -> {
+            if (userRepository.markDeleted(id, LocalDateTime.now()) == 1) {
+                waitlistRepository.cancelWaitingForUser(id);
+                return 1;
+            }
+            // Already soft-deleted by an earlier attempt that failed or was cancelled: purge again
+            return userRepository.findById(id).filter(user -> user.getDeletedAt() != null).isPresent() ? 1 : 0;
+        });
+        if (marked == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        searchService.removeUser(id);
+
+        long history = appointmentRepository.countByUserId(id) + archivedAppointmentRepository.countByUserId(id);
+        if (history <= syncThreshold) {
+            purge(id, null);
+            return Optional.empty();
+        }
+        logger.info("🗑️ User {} has {} appointments, deleting in the background", id, history);
+        return Optional.of(jobService.submit(JOB_TYPE, JOB_TYPE + ":" + id, new Payload(id)));
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public String run(JobContext context) {
+        Long userId = context.getPayload(Payload.class).userId();
+        context.setTotal(appointmentRepository.countByUserId(userId) + archivedAppointmentRepository.countByUserId(userId));
+        context.setProgress(0);
+        return purge(userId, context);
+    }
+
+    /**
+     * Removes the user's rows with set-based statements, one chunk per transaction so no
+     * transaction holds locks on (or loads) the whole history. Safe to re-run after a crash.
+     * The job context is null when purging within the request.
+     */
+    private String purge(Long userId, JobContext context) {
+        long appointments = 0;
+        long archived = 0;
+        int deleted;
+        do {
+            checkpoint(context);
+            deleted = inTransaction(() -> {
+                List<Long> ids = appointmentRepository.findIdsByUserId(userId, PageRequest.ofSize(chunkSize));
+                if (!ids.isEmpty()) {
+                    // Scheduled rows give their seats back; the others hold none
+                    List<Long> scheduledStarts = appointmentRepository.findScheduledStartsAtByIdIn(ids);
+                    scheduledStarts.stream()
+                            .collect(Collectors.groupingBy(Function.identity(), Collectors.summingInt(start -> 1)))
+                            .forEach(slotCapacity::release);
+                    appointmentRepository.deleteByIdIn(ids);
+                    searchService.removeAppointments(ids);
+                    readCoalescer.invalidateAfterCommit(scheduledStarts);
+                }
+                return ids.size();
+            });
+            appointments += deleted;
+            progress(context, deleted);
+        } while (deleted == chunkSize);
+
+        do {
+            checkpoint(context);
+            deleted = inTransaction(() -> {
+                List<Long> ids = archivedAppointmentRepository.findIdsByUserId(userId, PageRequest.ofSize(chunkSize));
+                return ids.isEmpty() ? 0 : archivedAppointmentRepository.deleteByIdIn(ids);
+            });
+            archived += deleted;
+            progress(context, deleted);
+        } while (deleted == chunkSize);
+
+        inTransaction(() -> {
+            waitlistRepository.deleteByUserId(userId);
+            return userRepository.deleteMarked(userId);
+        });
+        logger.info("🗑️ User {} deleted ({} appointments, {} archived)", userId, appointments, archived);
+        return "Deleted user " + userId + " with " + appointments + " appointments and " + archived + " archived";
+    }
+
+    private static void checkpoint(JobContext context) {
+        if (context != null) {
+            context.checkpoint();
+        }
+    }
+
+    private static void progress(JobContext context, int deleted) {
+        if (context != null) {
+            context.addProgress(deleted);
+        }
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(tx -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    record Payload(Long userId) {}
+}
@@ -0,0 +1,214 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dedup.EmailBloomFilter;
+import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.dto.ImportReport;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.UserImportService;
+import com.app.appointment_booking_system.transfer.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    // IDENTITY ids keep Hibernate from batching inserts, so rows go through JDBC directly
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, phone_number, email, time_zone, version) VALUES (?, ?, ?, ?, 0)";
+
+    private final UserRepository userRepository;
+    private final EmailBloomFilter emailFilter;
+    private final SearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeZones timeZones;
+    private final Validator validator;
+
+    @Value("${users.import.batch-size:1000}")
+    private int batchSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 EmailBloomFilter emailFilter,
+                                 SearchService searchService,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 TimeZones timeZones,
+                                 Validator validator) {
+        this.userRepository = userRepository;
+        this.emailFilter = emailFilter;
+        this.searchService = searchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timeZones = timeZones;
+        this.validator = validator;
+    }
+
+    @Override
+    public ImportReport importCsv(InputStream in) throws IOException {
+        ImportReport report = new ImportReport();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.next();
+        if (header == null) {
+            return report;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Tolerate a UTF-8 byte order mark and any letter case in the header
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("phonenumber") || !columns.containsKey("email")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header must contain name, phoneNumber and email");
+        }
+
+        ImportStats stats = new ImportStats();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            long line = reader.getRecordLine();
+            CreateUserRequest request = new CreateUserRequest();
+            request.setName(field(record, columns, "name"));
+            request.setPhoneNumber(field(record, columns, "phonenumber"));
+            request.setEmail(field(record, columns, "email"));
+            Set<ConstraintViolation<CreateUserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                report.recordError(line, "Invalid row: " + violations.iterator().next().getMessage());
+                continue;
+            }
+            String timeZone;
+            try {
+                timeZone = timeZones.normalize(field(record, columns, "timezone"));
+            } catch (ResponseStatusException e) {
+                report.recordError(line, "Invalid row: " + e.getReason());
+                continue;
+            }
+            batch.add(new ImportRow(line, request.getName(), request.getPhoneNumber(), request.getEmail(), timeZone));
+            if (batch.size() == batchSize) {
+                importBatch(batch, report, stats);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, report, stats);
+        }
+
+        logger.info("📥 User import: {} rows checked, {} emails looked up, {} imported",
+                stats.checked, stats.lookedUp, report.getImported());
+        emailFilter.reloadIfSaturated();
+        return report;
+    }
+
+    /**
+     * Screens one batch against the email filter, looks up only its possible hits with a
+     * single IN query, then inserts the rest in one JDBC batch and transaction. The unique
+     * constraint still has the last word: if the batch trips it (a row inserted elsewhere
+     * meanwhile), the batch is retried row by row so only the offending rows fail.
+     */
+    private void importBatch(List<ImportRow> batch, ImportReport report, ImportStats stats) {
+        List<ImportRow> fresh = new ArrayList<>(batch.size());
+        Set<String> seen = new HashSet<>();
+        Set<String> possiblyTaken = new HashSet<>();
+        for (ImportRow row : batch) {
+            if (!seen.add(row.email())) {
+                report.recordError(row.line(), "Duplicate email in file");
+                continue;
+            }
+            if (emailFilter.mightContain(row.email())) {
+                possiblyTaken.add(row.email());
+            }
+            fresh.add(row);
+        }
+        stats.checked += fresh.size();
+        stats.lookedUp += possiblyTaken.size();
+
+        Set<String> taken = possiblyTaken.isEmpty() ? Set.of() : new HashSet<>(userRepository.findTakenEmails(possiblyTaken));
+        List<ImportRow> rows = new ArrayList<>(fresh.size());
+        for (ImportRow row : fresh) {
+            if (taken.contains(row.email())) {
+                report.recordError(row.line(), "Email already exists");
+            } else {
+                emailFilter.add(row.email());
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(rows);
+            report.recordImported(rows.size());
+        } catch (DataIntegrityViolationException e) {
+            for (ImportRow row : rows) {
+                try {
+                    insert(List.of(row));
+                    report.recordImported(1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    report.recordError(row.line(), "Email already exists");
+                }
+            }
+        } catch (RuntimeException e) {
+            for (ImportRow row : rows) {
+                report.recordError(row.line(), "Batch rejected: " + e.getMessage());
+            }
+        }
+    }
+
+    // Re-reads the inserted rows for their ids; indexing in the same transaction defers its invalidations to commit
+    private void insert(List<ImportRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (statement, row) -> {
+                statement.setString(1, row.name());
+                statement.setString(2, row.phoneNumber());
+                statement.setString(3, row.email());
+                statement.setString(4, row.timeZone());
+            });
+            userRepository.findByEmailIn(rows.stream().map(ImportRow::email).collect(Collectors.toList()))
+                    .forEach(searchService::indexUser);
+        });
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private record ImportRow(long line, String name, String phoneNumber, String email, String timeZone) {}
+
+    private static final class ImportStats {
+        private long checked;
+        private long lookedUp;
+    }
+}
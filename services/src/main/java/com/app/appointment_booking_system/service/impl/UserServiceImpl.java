@@ -1,11 +1,18 @@
 package com.app.appointment_booking_system.service.impl;
 
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dedup.EmailBloomFilter;
 import com.app.appointment_booking_system.model.User;
 import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.snapshot.DaySnapshotCache;
 import com.app.appointment_booking_system.service.UserService;
 import org.springframework.stereotype.Service;
 import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.dto.PageResponse;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -15,45 +22,90 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final TimeZones timeZones;
+    private final EmailBloomFilter emailFilter;
+    private final DaySnapshotCache daySnapshots;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, SearchService searchService, TimeZones timeZones,
+                           EmailBloomFilter emailFilter, DaySnapshotCache daySnapshots) {
         this.userRepository = userRepository;
+        this.searchService = searchService;
+        this.timeZones = timeZones;
+        this.emailFilter = emailFilter;
+        this.daySnapshots = daySnapshots;
     }
 
     @Override
     public User createUser(CreateUserRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
+        // Only an email the filter may have seen needs the lookup
+        if (emailFilter.mightContain(request.getEmail())
+                && userRepository.findByEmail(request.getEmail()).isPresent()) {
+            throw emailTaken();
         }
         User user = new User();
         user.setName(request.getName());
         user.setPhoneNumber(request.getPhoneNumber());
         user.setEmail(request.getEmail());
-        return userRepository.save(user);
+        user.setTimeZone(timeZones.normalize(request.getTimeZone()));
+        emailFilter.add(user.getEmail());
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Taken after all (concurrently, or by another instance): the unique constraint decides
+            throw emailTaken();
+        }
+        searchService.indexUser(saved);
+        return saved;
+    }
+
+    @Override
+    public PageResponse<User> searchUsers(String query, int page, int size) {
+        return searchService.searchUsers(query, page, size);
     }
 
     @Override
     public List<User> getAllUsers() {
-        return userRepository.findAll();
+        return userRepository.findByDeletedAtIsNull();
     }
 
     @Override
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userRepository.findActiveById(id);
     }
 
     @Override
     public User updateUser(Long id, User user) {
-        User existing = userRepository.findById(id)
+        return updateUser(id, user, null);
+    }
+
+    @Override
+    public User updateUser(Long id, User user, Long expectedVersion) {
+        User existing = userRepository.findActiveById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "User was modified by another request");
+        }
         existing.setName(user.getName());
         existing.setPhoneNumber(user.getPhoneNumber());
         existing.setEmail(user.getEmail());
-        return userRepository.save(existing);
+        existing.setTimeZone(timeZones.normalize(user.getTimeZone()));
+        emailFilter.add(existing.getEmail());
+        try {
+            User saved = userRepository.saveAndFlush(existing);
+            searchService.indexUser(saved);
+            // Day views embed the user
+            daySnapshots.invalidateUsersAfterCommit(List.of(saved.getId()));
+            return saved;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User was modified by another request");
+        } catch (DataIntegrityViolationException e) {
+            throw emailTaken();
+        }
     }
 
-    @Override
-    public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+    private static ResponseStatusException emailTaken() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
     }
 }
@@ -0,0 +1,258 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.audit.AuditAction;
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.config.TimeZones;
+import com.app.appointment_booking_system.dto.JoinWaitlistRequest;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.model.WaitlistEntry;
+import com.app.appointment_booking_system.model.WaitlistEntry.WaitlistStatus;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.repository.WaitlistEntryRepository;
+import com.app.appointment_booking_system.service.SearchService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import com.app.appointment_booking_system.waitlist.WaitlistIndex;
+import com.app.appointment_booking_system.waitlist.WaitlistIndex.Waiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    private static final Duration MAX_WINDOW = Duration.ofDays(31);
+    private static final int CANDIDATES_PER_ATTEMPT = 16;
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final SearchService searchService;
+    private final TimeZones timeZones;
+    private final AppointmentReadCoalescer readCoalescer;
+    private final SlotCapacityService slotCapacity;
+    private final AuditJournal auditJournal;
+    private final InvalidationPublisher peers;
+
+    private final WaitlistIndex index = new WaitlistIndex();
+
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistRepository,
+                               AppointmentRepository appointmentRepository,
+                               UserRepository userRepository,
+                               SearchService searchService,
+                               TimeZones timeZones,
+                               AppointmentReadCoalescer readCoalescer,
+                               SlotCapacityService slotCapacity,
+                               AuditJournal auditJournal,
+                               InvalidationPublisher peers) {
+        this.waitlistRepository = waitlistRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.userRepository = userRepository;
+        this.searchService = searchService;
+        this.timeZones = timeZones;
+        this.readCoalescer = readCoalescer;
+        this.slotCapacity = slotCapacity;
+        this.auditJournal = auditJournal;
+        this.peers = peers;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        index.clear();
+        long now = System.currentTimeMillis();
+        waitlistRepository.findOpenEntries(earliestOpenWallClock()).stream()
+                .map(this::toWaiter)
+                .filter(waiter -> waiter.windowEnd() > now)
+                .forEach(index::add);
+        logger.info("⏳ Waitlist index loaded with {} waiting entries", index.size());
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntry joinWaitlist(JoinWaitlistRequest request) {
+        if (!request.getWindowStart().isBefore(request.getWindowEnd())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Window start must be before window end");
+        }
+        if (Duration.between(request.getWindowStart(), request.getWindowEnd()).compareTo(MAX_WINDOW) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Waitlist window cannot exceed 31 days");
+        }
+        User user = userRepository.findActiveById(request.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(user);
+        entry.setWindowStart(request.getWindowStart());
+        entry.setWindowEnd(request.getWindowEnd());
+        entry.setNotes(request.getNotes());
+        WaitlistEntry saved = waitlistRepository.save(entry);
+
+        Waiter waiter = toWaiter(saved);
+        afterCommit(() -> index.add(waiter));
+        peers.waitlistEntriesChanged(List.of(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getWaitingEntriesForDate(LocalDate date, ZoneId zone) {
+        long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        // Windows are wall-clock times in each waiter's zone: widen the query by the largest
+        // offset, then keep the entries whose window overlaps the day as instants
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(dayStart), ZoneOffset.UTC).minus(TimeZones.MAX_OFFSET);
+        LocalDateTime to = LocalDateTime.ofInstant(Instant.ofEpochMilli(dayEnd), ZoneOffset.UTC).plus(TimeZones.MAX_OFFSET);
+        return waitlistRepository.findWaitingOverlapping(from, to).stream()
+                .filter(entry -> {
+                    Waiter waiter = toWaiter(entry);
+                    return waiter.windowStart() < dayEnd && waiter.windowEnd() > dayStart;
+                })
+                .toList();
+    }
+
+    @Override
+    public List<WaitlistEntry> getEntriesByUserId(Long userId) {
+        return waitlistRepository.findByUserIdOrderByIdDesc(userId);
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntry leaveWaitlist(Long id) {
+        if (waitlistRepository.transitionFromWaiting(id, WaitlistStatus.CANCELLED) == 0) {
+            WaitlistEntry entry = waitlistRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Waitlist entry not found"));
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Waitlist entry is already " + entry.getStatus().name().toLowerCase());
+        }
+        afterCommit(() -> index.remove(id));
+        peers.waitlistEntriesChanged(List.of(id));
+        return waitlistRepository.findById(id).orElseThrow();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Appointment> fillFreedSlot(long slot) {
+        if (slot < System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        List<Waiter> candidates = index.candidatesFor(slot, CANDIDATES_PER_ATTEMPT);
+        // Take the seat before a waiter, so a lost race leaves the waitlist untouched
+        if (candidates.isEmpty() || !slotCapacity.tryClaim(slot, 1, null)) {
+            return Optional.empty();
+        }
+        for (; !candidates.isEmpty(); candidates = index.candidatesFor(slot, CANDIDATES_PER_ATTEMPT)) {
+            for (Waiter candidate : candidates) {
+                if (waitlistRepository.transitionFromWaiting(candidate.id(), WaitlistStatus.FULFILLED) == 1) {
+                    return Optional.of(book(candidate.id(), slot));
+                }
+                // Fulfilled, cancelled or expired elsewhere; the index was stale
+                index.remove(candidate.id());
+            }
+        }
+        slotCapacity.release(slot, 1);
+        return Optional.empty();
+    }
+
+    private Appointment book(long entryId, long slot) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId).orElseThrow();
+        // Booked in the waiter's zone, like an appointment the user made themselves
+        ZoneId zone = timeZones.forUser(entry.getUser());
+        Appointment appointment = new Appointment(
+                entry.getUser(), Instant.ofEpochMilli(slot).atZone(zone).toLocalDateTime(), zone, entry.getNotes());
+        Appointment saved = appointmentRepository.save(appointment);
+        waitlistRepository.setAppointmentId(entryId, saved.getId());
+        searchService.indexAppointment(saved);
+        readCoalescer.invalidateAfterCommit(saved.getStartsAt());
+        auditJournal.recordAfterCommit(AuditAction.CREATED, saved, null);
+        afterCommit(() -> index.remove(entryId));
+        peers.waitlistEntriesChanged(List.of(entryId));
+        logger.info("⏳ Slot {} booked from waitlist entry {} (appointment {})",
+                Instant.ofEpochMilli(slot), entryId, saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshEntries(Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        Set<Long> gone = new HashSet<>(entryIds);
+        long now = System.currentTimeMillis();
+        for (WaitlistEntry entry : waitlistRepository.findAllById(entryIds)) {
+            gone.remove(entry.getId());
+            Waiter waiter = toWaiter(entry);
+            if (entry.getStatus() == WaitlistStatus.WAITING && waiter.windowEnd() > now) {
+                index.add(waiter);
+            } else {
+                index.remove(entry.getId());
+            }
+        }
+        gone.forEach(index::remove);
+    }
+
+    // Hourly: mark closed windows EXPIRED and drop past days from the index
+    @Scheduled(cron = "${waitlist.expiry-cron:0 5 * * * *}")
+    @Transactional
+    public void expireClosedWindows() {
+        int expired = waitlistRepository.expireClosedWindows(earliestOpenWallClock());
+        index.evictBefore(System.currentTimeMillis());
+        if (expired > 0) {
+            logger.info("⏳ Expired {} waitlist entries", expired);
+        }
+    }
+
+    // Windows are wall-clock times in the waiter's zone; the index works on instants
+    private Waiter toWaiter(WaitlistEntry entry) {
+        ZoneId zone = timeZones.forUser(entry.getUser());
+        return new Waiter(entry.getId(),
+                TimeZones.epochMillis(entry.getWindowStart(), zone),
+                TimeZones.epochMillis(entry.getWindowEnd(), zone));
+    }
+
+    // Window ends are stored as wall-clock times, so a window ending after this may still be
+    // open in some zone; one ending before it is closed everywhere
+    private static LocalDateTime earliestOpenWallClock() {
+        return LocalDateTime.now(ZoneOffset.UTC).minus(TimeZones.MAX_OFFSET);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.app.appointment_booking_system.snapshot;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The JSON body of one day view, encoded once and written as is to every reader.
+ * {@code gzip} is null when the body is too small to be worth compressing.
+ */
+public final class DaySnapshot {
+
+    private final ByteBuffer json;
+    private final ByteBuffer gzip;
+    private final long[] userIds;
+
+    DaySnapshot(ByteBuffer json, ByteBuffer gzip, long[] userIds) {
+        this.json = json;
+        this.gzip = gzip;
+        this.userIds = userIds;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public int length(boolean gzipped) {
+        return body(gzipped).remaining();
+    }
+
+    /** Reads the body from the start; a duplicate, so concurrent readers do not share a position. */
+    public InputStream open(boolean gzipped) {
+        return new BufferInputStream(body(gzipped).duplicate());
+    }
+
+    long bytes() {
+        return json.remaining() + (gzip == null ? 0 : gzip.remaining());
+    }
+
+    // userIds is sorted
+    boolean embedsAny(long[] changedUserIds) {
+        for (long id : changedUserIds) {
+            if (Arrays.binarySearch(userIds, id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ByteBuffer body(boolean gzipped) {
+        return gzipped && gzip != null ? gzip : json;
+    }
+
+    // Heap or direct, read without copying the body first
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.app.appointment_booking_system.snapshot;
+
+import com.app.appointment_booking_system.config.EpochWindow;
+import com.app.appointment_booking_system.model.Appointment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded day views (JSON, plus gzip when large enough), keyed by the epoch-millisecond
+ * window of the day, least recently used first out once their bytes pass max-bytes.
+ *
+ * AppointmentReadCoalescer passes on every day invalidation, local or from a peer, after
+ * it has detached its own flights; user changes come in separately, since each snapshot
+ * embeds its users. A dropped snapshot is rebuilt in the background, so the next reader
+ * of a busy day usually finds it ready. A load that overlaps an invalidation is handed to
+ * its caller but not kept. Reads inside a transaction bypass the cache, as in the
+ * coalescer. With direct set, bodies live off-heap and are freed when the GC clears the
+ * evicted buffers.
+ */
+@Component
+public class DaySnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaySnapshotCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor rebuilds;
+
+    // Guarded by this; access order makes the eldest entry the least recently read
+    private final LinkedHashMap<EpochWindow, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Loads in progress, by key; an invalidation removes their token so their result is not kept
+    private final Map<EpochWindow, Object> loading = new HashMap<>();
+    private long totalBytes;
+
+    private final Set<EpochWindow> queued = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilt = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Value("${appointments.day-snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${appointments.day-snapshots.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${appointments.day-snapshots.direct:false}")
+    private boolean direct;
+
+    // Smaller bodies are sent uncompressed, as server.compression would
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize gzipMinSize;
+
+    public DaySnapshotCache(ObjectMapper objectMapper,
+                            @Value("${appointments.day-snapshots.rebuild-queue-capacity:256}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.rebuilds = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "day-snapshot-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.rebuilds.allowCoreThreadTimeOut(true);
+    }
+
+    /** The encoded scheduled appointments starting in [from, to); {@code loader} reads them on a miss. */
+    public DaySnapshot get(long from, long to, Supplier<List<Appointment>> loader) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return encode(loader.get());
+        }
+        EpochWindow key = new EpochWindow(from, to);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.snapshot();
+            }
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    /** Drops, then rebuilds, the snapshots of windows touching any of the UTC days. */
+    public void invalidateDays(Set<Long> days) {
+        if (!days.isEmpty()) {
+            invalidate(window -> window.coversAny(days), entry -> true);
+        }
+    }
+
+    /** Drops, then rebuilds, the snapshots embedding any of the users; for changes already committed. */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        long[] changed = userIds.stream().mapToLong(Long::longValue).toArray();
+        // A load in progress may hold any user, so none of them is kept
+        invalidate(window -> true, entry -> entry.snapshot().embedsAny(changed));
+    }
+
+    public void invalidateUsersAfterCommit(Collection<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateUsers(userIds);
+                }
+            });
+        } else {
+            invalidateUsers(userIds);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidate(window -> true, entry -> true);
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        synchronized (this) {
+            return new Stats(hitCount, misses.sum(), rebuilt.sum(), evictions.sum(), invalidations.sum(),
+                    entries.size(), totalBytes, maxBytes, total == 0 ? 0 : (double) hitCount / total);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    private DaySnapshot load(EpochWindow key, Supplier<List<Appointment>> loader) {
+        Object token = new Object();
+        synchronized (this) {
+            loading.put(key, token);
+        }
+        DaySnapshot snapshot;
+        try {
+            snapshot = encode(loader.get());
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loading.remove(key, token);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            if (loading.remove(key, token)) {
+                store(key, new Entry(snapshot, loader));
+            }
+        }
+        return snapshot;
+    }
+
+    // Called with the lock held
+    private void store(EpochWindow key, Entry entry) {
+        long bytes = entry.snapshot().bytes();
+        if (bytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.snapshot().bytes();
+        }
+        totalBytes += bytes;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().snapshot().bytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void invalidate(Predicate<EpochWindow> loadsAffected, Predicate<Entry> entriesAffected) {
+        Map<EpochWindow, Entry> dropped = new HashMap<>();
+        synchronized (this) {
+            loading.keySet().removeIf(loadsAffected);
+            Iterator<Map.Entry<EpochWindow, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<EpochWindow, Entry> cached = iterator.next();
+                if (loadsAffected.test(cached.getKey()) && entriesAffected.test(cached.getValue())) {
+                    totalBytes -= cached.getValue().snapshot().bytes();
+                    dropped.put(cached.getKey(), cached.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+        invalidations.add(dropped.size());
+        dropped.forEach((key, entry) -> scheduleRebuild(key, entry.loader()));
+    }
+
+    // Runs after the writer's commit, so the rebuild reads what it wrote
+    private void scheduleRebuild(EpochWindow key, Supplier<List<Appointment>> loader) {
+        if (!queued.add(key)) {
+            return;
+        }
+        try {
+            rebuilds.execute(() -> {
+                queued.remove(key);
+                try {
+                    load(key, loader);
+                    rebuilt.increment();
+                } catch (RuntimeException e) {
+                    logger.warn("⚠️ Could not rebuild day snapshot {}: {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: the next reader of that day loads it instead
+            queued.remove(key);
+        }
+    }
+
+    private DaySnapshot encode(List<Appointment> appointments) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(appointments);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        long[] userIds = appointments.stream().mapToLong(a -> a.getUser().getId()).distinct().sorted().toArray();
+        return new DaySnapshot(buffer(json), json.length >= gzipMinSize.toBytes() ? buffer(gzip(json)) : null, userIds);
+    }
+
+    private ByteBuffer buffer(byte[] bytes) {
+        return direct ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() : ByteBuffer.wrap(bytes);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Entry(DaySnapshot snapshot, Supplier<List<Appointment>> loader) {
+    }
+
+    /** Counters since startup; {@code hitRatio} is the share of reads served from a kept snapshot. */
+    public record Stats(long hits, long misses, long rebuilds, long evictions, long invalidations,
+                        int entries, long bytes, long maxBytes, double hitRatio) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.app.appointment_booking_system.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record at a time, quoted fields may contain commas,
+ * doubled quotes and line breaks. Only the current record is held in memory.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private long lineNumber = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** Line on which the last returned record started (1-based). */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /** Next record, or {@code null} at end of input. Blank lines are skipped. */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAny = false;
+        recordLine = lineNumber;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '"' && field.length() == 0) {
+                quoted = true;
+                sawAny = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                sawAny = true;
+            } else if (c == '\r') {
+                // handled with the following \n
+            } else if (c == '\n') {
+                lineNumber++;
+                if (!sawAny && field.length() == 0) {
+                    recordLine = lineNumber;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                sawAny = true;
+            }
+        }
+        if (!sawAny && field.length() == 0) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
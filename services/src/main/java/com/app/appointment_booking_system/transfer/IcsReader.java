@@ -0,0 +1,147 @@
+package com.app.appointment_booking_system.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming iCalendar reader returning one VEVENT at a time as a map of property name
+ * to (unescaped) value, with parameters kept as written under "NAME;PARAMS" (see
+ * {@link #parameter}). Folded lines are unfolded on the fly; only the current event is
+ * held in memory.
+ */
+public class IcsReader {
+
+    private static final String PARAMS = ";PARAMS";
+
+    private final BufferedReader reader;
+    private String lookahead;
+    private long lookaheadLine;
+    private long lineNumber;
+    // First physical line of the last unfolded line
+    private long unfoldedLine;
+    private long eventLine;
+
+    public IcsReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public long getEventLine() {
+        return eventLine;
+    }
+
+    /** Next VEVENT, or {@code null} at end of input. */
+    public Map<String, String> nextEvent() throws IOException {
+        Map<String, String> event = null;
+        String line;
+        while ((line = nextUnfoldedLine()) != null) {
+            if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                event = new HashMap<>();
+                eventLine = unfoldedLine;
+            } else if (line.equalsIgnoreCase("END:VEVENT") && event != null) {
+                return event;
+            } else if (event != null) {
+                int colon = valueSeparator(line);
+                if (colon > 0) {
+                    String nameWithParams = line.substring(0, colon);
+                    int semicolon = nameWithParams.indexOf(';');
+                    String name = (semicolon < 0 ? nameWithParams : nameWithParams.substring(0, semicolon)).toUpperCase();
+                    if (event.putIfAbsent(name, unescape(line.substring(colon + 1))) == null && semicolon >= 0) {
+                        event.put(name + PARAMS, nameWithParams.substring(semicolon + 1));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Value of a parameter of the event's property, e.g. TZID of DTSTART, unquoted; null
+     * if the property or the parameter is absent. Names are matched ignoring case.
+     */
+    public static String parameter(Map<String, String> event, String property, String parameter) {
+        String params = event.get(property.toUpperCase() + PARAMS);
+        if (params == null) {
+            return null;
+        }
+        int start = 0;
+        boolean quoted = false;
+        for (int i = 0; i <= params.length(); i++) {
+            if (i < params.length() && params.charAt(i) == '"') {
+                quoted = !quoted;
+            } else if (i == params.length() || (params.charAt(i) == ';' && !quoted)) {
+                String param = params.substring(start, i);
+                int equals = param.indexOf('=');
+                if (equals > 0 && param.substring(0, equals).trim().equalsIgnoreCase(parameter)) {
+                    String value = param.substring(equals + 1).trim();
+                    return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                            ? value.substring(1, value.length() - 1)
+                            : value;
+                }
+                start = i + 1;
+            }
+        }
+        return null;
+    }
+
+    private String nextUnfoldedLine() throws IOException {
+        String line;
+        if (lookahead != null) {
+            line = lookahead;
+            unfoldedLine = lookaheadLine;
+            lookahead = null;
+        } else {
+            line = readLine();
+            unfoldedLine = lineNumber;
+        }
+        if (line == null) {
+            return null;
+        }
+        StringBuilder unfolded = new StringBuilder(line);
+        String next;
+        // Reading ahead to find the end of a folded line moves lineNumber on by one
+        while ((next = readLine()) != null && (next.startsWith(" ") || next.startsWith("\t"))) {
+            unfolded.append(next, 1, next.length());
+        }
+        lookahead = next;
+        lookaheadLine = lineNumber;
+        return unfolded.toString();
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    // First ':' that is not inside a quoted parameter value
+    private static int valueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static String unescape(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char n = value.charAt(++i);
+                out.append(n == 'n' || n == 'N' ? '\n' : n);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.appointment_booking_system.transfer;
+
+import com.app.appointment_booking_system.model.Appointment;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes appointments as an iCalendar (RFC 5545) stream, one VEVENT per appointment.
+ * Times are written in UTC from the stored instant, so any calendar client shows them in its own zone.
+ */
+public class IcsWriter {
+
+    static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer writer;
+    private final int slotMinutes;
+    private final String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_FORMAT);
+
+    public IcsWriter(Writer writer, int slotMinutes) {
+        this.writer = writer;
+        this.slotMinutes = slotMinutes;
+    }
+
+    public void begin() throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Appointment Booking System//EN");
+        line("CALSCALE:GREGORIAN");
+    }
+
+    public void write(Appointment appointment) throws IOException {
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(appointment.getStartsAt()), ZoneOffset.UTC);
+        line("BEGIN:VEVENT");
+        line("UID:appointment-" + appointment.getId() + "@appointment-booking-system");
+        line("DTSTAMP:" + stamp);
+        line("DTSTART:" + start.format(UTC_FORMAT));
+        line("DTEND:" + start.plusMinutes(slotMinutes).format(UTC_FORMAT));
+        line("SUMMARY:" + escape("Appointment - " + appointment.getUser().getName()));
+        if (appointment.getNotes() != null) {
+            line("DESCRIPTION:" + escape(appointment.getNotes()));
+        }
+        line("STATUS:" + (appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED ? "CANCELLED" : "CONFIRMED"));
+        // Parameter values cannot be escaped, only quoted, so quotes are dropped from the name
+        line("ATTENDEE;CN=\"" + appointment.getUser().getName().replace("\"", "") + "\":mailto:"
+                + appointment.getUser().getEmail());
+        line("X-APPOINTMENT-STATUS:" + appointment.getStatus().name());
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+    }
+
+    static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    // Content lines are folded at 75 octets (RFC 5545 §3.1)
+    private void line(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_LINE_OCTETS) {
+            writer.write(content);
+            writer.write("\r\n");
+            return;
+        }
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + size > limit) {
+                writer.write("\r\n ");
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            writer.write(Character.toChars(codePoint));
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+}
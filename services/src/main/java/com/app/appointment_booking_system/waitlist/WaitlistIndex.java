@@ -0,0 +1,212 @@
+package com.app.appointment_booking_system.waitlist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * In-memory interval index of waiting entries.
+ *
+ * Windows and slots are UTC epoch milliseconds, so waiters booked from different zones
+ * share one timeline. Each window is stored once, in a balanced tree ordered by window
+ * start where every node also knows the latest window end below it. A freed slot only
+ * descends into subtrees that can still hold a window containing it, so finding the m
+ * waiters whose window contains the slot costs O(log n + m), however long the windows or
+ * busy the day; the first {@code limit} of them by entry id (first come, first served) are
+ * kept in a bounded heap. add/remove cost O(log n). The database stays the source of truth:
+ * callers claim a candidate with a conditional update and drop it from the index when the
+ * claim fails.
+ */
+public class WaitlistIndex {
+
+    private static final Comparator<Waiter> BY_START =
+            Comparator.comparingLong(Waiter::windowStart).thenComparingLong(Waiter::id);
+    private static final Comparator<Waiter> BY_END =
+            Comparator.comparingLong(Waiter::windowEnd).thenComparingLong(Waiter::id);
+
+    private final Map<Long, Waiter> byId = new HashMap<>();
+    // For evicting closed windows from the front
+    private final TreeSet<Waiter> byEnd = new TreeSet<>(BY_END);
+    private Node root;
+
+    public synchronized void add(Waiter waiter) {
+        remove(waiter.id());
+        byId.put(waiter.id(), waiter);
+        byEnd.add(waiter);
+        root = insert(root, waiter);
+    }
+
+    public synchronized void remove(long id) {
+        Waiter waiter = byId.remove(id);
+        if (waiter != null) {
+            byEnd.remove(waiter);
+            root = delete(root, waiter);
+        }
+    }
+
+    /** Waiters whose window contains the slot, highest priority first. */
+    public synchronized List<Waiter> candidatesFor(long slot, int limit) {
+        // Max-heap on id: holds the lowest ids seen so far
+        PriorityQueue<Waiter> lowest = new PriorityQueue<>(limit, Comparator.comparingLong(Waiter::id).reversed());
+        collect(root, slot, limit, lowest);
+        List<Waiter> candidates = new ArrayList<>(lowest);
+        candidates.sort(Comparator.comparingLong(Waiter::id));
+        return candidates;
+    }
+
+    /** Drops waiters whose window closed before {@code now}. */
+    public synchronized void evictBefore(long now) {
+        Waiter first;
+        while ((first = byEnd.isEmpty() ? null : byEnd.first()) != null && first.windowEnd() <= now) {
+            remove(first.id());
+        }
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        byEnd.clear();
+        root = null;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private static void collect(Node node, long slot, int limit, PriorityQueue<Waiter> lowest) {
+        // Nothing below ends after the slot
+        if (node == null || node.maxEnd <= slot) {
+            return;
+        }
+        collect(node.left, slot, limit, lowest);
+        // Everything to the right starts after the slot
+        if (node.waiter.windowStart() > slot) {
+            return;
+        }
+        if (node.waiter.contains(slot)) {
+            lowest.add(node.waiter);
+            if (lowest.size() > limit) {
+                lowest.poll();
+            }
+        }
+        collect(node.right, slot, limit, lowest);
+    }
+
+    // AVL tree ordered by BY_START, each node carrying the largest window end of its subtree
+
+    private static final class Node {
+        final Waiter waiter;
+        Node left;
+        Node right;
+        int height = 1;
+        long maxEnd;
+
+        Node(Waiter waiter) {
+            this.waiter = waiter;
+            this.maxEnd = waiter.windowEnd();
+        }
+    }
+
+    private static Node insert(Node node, Waiter waiter) {
+        if (node == null) {
+            return new Node(waiter);
+        }
+        if (BY_START.compare(waiter, node.waiter) < 0) {
+            node.left = insert(node.left, waiter);
+        } else {
+            node.right = insert(node.right, waiter);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, Waiter waiter) {
+        if (node == null) {
+            return null;
+        }
+        int order = BY_START.compare(waiter, node.waiter);
+        if (order < 0) {
+            node.left = delete(node.left, waiter);
+        } else if (order > 0) {
+            node.right = delete(node.right, waiter);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.waiter);
+            replacement.left = node.left;
+            replacement.right = delete(node.right, successor.waiter);
+            node = replacement;
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.waiter.windowEnd();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    public record Waiter(long id, long windowStart, long windowEnd) {
+
+        // windowEnd is exclusive
+        boolean contains(long slot) {
+            return slot >= windowStart && slot < windowEnd;
+        }
+    }
+}
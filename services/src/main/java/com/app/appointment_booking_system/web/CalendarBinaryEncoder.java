@@ -0,0 +1,86 @@
+package com.app.appointment_booking_system.web;
+
+import com.app.appointment_booking_system.model.Appointment;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact columnar encoding of an appointment list for calendar views.
+ *
+ * Layout (all integers are unsigned LEB128 varints, signed ones zig-zag encoded first):
+ * <pre>
+ *   "APC2"                        magic + format version
+ *   count                         number of appointments
+ *   userCount, userId[]           distinct user ids, ascending, delta-encoded
+ *   appointmentId[]   (signed)    delta from the previous id
+ *   userIndex[]                   index into the user dictionary
+ *   startMinute[]     (signed)    UTC epoch minutes of the start instant, delta from previous
+ *   status[]                      one byte per appointment: Appointment.AppointmentStatus ordinal
+ * </pre>
+ * A month view costs a few bytes per appointment instead of a full JSON object with a
+ * nested user. Clients resolve user ids against their own user list and render start
+ * minutes in their own zone. (APC1 carried server wall-clock minutes instead.)
+ */
+public final class CalendarBinaryEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-appointment-calendar";
+
+    private static final byte[] MAGIC = {'A', 'P', 'C', '2'};
+
+    private CalendarBinaryEncoder() {}
+
+    public static byte[] encode(List<Appointment> appointments) {
+        int count = appointments.size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + count * 8);
+        out.writeBytes(MAGIC);
+        writeVarint(out, count);
+
+        // User dictionary
+        long[] userIds = appointments.stream().mapToLong(a -> a.getUser().getId()).distinct().sorted().toArray();
+        Map<Long, Integer> userIndex = new HashMap<>(userIds.length * 2);
+        writeVarint(out, userIds.length);
+        long previous = 0;
+        for (int i = 0; i < userIds.length; i++) {
+            writeVarint(out, userIds[i] - previous);
+            previous = userIds[i];
+            userIndex.put(userIds[i], i);
+        }
+
+        previous = 0;
+        for (Appointment appointment : appointments) {
+            writeVarint(out, zigZag(appointment.getId() - previous));
+            previous = appointment.getId();
+        }
+
+        for (Appointment appointment : appointments) {
+            writeVarint(out, userIndex.get(appointment.getUser().getId()));
+        }
+
+        previous = 0;
+        for (Appointment appointment : appointments) {
+            long minute = Math.floorDiv(appointment.getStartsAt(), 60_000L);
+            writeVarint(out, zigZag(minute - previous));
+            previous = minute;
+        }
+
+        for (Appointment appointment : appointments) {
+            out.write(appointment.getStatus().ordinal());
+        }
+        return out.toByteArray();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
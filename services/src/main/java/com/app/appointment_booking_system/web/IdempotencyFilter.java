@@ -0,0 +1,293 @@
+package com.app.appointment_booking_system.web;
+
+import com.app.appointment_booking_system.web.IdempotencyKeyStore.Entry;
+import com.app.appointment_booking_system.web.IdempotencyKeyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes mutating appointment/user requests safe to retry.
+ *
+ * A request carrying an {@code Idempotency-Key} header is executed at most once per
+ * (principal, method, path, key); retries get the original response replayed with an
+ * {@code Idempotent-Replayed: true} header. Registered in {@link
+ * com.app.appointment_booking_system.security.SecurityConfig} after authorization so
+ * only authenticated requests reach the store.
+ *
+ * The key is bound to a SHA-256 fingerprint of the Content-Type and body: reusing it with
+ * a different payload is answered with 422 instead of the first request's response. Bodies
+ * are buffered for this up to 1 MiB; larger ones (bulk imports) run without deduplication.
+ * If the leader fails without a response, one waiting duplicate claims the key again and
+ * executes while the others keep waiting on it.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_STORED_BODY_BYTES = 256 * 1024;
+    private static final int MAX_FINGERPRINTED_BODY_BYTES = 1024 * 1024;
+    private static final long WAIT_FOR_LEADER_SECONDS = 30;
+    private static final int SC_UNPROCESSABLE_ENTITY = 422;
+
+    private final IdempotencyKeyStore store;
+
+    public IdempotencyFilter(IdempotencyKeyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!MUTATING_METHODS.contains(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !(path.startsWith("/api/appointments") || path.startsWith("/api/users"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid Idempotency-Key header");
+            return;
+        }
+        if (!store.hasCapacity()) {
+            logger.warn("Idempotency key store is full, executing request without deduplication");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BufferedBodyRequest buffered = BufferedBodyRequest.read(request, MAX_FINGERPRINTED_BODY_BYTES);
+        if (!buffered.isComplete()) {
+            logger.debug("Request body over {} bytes, executing without deduplication", MAX_FINGERPRINTED_BODY_BYTES);
+            filterChain.doFilter(buffered, response);
+            return;
+        }
+
+        String scope = principal() + ' ' + request.getMethod() + ' ' + request.getRequestURI() + ' ' + idempotencyKey;
+        String fingerprint = fingerprint(request.getContentType(), buffered.body());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_FOR_LEADER_SECONDS);
+        while (true) {
+            Entry existing = store.claim(scope, fingerprint);
+            if (existing == null) {
+                executeAsLeader(scope, buffered, response, filterChain);
+                return;
+            }
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                response.sendError(SC_UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = existing.getResult().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpServletResponse.SC_CONFLICT,
+                        "A request with this Idempotency-Key is still being processed");
+                return;
+            } catch (ExecutionException e) {
+                // The leader failed without a response: claim again, so one duplicate runs and the rest wait on it
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+            replay(stored, response);
+            return;
+        }
+    }
+
+    private void executeAsLeader(String scope,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.fail(scope, e);
+            throw e;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (body.length > MAX_STORED_BODY_BYTES) {
+            store.fail(scope, new IllegalStateException("Response too large to store"));
+        } else {
+            store.complete(scope, new StoredResponse(
+                    wrapper.getStatus(),
+                    wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION),
+                    wrapper.getHeader(HttpHeaders.ETAG),
+                    body));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.eTag());
+        }
+        if (stored.body().length == 0 && stored.status() >= 400) {
+            // Errors are rendered by the error page, so replay them the same way
+            response.sendError(stored.status());
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    static String fingerprint(String contentType, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update((contentType == null ? "" : contentType).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(body);
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    /**
+     * The request with its body read up front, up to a limit. Past the limit only the first
+     * part is buffered and the rest is still streamed from the original request.
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private final boolean complete;
+        private final InputStream rest;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body, boolean complete, InputStream rest) {
+            super(request);
+            this.body = body;
+            this.complete = complete;
+            this.rest = rest;
+        }
+
+        static BufferedBodyRequest read(HttpServletRequest request, int limit) throws IOException {
+            InputStream in = request.getInputStream();
+            byte[] head = in.readNBytes(limit + 1);
+            if (head.length <= limit) {
+                return new BufferedBodyRequest(request, head, true, InputStream.nullInputStream());
+            }
+            return new BufferedBodyRequest(request, head, false, in);
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new SequenceInputStream(new ByteArrayInputStream(body), rest);
+            return new ServletInputStream() {
+                private boolean finished;
+                private boolean listening;
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = in.read(buffer, offset, length);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Reads never have to wait (the body is in memory or comes from a blocking
+                // stream), so the listener reads it all in onDataAvailable, then hears onAllDataRead
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (listening) {
+                        throw new IllegalStateException("A read listener is already set");
+                    }
+                    listening = true;
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
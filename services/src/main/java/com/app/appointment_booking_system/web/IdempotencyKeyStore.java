@@ -0,0 +1,110 @@
+package com.app.appointment_booking_system.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of responses keyed by Idempotency-Key scope.
+ *
+ * The first request for a key becomes the leader and executes; concurrent duplicates
+ * wait on the leader's future and replay its result. Each entry keeps the fingerprint of
+ * the request that claimed it, so a key reused for a different request can be refused.
+ * Completed entries live for the configured TTL and are swept periodically.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Claims the key. Returns {@code null} if the caller is the leader and must execute
+     * the request, otherwise the entry whose result should be replayed.
+     */
+    public Entry claim(String key, String fingerprint) {
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(fingerprint);
+        Entry existing = entries.compute(key, (k, current) ->
+                current == null || current.isExpired(now) ? created : current);
+        return existing == created ? null : existing;
+    }
+
+    /** Whether there is room for another key; callers simply skip idempotency when full. */
+    public boolean hasCapacity() {
+        return entries.size() < maxEntries;
+    }
+
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (response.isReplayable()) {
+            entry.expiresAt = System.currentTimeMillis() + ttlMinutes * 60_000;
+        } else {
+            // Failures are not remembered: a retry must be allowed to execute again
+            entries.remove(key, entry);
+        }
+        entry.result.complete(response);
+    }
+
+    public void fail(String key, Throwable error) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.result.completeExceptionally(error);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static final class Entry {
+
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        private final String fingerprint;
+
+        // Long.MAX_VALUE while the leader is still in flight
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> getResult() {
+            return result;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt < now;
+        }
+    }
+
+    /** Minimal snapshot of a response: status, content type, a few headers and the body bytes. */
+    public record StoredResponse(int status, String contentType, String location, String eTag, byte[] body) {
+
+        boolean isReplayable() {
+            // Auth failures and server errors must not be pinned to the key
+            return status < 500 && status != 401 && status != 403;
+        }
+    }
+}
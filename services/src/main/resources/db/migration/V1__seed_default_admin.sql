@@ -0,0 +1,14 @@
+-- Seeds the default admin once instead of checking (and hashing) on every startup.
+-- The table is normally created by Hibernate; it is declared here as well so the
+-- migration also works against an empty database, where Flyway runs first.
+CREATE TABLE IF NOT EXISTS admins (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL
+);
+
+-- password: admin123 (BCrypt, strength 10)
+INSERT INTO admins (name, email, password)
+SELECT 'admin', 'admin@system.com', '$2a$10$PbVOsC5/8.2T3haj1THQe.OUx7eNqg9Q/a5vkbbbvHSMLo6LTPqfO'
+WHERE NOT EXISTS (SELECT 1 FROM admins WHERE email = 'admin@system.com');
@@ -0,0 +1,267 @@
+package com.app.appointment_booking_system;
+
+import com.app.appointment_booking_system.cluster.CacheInvalidation;
+import com.app.appointment_booking_system.cluster.InvalidationTransport;
+import com.app.appointment_booking_system.coalesce.AppointmentReadCoalescer;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.CreateUserRequest;
+import com.app.appointment_booking_system.dto.HoldSlotRequest;
+import com.app.appointment_booking_system.dto.JoinWaitlistRequest;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.CacheInvalidationEvent;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.model.WaitlistEntry;
+import com.app.appointment_booking_system.model.WaitlistEntry.WaitlistStatus;
+import com.app.appointment_booking_system.repository.CacheInvalidationEventRepository;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotHoldService;
+import com.app.appointment_booking_system.service.UserDeletionService;
+import com.app.appointment_booking_system.service.UserService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application instances in one JVM sharing an in-memory database: writes on one must
+ * reach the other's search indexes, coalesced reads, slot holds and waitlist index within
+ * the staleness bound.
+ */
+class ClusterInvalidationTests {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    // Poll interval plus generous slack for a loaded build machine
+    private static final Duration STALENESS_BOUND = Duration.ofSeconds(3);
+
+    @Test
+    void peersConvergeThroughDatabasePolling() throws Exception {
+        assertPeersConverge("jdbc");
+    }
+
+    @Test
+    void peersConvergeThroughInMemoryTransport() throws Exception {
+        assertPeersConverge("in-memory");
+    }
+
+    @Test
+    void holdsAndWaitlistReachPeersThroughDatabasePolling() throws Exception {
+        assertHoldsAndWaitlistConverge("jdbc");
+    }
+
+    @Test
+    void holdsAndWaitlistReachPeersThroughInMemoryTransport() throws Exception {
+        assertHoldsAndWaitlistConverge("in-memory");
+    }
+
+    @Test
+    void pollDeliversPastAnOpenGap() throws Exception {
+        try (ConfigurableApplicationContext writer = startNode("node-a", "jdbc", "cluster_gap");
+             ConfigurableApplicationContext peer = startNode("node-b", "jdbc", "cluster_gap")) {
+            // A publishing insert that stays uncommitted leaves a hole below everything after it
+            CacheInvalidationEventRepository events = writer.getBean(CacheInvalidationEventRepository.class);
+            CountDownLatch inserted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> gap = CompletableFuture.runAsync(() -> new TransactionTemplate(
+                    writer.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+                events.saveAndFlush(new CacheInvalidationEvent("gap", null, null, null, null, null, null, false));
+                inserted.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status.setRollbackOnly();
+            }));
+            assertTrue(inserted.await(10, TimeUnit.SECONDS));
+            try {
+                // More messages behind the hole than one poll page
+                InvalidationTransport transport = writer.getBean(InvalidationTransport.class);
+                for (int i = 0; i < 600; i++) {
+                    transport.publish(new CacheInvalidation("node-a", Set.of(), Set.of(), Set.of(i + 1L),
+                            Set.of(), List.of(), Set.of(), false));
+                }
+                CreateUserRequest request = new CreateUserRequest();
+                request.setName("Katherine Johnson");
+                request.setPhoneNumber("5550102");
+                request.setEmail("katherine@example.com");
+                User katherine = writer.getBean(UserService.class).createUser(request);
+
+                // Well inside the 10 s gap timeout
+                UserService peerUsers = peer.getBean(UserService.class);
+                awaitWithinBound(() -> ids(peerUsers.searchUsers("katherine", 0, 10).getContent())
+                        .contains(katherine.getId()));
+            } finally {
+                release.countDown();
+                gap.get(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void assertHoldsAndWaitlistConverge(String transport) throws Exception {
+        String database = "cluster_holds_" + transport.replace('-', '_');
+        try (ConfigurableApplicationContext writer = startNode("node-a", transport, database);
+             ConfigurableApplicationContext peer = startNode("node-b", transport, database)) {
+            UserService writerUsers = writer.getBean(UserService.class);
+            UserService peerUsers = peer.getBean(UserService.class);
+            AppointmentService peerAppointments = peer.getBean(AppointmentService.class);
+            SlotHoldRegistry writerHolds = writer.getBean(SlotHoldRegistry.class);
+            SlotHoldRegistry peerHolds = peer.getBean(SlotHoldRegistry.class);
+            User holder = writerUsers.createUser(userRequest("Ada Lovelace", transport + "-ada@example.com"));
+            User other = writerUsers.createUser(userRequest("Charles Babbage", transport + "-charles@example.com"));
+            User waiter = writerUsers.createUser(userRequest("Mary Somerville", transport + "-mary@example.com"));
+            LocalDateTime slot = LocalDateTime.of(2034, 6, 2, 10, 0);
+
+            // A hold taken on the writer keeps the peer from booking the slot
+            HoldSlotRequest holdRequest = new HoldSlotRequest();
+            holdRequest.setUserId(holder.getId());
+            holdRequest.setAppointmentDateTime(slot);
+            holdRequest.setTimeZone("UTC");
+            SlotHold hold = writer.getBean(SlotHoldService.class).holdSlot(holdRequest);
+            awaitWithinBound(() -> peerHolds.heldSeats(hold.startsAt(), null) == 1);
+
+            CreateAppointmentRequest competing = new CreateAppointmentRequest(other.getId(), slot, null);
+            competing.setTimeZone("UTC");
+            ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                    () -> peerAppointments.createAppointment(competing));
+            assertEquals(HttpStatus.CONFLICT, refused.getStatusCode());
+
+            // The peer can confirm it, and the writer then drops it
+            Appointment confirmed = peer.getBean(SlotHoldService.class).confirmHold(hold.id(), null);
+            assertEquals(holder.getId(), confirmed.getUser().getId());
+            awaitWithinBound(() -> writerHolds.heldSeats(hold.startsAt(), null) == 0);
+
+            // A waiter who joined on the writer gets the slot the peer frees
+            JoinWaitlistRequest join = new JoinWaitlistRequest();
+            join.setUserId(waiter.getId());
+            join.setWindowStart(slot.minusHours(1));
+            join.setWindowEnd(slot.plusHours(2));
+            WaitlistEntry entry = writer.getBean(WaitlistService.class).joinWaitlist(join);
+            // Messages arrive in order, so once a later write shows on the peer the join has too
+            writerUsers.updateUser(waiter.getId(), new User("Mary Fairfax", waiter.getPhoneNumber(), waiter.getEmail()));
+            awaitWithinBound(() -> ids(peerUsers.searchUsers("fairfax", 0, 10).getContent()).contains(waiter.getId()));
+
+            peerAppointments.cancelAppointment(confirmed.getId());
+
+            WaitlistEntry fulfilled = peer.getBean(WaitlistService.class).getEntriesByUserId(waiter.getId()).get(0);
+            assertEquals(entry.getId(), fulfilled.getId());
+            assertEquals(WaitlistStatus.FULFILLED, fulfilled.getStatus());
+            assertNotNull(fulfilled.getAppointmentId());
+        }
+    }
+
+    private static CreateUserRequest userRequest(String name, String email) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setPhoneNumber("5550101");
+        request.setEmail(email);
+        return request;
+    }
+
+    private void assertPeersConverge(String transport) throws Exception {
+        String database = "cluster_" + transport.replace('-', '_');
+        try (ConfigurableApplicationContext writer = startNode("node-a", transport, database);
+             ConfigurableApplicationContext peer = startNode("node-b", transport, database)) {
+            UserService writerUsers = writer.getBean(UserService.class);
+            UserService peerUsers = peer.getBean(UserService.class);
+            AppointmentService peerAppointments = peer.getBean(AppointmentService.class);
+
+            // New user
+            CreateUserRequest request = new CreateUserRequest();
+            request.setName("Grace Hopper");
+            request.setPhoneNumber("5550100");
+            request.setEmail(transport + "-grace@example.com");
+            User grace = writerUsers.createUser(request);
+            awaitWithinBound(() -> ids(peerUsers.searchUsers("hopper", 0, 10).getContent()).contains(grace.getId()));
+
+            // Renamed user: the old name stops matching on the peer too
+            User renamed = new User("Grace Brewster", "5550100", grace.getEmail());
+            writerUsers.updateUser(grace.getId(), renamed);
+            awaitWithinBound(() -> ids(peerUsers.searchUsers("brewster", 0, 10).getContent()).contains(grace.getId())
+                    && peerUsers.searchUsers("hopper", 0, 10).getContent().isEmpty());
+
+            // A booking detaches the peer's in-flight reads of that day, and only that day
+            LocalDateTime slot = LocalDateTime.of(2034, 6, 1, 10, 0);
+            long day = slot.toLocalDate().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            long dayMillis = Duration.ofDays(1).toMillis();
+            AppointmentReadCoalescer peerReads = peer.getBean(AppointmentReadCoalescer.class);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<?> sameDay = blockedRead(peerReads, day, day + dayMillis, release);
+            CompletableFuture<?> otherDay = blockedRead(peerReads, day + dayMillis, day + 2 * dayMillis, release);
+            awaitWithinBound(() -> peerReads.stats().get("range").inFlight() == 2);
+
+            CreateAppointmentRequest booking = new CreateAppointmentRequest();
+            booking.setUserId(grace.getId());
+            booking.setAppointmentDateTime(slot);
+            booking.setTimeZone("UTC");
+            booking.setNotes("Telescope calibration");
+            Appointment appointment = writer.getBean(AppointmentService.class).createAppointment(booking);
+
+            awaitWithinBound(() -> peerReads.stats().get("range").invalidations() == 1);
+            assertEquals(1, peerReads.stats().get("range").inFlight(), "the other day's read is still shared");
+            release.countDown();
+            CompletableFuture.allOf(sameDay, otherDay).get(10, TimeUnit.SECONDS);
+            awaitWithinBound(() -> ids(peerAppointments.searchAppointments("telescope", 0, 10).getContent())
+                    .contains(appointment.getId()));
+
+            // Deleted user and appointments leave the peer's indexes
+            writer.getBean(UserDeletionService.class).deleteUser(grace.getId());
+            awaitWithinBound(() -> peerUsers.searchUsers("brewster", 0, 10).getContent().isEmpty()
+                    && peerAppointments.searchAppointments("telescope", 0, 10).getContent().isEmpty());
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String transport, String database) {
+        // Command-line arguments, so they win over application.yml
+        return new SpringApplicationBuilder(AppointmentBookingSystemApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--logging.file.name=target/cluster-invalidation-tests.log",
+                "--jobs.poll-interval-ms=3600000",
+                "--cluster.node-id=" + nodeId,
+                "--cluster.invalidation.transport=" + transport,
+                "--cluster.invalidation.poll-interval-ms=" + POLL_INTERVAL_MS);
+    }
+
+    // A range read on the peer that stays in flight until released
+    private static CompletableFuture<?> blockedRead(AppointmentReadCoalescer reads, long from, long to,
+                                                    CountDownLatch release) {
+        return CompletableFuture.runAsync(() -> reads.range(from, to, () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        }));
+    }
+
+    private static void awaitWithinBound(BooleanSupplier converged) throws InterruptedException {
+        long deadline = System.nanoTime() + STALENESS_BOUND.toNanos();
+        while (!converged.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "peer did not converge within " + STALENESS_BOUND);
+            Thread.sleep(10);
+        }
+    }
+
+    private static <T> List<Long> ids(List<T> rows) {
+        return rows.stream().map(row -> row instanceof User user ? user.getId() : ((Appointment) row).getId()).toList();
+    }
+}
@@ -0,0 +1,275 @@
+package com.app.appointment_booking_system;
+
+import com.app.appointment_booking_system.dto.BulkRescheduleRequest;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.ReschedulePlan;
+import com.app.appointment_booking_system.dto.SetSlotCapacityRequest;
+import com.app.appointment_booking_system.dto.SlotStatus;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.DialectQueries;
+import com.app.appointment_booking_system.repository.JobRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs the postgres profile against an embedded PostgreSQL (zonky binaries), so no external
+ * database is needed. initdb refuses to run as root, so the class is skipped in that case.
+ */
+@SpringBootTest(properties = {
+        "logging.file.name=target/postgres-profile-tests.log",
+        // Keep the job worker from claiming the jobs these tests claim by hand
+        "jobs.poll-interval-ms=3600000"
+})
+@ActiveProfiles("postgres")
+@DirtiesContext
+class PostgresProfileTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DialectQueries dialectQueries;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void requireNonRootUser() {
+        assumeFalse("root".equals(System.getProperty("user.name")), "embedded PostgreSQL cannot run as root");
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void vendorMigrationsDropSlotConstraintAndKeepPartialIndex() {
+        // Seat counters enforce slot capacity now (V5)
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'appointments_scheduled_no_overlap'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'idx_appointments_scheduled_starts_at'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM admins WHERE email = 'admin@system.com'", Integer.class));
+    }
+
+    @Test
+    void concurrentBookingsNeverExceedSlotCapacity() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2031, 3, 3, 10, 0);
+        SetSlotCapacityRequest capacity = new SetSlotCapacityRequest();
+        capacity.setDateTime(start);
+        capacity.setTimeZone("UTC");
+        capacity.setCapacity(2);
+        slotCapacityService.setCapacity(capacity);
+
+        List<CompletableFuture<Boolean>> bookings = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        for (int i = 0; i < 6; i++) {
+            User user = userRepository.save(new User("Seat " + i, "10" + i, "seat" + i + "@example.com"));
+            bookings.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    go.await(10, TimeUnit.SECONDS);
+                    appointmentService.createAppointment(booking(user, start, "UTC"));
+                    return true;
+                } catch (ResponseStatusException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                    return false;
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        go.countDown();
+
+        long booked = 0;
+        for (CompletableFuture<Boolean> booking : bookings) {
+            booked += booking.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertEquals(2, booked);
+        SlotStatus slot = slotCapacityService.getSlot(start.toInstant(UTC));
+        assertEquals(2, slot.booked());
+        assertEquals(0, slot.available());
+        assertEquals(2, appointmentRepository.countScheduledByStartsAt(start.toInstant(UTC).toEpochMilli()));
+    }
+
+    @Test
+    void slotsAreComparedByInstantAcrossZones() {
+        User user = userRepository.save(new User("Zones", "150", "zones@example.com"));
+        LocalDateTime tenUtc = LocalDateTime.of(2031, 4, 4, 10, 0);
+
+        appointmentService.createAppointment(booking(user, tenUtc, "UTC"));
+
+        // 12:00 in Berlin (summer time) is 10:00 UTC
+        ResponseStatusException conflict = assertThrows(ResponseStatusException.class,
+                () -> appointmentService.createAppointment(booking(user, tenUtc.plusHours(2), "Europe/Berlin")));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+        // 10:00 in New York is a different slot
+        appointmentService.createAppointment(booking(user, tenUtc, "America/New_York"));
+    }
+
+    @Test
+    void concurrentArchiveClaimsSkipLockedRows() throws Exception {
+        User user = userRepository.save(new User("Archive", "200", "archive@example.com"));
+        List<Appointment> old = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Appointment appointment = new Appointment(user, LocalDateTime.of(2001, 1, 1, 9 + i, 0), UTC, null);
+            appointment.setStatus(AppointmentStatus.COMPLETED);
+            old.add(appointment);
+        }
+        appointmentRepository.saveAllAndFlush(old);
+
+        Set<AppointmentStatus> statuses = Set.of(AppointmentStatus.COMPLETED);
+        long cutoff = LocalDateTime.of(2002, 1, 1, 0, 0).toInstant(UTC).toEpochMilli();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            List<Long> ids = dialectQueries.claimArchivableIds(statuses, cutoff, 2);
+            firstClaimed.countDown();
+            try {
+                // Hold the row locks until the second claim has run
+                secondDone.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+
+        assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+        List<Long> second = tx.execute(status -> dialectQueries.claimArchivableIds(statuses, cutoff, 10));
+        secondDone.countDown();
+
+        Set<Long> claimed = new HashSet<>(first.get(10, TimeUnit.SECONDS));
+        assertEquals(2, claimed.size());
+        assertEquals(2, second.size());
+        second.forEach(id -> assertTrue(claimed.add(id), "row claimed twice: " + id));
+    }
+
+    @Test
+    void concurrentJobClaimsGetDifferentJobs() throws Exception {
+        jobRepository.saveAllAndFlush(List.of(new Job("test", null, "{}", 3), new Job("test", null, "{}", 3)));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        CompletableFuture<Optional<Long>> first = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<Long> id = dialectQueries.claimNextJob("worker-a", now, now.plusMinutes(1));
+            firstClaimed.countDown();
+            try {
+                secondDone.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+
+        assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+        Optional<Long> second = tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            return dialectQueries.claimNextJob("worker-b", now, now.plusMinutes(1));
+        });
+        secondDone.countDown();
+
+        Optional<Long> firstId = first.get(10, TimeUnit.SECONDS);
+        assertTrue(firstId.isPresent());
+        assertTrue(second.isPresent());
+        assertNotEquals(firstId.get(), second.get());
+        assertEquals("worker-b", jobRepository.findById(second.get()).orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void bulkShiftMovesBackToBackSlotsOntoEachOther() {
+        User user = userRepository.save(new User("Shift", "300", "shift@example.com"));
+        LocalDateTime start = LocalDateTime.of(2032, 5, 5, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            appointmentRepository.saveAndFlush(new Appointment(user, start.plusHours(i), UTC, null));
+        }
+
+        // Each row lands on its neighbour's slot; seats are released before they are claimed
+        BulkRescheduleRequest request = new BulkRescheduleRequest();
+        request.setWindowStart(start);
+        request.setWindowEnd(start.plusHours(3));
+        request.setOffsetMinutes(60L);
+        ReschedulePlan plan = appointmentService.rescheduleWindow(request);
+
+        assertTrue(plan.isApplied());
+        assertEquals(3, plan.getTotal());
+        assertEquals(List.of(start.plusHours(1), start.plusHours(2), start.plusHours(3)),
+                appointmentRepository.findScheduledAppointmentsInRange(
+                                start.toInstant(UTC).toEpochMilli(), start.plusHours(4).toInstant(UTC).toEpochMilli()).stream()
+                        .map(Appointment::getAppointmentDateTime).toList());
+    }
+
+    private static CreateAppointmentRequest booking(User user, LocalDateTime dateTime, String zone) {
+        CreateAppointmentRequest request = new CreateAppointmentRequest();
+        request.setUserId(user.getId());
+        request.setAppointmentDateTime(dateTime);
+        request.setTimeZone(zone);
+        return request;
+    }
+}
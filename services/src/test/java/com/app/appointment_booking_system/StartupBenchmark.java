@@ -0,0 +1,122 @@
+package com.app.appointment_booking_system;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures time-to-first-request: from process launch until POST /api/auth/login answers 200.
+ * Not a unit test (surefire ignores it). Build with the fast-start profile, then run:
+ *
+ *   mvn -Pfast-start -DskipTests package
+ *   java -cp target/test-classes com.app.appointment_booking_system.StartupBenchmark [runs]
+ *
+ * Each variant runs against a throwaway in-memory database on a free port.
+ */
+public class StartupBenchmark {
+
+    private static final Path CDS_DIR = Path.of("target", "cds");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String LOGIN_BODY = "{\"email\":\"admin@system.com\",\"password\":\"admin123\"}";
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Path jar = findJar();
+        Path archive = CDS_DIR.resolve("application.jsa");
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("default", List.of(), List.of()));
+        variants.add(new Variant("fast profile", List.of(), List.of("--spring.profiles.active=fast")));
+        if (Files.exists(archive)) {
+            variants.add(new Variant("fast + AOT + AppCDS",
+                    List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"),
+                    List.of("--spring.profiles.active=fast")));
+        }
+
+        System.out.printf("Jar: %s, %d run(s) per variant%n", jar, runs);
+        for (Variant variant : variants) {
+            List<Long> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(timeToFirstRequest(jar, variant));
+            }
+            Collections.sort(samples);
+            System.out.printf("%-22s min %5d ms   median %5d ms   max %5d ms%n",
+                    variant.name(), samples.get(0), samples.get(samples.size() / 2), samples.get(samples.size() - 1));
+        }
+    }
+
+    private static long timeToFirstRequest(Path jar, Variant variant) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArgs());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:benchmark");
+        command.add("--logging.file.name=" + log);
+        command.addAll(variant.appArgs());
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful request within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static Path findJar() throws IOException {
+        // Prefer the extracted jar so every variant loads classes the same way
+        Path dir = Files.isDirectory(CDS_DIR) ? CDS_DIR : Path.of("target");
+        try (var files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().matches("appointment-booking-system-.*(?<!-plain)\\.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + dir + "; run mvn package first"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Variant(String name, List<String> jvmArgs, List<String> appArgs) {}
+}
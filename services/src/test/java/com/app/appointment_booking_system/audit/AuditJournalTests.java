@@ -0,0 +1,207 @@
+package com.app.appointment_booking_system.audit;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTests {
+
+    // Four records per segment
+    private static final int SEGMENT_BYTES = 4 * AuditRecord.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void rollsIntoNewSegmentWhenFull() throws IOException {
+        journal = open();
+        for (long id = 1; id <= 10; id++) {
+            record(journal, AuditAction.CREATED, id);
+        }
+
+        assertEquals(List.of("00000000000000000001.journal", "00000000000000000005.journal",
+                "00000000000000000009.journal"), segmentNames());
+        AuditJournal.Stats stats = journal.stats();
+        assertTrue(stats.writing());
+        assertEquals(10, stats.lastSequence());
+        assertEquals(3, stats.segments());
+        assertEquals(8, stats.durableSequence(), "full segments are forced when rolled");
+
+        journal.flush();
+        assertEquals(10, journal.stats().durableSequence());
+    }
+
+    @Test
+    void historyFindsChangesAcrossSegmentsInOrder() {
+        journal = open();
+        record(journal, AuditAction.CREATED, 7);
+        for (long id = 1; id <= 5; id++) {
+            record(journal, AuditAction.CREATED, 100 + id);
+        }
+        record(journal, AuditAction.RESCHEDULED, 7);
+        record(journal, AuditAction.CANCELLED, 7);
+
+        List<AuditRecord> history = journal.history(7);
+
+        assertEquals(List.of(AuditAction.CREATED, AuditAction.RESCHEDULED, AuditAction.CANCELLED),
+                history.stream().map(AuditRecord::action).toList());
+        assertEquals(List.of(1L, 7L, 8L), history.stream().map(AuditRecord::sequence).toList());
+        assertEquals(List.of(), journal.history(999));
+    }
+
+    @Test
+    void historyPicksUpRecordsAppendedAfterTheFirstRead() {
+        journal = open();
+        record(journal, AuditAction.CREATED, 7);
+        assertEquals(1, journal.history(7).size());
+
+        record(journal, AuditAction.UPDATED, 7);
+        record(journal, AuditAction.COMPLETED, 7);
+
+        assertEquals(3, journal.history(7).size());
+    }
+
+    @Test
+    void resumesAfterLastRecordOnRestart() throws IOException {
+        journal = open();
+        for (long id = 1; id <= 6; id++) {
+            record(journal, AuditAction.CREATED, id);
+        }
+        journal.close();
+
+        journal = open();
+        record(journal, AuditAction.UPDATED, 1);
+
+        assertEquals(7, journal.stats().lastSequence());
+        assertEquals(List.of(1L, 7L), journal.history(1).stream().map(AuditRecord::sequence).toList());
+        assertEquals(2, segmentNames().size());
+    }
+
+    @Test
+    void overwritesTornRecordAtTheTail() throws IOException {
+        journal = open();
+        for (long id = 1; id <= 2; id++) {
+            record(journal, AuditAction.CREATED, id);
+        }
+        journal.close();
+        // A third record whose checksum never made it to disk
+        try (FileChannel file = FileChannel.open(directory.resolve("00000000000000000001.journal"),
+                StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(AuditRecord.BYTES);
+            torn.putLong(0, 3).putLong(16, 3);
+            file.write(torn, 2L * AuditRecord.BYTES);
+        }
+
+        journal = open();
+        assertEquals(2, journal.stats().lastSequence());
+        assertEquals(List.of(), journal.history(3));
+
+        record(journal, AuditAction.CREATED, 4);
+        List<AuditRecord> replaced = journal.history(4);
+        assertEquals(1, replaced.size());
+        assertEquals(3, replaced.get(0).sequence());
+    }
+
+    @Test
+    void windowReturnsRecordsInRangeAcrossSegments() {
+        journal = open();
+        for (long id = 1; id <= 10; id++) {
+            record(journal, AuditAction.CREATED, id);
+        }
+        List<AuditRecord> all = journal.window(Instant.EPOCH, Instant.now().plusSeconds(60), 100);
+        assertEquals(10, all.size());
+        // Pin the timestamps: recordedAt is never decreasing, so use the journal's own
+        Instant from = all.get(3).recordedAt();
+        Instant to = all.get(8).recordedAt();
+
+        List<AuditRecord> window = journal.window(from, to, 100);
+
+        assertFalse(window.isEmpty());
+        for (AuditRecord record : window) {
+            assertFalse(record.recordedAt().isBefore(from));
+            assertTrue(record.recordedAt().isBefore(to));
+        }
+        long expected = all.stream()
+                .filter(record -> !record.recordedAt().isBefore(from) && record.recordedAt().isBefore(to))
+                .count();
+        assertEquals(expected, window.size());
+        assertEquals(List.of(1L, 2L), journal.window(Instant.EPOCH, Instant.now().plusSeconds(60), 2)
+                .stream().map(AuditRecord::sequence).toList());
+        assertEquals(List.of(), journal.window(Instant.now().plusSeconds(60), Instant.now().plusSeconds(120), 100));
+    }
+
+    @Test
+    void secondInstanceOnlyReads() throws IOException {
+        journal = open();
+        record(journal, AuditAction.CREATED, 1);
+
+        AuditJournal reader = open();
+        try {
+            assertFalse(reader.stats().writing());
+            record(reader, AuditAction.UPDATED, 1);
+            assertEquals(1, reader.history(1).size());
+
+            record(journal, AuditAction.CANCELLED, 1);
+            assertEquals(2, reader.history(1).size(), "sees the writer's later appends");
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void disabledJournalRecordsNothing() {
+        journal = new AuditJournal(directory.toString(), SEGMENT_BYTES, false);
+        record(journal, AuditAction.CREATED, 1);
+
+        assertFalse(journal.stats().writing());
+        assertEquals(List.of(), journal.history(1));
+    }
+
+    private AuditJournal open() {
+        return new AuditJournal(directory.toString(), SEGMENT_BYTES, true);
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".journal"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Outside a transaction the change is appended at once
+    private static void record(AuditJournal journal, AuditAction action, long appointmentId) {
+        User user = new User("user", "555-0000", "user@example.com");
+        ReflectionTestUtils.setField(user, "id", 1L);
+        Appointment appointment = new Appointment(user, LocalDateTime.of(2026, 5, 1, 9, 0), ZoneOffset.UTC, null);
+        appointment.setId(appointmentId);
+        journal.recordAfterCommit(action, appointment, null);
+    }
+}
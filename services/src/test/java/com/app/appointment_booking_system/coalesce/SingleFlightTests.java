@@ -0,0 +1,141 @@
+package com.app.appointment_booking_system.coalesce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTests {
+
+    private final SingleFlight<String, Integer> flights = new SingleFlight<>();
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch land = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        land.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        List<Future<Integer>> results = submit("day", 5);
+        awaitCalls(5);
+        land.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get(10, TimeUnit.SECONDS));
+        }
+        SingleFlight.Stats stats = flights.stats();
+        assertEquals(5, stats.calls());
+        assertEquals(1, stats.executions());
+        assertEquals(4, stats.shared());
+        assertEquals(0.8, stats.coalescingRatio(), 1e-9);
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void differentKeysRunSeparately() {
+        assertEquals(1, flights.execute("a", loads::incrementAndGet));
+        assertEquals(2, flights.execute("b", loads::incrementAndGet));
+    }
+
+    @Test
+    void callerAfterLandingRunsAgain() {
+        flights.execute("day", loads::incrementAndGet);
+
+        assertEquals(2, flights.execute("day", loads::incrementAndGet));
+        assertEquals(0, flights.stats().shared());
+    }
+
+    @Test
+    void waitersSeeTheLeadersException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Integer> leader = pool.submit(() -> flights.execute("day", () -> {
+            started.countDown();
+            await(land);
+            throw new IllegalStateException("load failed");
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Future<Integer> waiter = pool.submit(() -> flights.execute("day", loads::incrementAndGet));
+        awaitCalls(2);
+        land.countDown();
+
+        for (Future<Integer> call : List.of(leader, waiter)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("load failed", failure.getCause().getMessage());
+        }
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void invalidateDetachesInFlightCall() throws Exception {
+        List<Future<Integer>> before = submit("day", 2);
+        awaitCalls(2);
+
+        flights.invalidate(key -> key.equals("day"));
+        // Joins nothing, so it runs its own load while the detached one is still blocked
+        assertEquals(1, flights.execute("day", loads::incrementAndGet));
+        land.countDown();
+
+        for (Future<Integer> result : before) {
+            assertEquals(2, result.get(10, TimeUnit.SECONDS), "the detached flight's own result");
+        }
+        assertEquals(1, flights.stats().invalidations());
+    }
+
+    @Test
+    void invalidateLeavesOtherKeysInFlight() throws Exception {
+        List<Future<Integer>> other = submit("other", 1);
+        awaitCalls(1);
+
+        flights.invalidate(key -> key.equals("day"));
+
+        assertEquals(1, flights.stats().inFlight());
+        land.countDown();
+        assertEquals(1, other.get(0).get(10, TimeUnit.SECONDS));
+    }
+
+    // Callers whose leader blocks until land opens
+    private List<Future<Integer>> submit(String key, int callers) {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> flights.execute(key, () -> {
+                await(land);
+                return loads.incrementAndGet();
+            })));
+        }
+        return results;
+    }
+
+    private void awaitCalls(long calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flights.stats().calls() < calls) {
+            assertTrue(System.nanoTime() < deadline, "callers never arrived");
+            Thread.sleep(5);
+        }
+        // Counted on entry; give the last caller time to join the flight
+        Thread.sleep(50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.app.appointment_booking_system.controller;
+
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.security.JwtUtil;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The appointment endpoints through the full filter chain, against H2.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment_controller_tests;DB_CLOSE_DELAY=-1",
+        "logging.file.name=target/appointment-controller-tests.log",
+        "jobs.poll-interval-ms=3600000",
+        // Every day view is large enough to gzip
+        "server.compression.min-response-size=1B"
+})
+@AutoConfigureMockMvc
+class AppointmentControllerTests {
+
+    private static final LocalDateTime DAY_VIEW_SLOT = LocalDateTime.of(2031, 6, 1, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = "Bearer " + jwtUtil.generateToken("admin@system.com");
+    }
+
+    @Test
+    void dayViewIsGzippedOnTheRequestThread() throws Exception {
+        Appointment booked = book(DAY_VIEW_SLOT);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/appointments/date/2031-06-01?zone=UTC")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = response.getContentAsByteArray();
+        assertEquals(body.length, response.getContentLength());
+        try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            JsonNode appointments = objectMapper.readTree(json);
+            assertTrue(appointments.findValues("id").stream().anyMatch(id -> id.asLong() == booked.getId()));
+        }
+    }
+
+    @Test
+    void dayViewIsPlainWhenGzipIsRefused() throws Exception {
+        book(DAY_VIEW_SLOT.plusHours(1));
+
+        for (String acceptEncoding : new String[] {"gzip;q=0", "gzip; q=0.000", "identity"}) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/appointments/date/2031-06-01?zone=UTC")
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+            assertTrue(objectMapper.readTree(response.getContentAsByteArray()).isArray(), acceptEncoding);
+        }
+    }
+
+    @Test
+    void rescheduleWithConflictsIsRefusedUnlessDryRun() throws Exception {
+        LocalDateTime nine = LocalDateTime.of(2031, 7, 1, 9, 0);
+        Appointment moving = book(nine);
+        Appointment blocker = book(nine.plusDays(1));
+        String body = "{\"windowStart\":\"2031-07-01T08:00:00\",\"windowEnd\":\"2031-07-01T12:00:00\","
+                + "\"offsetMinutes\":1440,\"timeZone\":\"UTC\",\"dryRun\":%s}";
+
+        mockMvc.perform(post("/api/appointments/reschedule")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(false)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.moves[0].conflict").value("Slot is already booked by appointment " + blocker.getId()));
+        assertEquals(nine, appointmentService.getAppointmentById(moving.getId()).orElseThrow().getAppointmentDateTime());
+
+        // A dry run only reports the conflict
+        mockMvc.perform(post("/api/appointments/reschedule")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.formatted(true)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conflicts").value(1));
+    }
+
+    @Test
+    void etagIncreasesWithEveryWrite() throws Exception {
+        Appointment appointment = book(LocalDateTime.of(2031, 8, 1, 9, 0));
+        String path = "/api/appointments/" + appointment.getId();
+        List<Long> versions = new ArrayList<>();
+        versions.add(version(mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk()).andReturn().getResponse()));
+
+        for (MockHttpServletRequestBuilder write : List.of(
+                put(path).contentType(MediaType.APPLICATION_JSON).content("{\"notes\":\"Bring results\"}"),
+                put(path + "/complete"),
+                put(path + "/cancel"))) {
+            MockHttpServletResponse response = mockMvc.perform(write
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .header(HttpHeaders.IF_MATCH, "\"" + versions.get(versions.size() - 1) + "\""))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            long version = version(response);
+            assertEquals(version, objectMapper.readTree(response.getContentAsByteArray()).get("version").asLong());
+            versions.add(version);
+        }
+
+        assertEquals(List.of(0L, 1L, 2L, 3L), versions);
+        // The response of a transition is built without reading the row again; it matches the row
+        MockHttpServletResponse stored = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andReturn().getResponse();
+        assertEquals(3L, version(stored));
+    }
+
+    @Test
+    void staleIfMatchIsPreconditionFailed() throws Exception {
+        Appointment appointment = book(LocalDateTime.of(2031, 8, 2, 9, 0));
+        String path = "/api/appointments/" + appointment.getId();
+        mockMvc.perform(put(path).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"notes\":\"First\"}"))
+                .andExpect(status().isOk());
+
+        for (MockHttpServletRequestBuilder write : List.of(
+                put(path).contentType(MediaType.APPLICATION_JSON).content("{\"notes\":\"Second\"}"),
+                put(path + "/complete"),
+                put(path + "/cancel"))) {
+            mockMvc.perform(write.header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_MATCH, "\"0\""))
+                    .andExpect(status().isPreconditionFailed());
+        }
+        mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(jsonPath("$.status").value("SCHEDULED"))
+                .andExpect(jsonPath("$.notes").value("First"));
+    }
+
+    @Test
+    void transitionFromWrongStatusIsConflict() throws Exception {
+        Appointment appointment = book(LocalDateTime.of(2031, 8, 3, 9, 0));
+        String path = "/api/appointments/" + appointment.getId();
+        mockMvc.perform(put(path + "/cancel").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(path + "/complete").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put(path + "/cancel").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void missingAppointmentIsNotFound() throws Exception {
+        for (MockHttpServletRequestBuilder request : List.of(
+                get("/api/appointments/999999"),
+                put("/api/appointments/999999").contentType(MediaType.APPLICATION_JSON).content("{\"notes\":\"x\"}"),
+                put("/api/appointments/999999/complete"),
+                put("/api/appointments/999999/cancel"))) {
+            mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private static long version(MockHttpServletResponse response) {
+        return EntityTags.parseIfMatch(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private Appointment book(LocalDateTime dateTime) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("User " + unique, "555" + unique.hashCode(), unique + "@example.com"));
+        CreateAppointmentRequest request = new CreateAppointmentRequest();
+        request.setUserId(user.getId());
+        request.setAppointmentDateTime(dateTime);
+        request.setTimeZone("UTC");
+        return appointmentService.createAppointment(request);
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.appointment_booking_system.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAKeyThatWasPut() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(email(i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(email(i)), email(i));
+        }
+        assertEquals(10_000, filter.keys());
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        for (double target : new double[] {0.01, 0.001}) {
+            BloomFilter filter = BloomFilter.create(50_000, target);
+            for (int i = 0; i < 50_000; i++) {
+                filter.put(email(i));
+            }
+
+            double rate = falsePositiveRate(filter, 200_000);
+
+            assertTrue(rate < target * 1.5, "rate " + rate + " for target " + target);
+        }
+    }
+
+    @Test
+    void sizesBitsAndHashesForTarget() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 hashes per key at 1 %
+        assertEquals(9_585_059, filter.bits());
+        assertEquals(7, filter.hashes());
+    }
+
+    @Test
+    void rateClimbsOncePastExpectedKeys() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(email(i));
+        }
+        assertFalse(filter.isSaturated());
+
+        for (int i = 10_000; i < 40_000; i++) {
+            filter.put(email(i));
+        }
+
+        assertTrue(filter.isSaturated());
+        assertTrue(falsePositiveRate(filter, 100_000) > 0.05);
+    }
+
+    // Share of keys never put that the filter claims to contain
+    private static double falsePositiveRate(BloomFilter filter, int probes) {
+        int hits = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                hits++;
+            }
+        }
+        return (double) hits / probes;
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+}
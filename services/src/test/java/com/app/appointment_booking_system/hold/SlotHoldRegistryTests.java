@@ -0,0 +1,155 @@
+package com.app.appointment_booking_system.hold;
+
+import com.app.appointment_booking_system.cluster.CacheInvalidation;
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import com.app.appointment_booking_system.cluster.InvalidationTransport;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHoldRegistryTests {
+
+    private static final long SLOT = 1_800_000_000_000L;
+
+    private final List<CacheInvalidation> published = new ArrayList<>();
+    private SlotHoldRegistry registry;
+    private int nextId;
+
+    @BeforeEach
+    void setUp() {
+        InvalidationTransport transport = new InvalidationTransport() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+            }
+        };
+        registry = new SlotHoldRegistry(new InvalidationPublisher(transport, "node-a"));
+        ReflectionTestUtils.setField(registry, "maxHolds", 4);
+        ReflectionTestUtils.setField(registry, "maxPerUser", 2);
+    }
+
+    @Test
+    void holdsOneSeatEach() {
+        assertEquals(Outcome.HELD, registry.tryHold(hold(1L, SLOT, Duration.ofMinutes(5)), 2));
+        assertEquals(Outcome.HELD, registry.tryHold(hold(2L, SLOT, Duration.ofMinutes(5)), 2));
+        assertEquals(Outcome.SLOT_HELD, registry.tryHold(hold(3L, SLOT, Duration.ofMinutes(5)), 2));
+
+        assertEquals(2, registry.heldSeats(SLOT, null));
+    }
+
+    @Test
+    void enforcesPerUserAndTotalLimits() {
+        registry.tryHold(hold(1L, SLOT, Duration.ofMinutes(5)), 10);
+        registry.tryHold(hold(1L, SLOT + 1, Duration.ofMinutes(5)), 10);
+        assertEquals(Outcome.USER_LIMIT, registry.tryHold(hold(1L, SLOT + 2, Duration.ofMinutes(5)), 10));
+
+        registry.tryHold(hold(2L, SLOT, Duration.ofMinutes(5)), 10);
+        registry.tryHold(hold(3L, SLOT, Duration.ofMinutes(5)), 10);
+        assertEquals(Outcome.FULL, registry.tryHold(hold(4L, SLOT, Duration.ofMinutes(5)), 10));
+    }
+
+    @Test
+    void expiredHoldIsAbsentBeforeTheSweep() {
+        SlotHold expired = hold(1L, SLOT, Duration.ofMillis(-1));
+        registry.tryHold(expired, 1);
+
+        assertTrue(registry.find(expired.id()).isEmpty());
+        assertEquals(0, registry.heldSeats(SLOT, null));
+        assertEquals(Outcome.HELD, registry.tryHold(hold(2L, SLOT, Duration.ofMinutes(5)), 1));
+        assertEquals(2, registry.size(), "still stored until swept");
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredHolds() {
+        SlotHold expired = hold(1L, SLOT, Duration.ofMillis(-1));
+        SlotHold live = hold(1L, SLOT + 1, Duration.ofMinutes(5));
+        registry.tryHold(expired, 5);
+        registry.tryHold(live, 5);
+
+        registry.sweep();
+
+        assertEquals(1, registry.size());
+        assertTrue(registry.find(live.id()).isPresent());
+        // The expired hold no longer counts against its user
+        assertEquals(Outcome.HELD, registry.tryHold(hold(1L, SLOT + 2, Duration.ofMinutes(5)), 5));
+    }
+
+    @Test
+    void sweepSkipsReleasedHolds() {
+        SlotHold released = hold(1L, SLOT, Duration.ofMillis(50));
+        SlotHold other = hold(2L, SLOT, Duration.ofMillis(50));
+        registry.tryHold(released, 5);
+        registry.tryHold(other, 5);
+        registry.release(released.id());
+
+        // Same id taken again by a peer after the release
+        SlotHold replaced = new SlotHold(released.id(), 1L, LocalDateTime.now(), "UTC", SLOT,
+                Instant.now().plus(Duration.ofMinutes(5)));
+        registry.applyPeer(List.of(replaced), List.of());
+        awaitExpiry(other);
+        registry.sweep();
+
+        assertEquals(1, registry.size());
+        assertEquals(replaced, registry.find(released.id()).orElseThrow());
+    }
+
+    @Test
+    void releasedSeatCanBeHeldAgain() {
+        SlotHold first = hold(1L, SLOT, Duration.ofMinutes(5));
+        registry.tryHold(first, 1);
+
+        assertEquals(first, registry.release(first.id()).orElseThrow());
+        assertTrue(registry.release(first.id()).isEmpty());
+        assertEquals(Outcome.HELD, registry.tryHold(hold(2L, SLOT, Duration.ofMinutes(5)), 1));
+    }
+
+    @Test
+    void publishesTakenAndReleasedHolds() {
+        SlotHold hold = hold(1L, SLOT, Duration.ofMinutes(5));
+        registry.tryHold(hold, 1);
+        registry.tryHold(hold(2L, SLOT, Duration.ofMinutes(5)), 1);
+        registry.release(hold.id());
+
+        assertEquals(2, published.size(), "a refused hold is not published");
+        assertEquals(List.of(hold), published.get(0).holdsTaken());
+        assertTrue(published.get(1).holdsReleased().contains(hold.id()));
+    }
+
+    @Test
+    void appliesPeerHoldsWithoutRepublishing() {
+        SlotHold peer = hold(1L, SLOT, Duration.ofMinutes(5));
+        SlotHold expired = hold(2L, SLOT, Duration.ofMillis(-1));
+
+        registry.applyPeer(List.of(peer, expired), List.of());
+
+        assertEquals(1, registry.size());
+        assertEquals(Outcome.SLOT_HELD, registry.tryHold(hold(3L, SLOT, Duration.ofMinutes(5)), 1));
+        registry.applyPeer(List.of(), List.of(peer.id()));
+        assertEquals(0, registry.size());
+        assertTrue(published.isEmpty());
+    }
+
+    private SlotHold hold(Long userId, long startsAt, Duration ttl) {
+        return new SlotHold("hold-" + nextId++, userId, LocalDateTime.now(), "UTC", startsAt, Instant.now().plus(ttl));
+    }
+
+    private static void awaitExpiry(SlotHold hold) {
+        while (!hold.isExpired(System.currentTimeMillis())) {
+            Thread.onSpinWait();
+        }
+    }
+}
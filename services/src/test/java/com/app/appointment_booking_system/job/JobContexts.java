@@ -0,0 +1,33 @@
+package com.app.appointment_booking_system.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Contexts for running a {@link JobHandler} directly, without a worker, from tests in other
+ * packages.
+ */
+public final class JobContexts {
+
+    private JobContexts() {
+    }
+
+    public static JobContext of(long jobId, String payload, int attempt, ObjectMapper objectMapper) {
+        return new JobContext(jobId, payload, attempt, 0, 0, objectMapper);
+    }
+
+    // Loses its lease once the handler has reported progress the given number of times
+    public static JobContext losingLeaseAfter(int progressReports, long jobId, String payload, int attempt,
+                                              ObjectMapper objectMapper) {
+        return new JobContext(jobId, payload, attempt, 0, 0, objectMapper) {
+            private int reports;
+
+            @Override
+            public void addProgress(long delta) {
+                super.addProgress(delta);
+                if (++reports == progressReports) {
+                    markLeaseLost();
+                }
+            }
+        };
+    }
+}
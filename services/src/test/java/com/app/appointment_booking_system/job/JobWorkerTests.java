@@ -0,0 +1,212 @@
+package com.app.appointment_booking_system.job;
+
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import com.app.appointment_booking_system.repository.JobRepository;
+import com.app.appointment_booking_system.service.JobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JobWorker against H2: claiming, reclaiming expired leases, heartbeats, cancellation and
+ * shutdown. Each job's payload names how the test handler behaves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:job_worker_tests;DB_CLOSE_DELAY=-1",
+        "logging.file.name=target/job-worker-tests.log",
+        "jobs.poll-interval-ms=50",
+        "jobs.heartbeat-ms=100",
+        "jobs.lease-seconds=2",
+        "jobs.shutdown-grace-ms=500"
+})
+class JobWorkerTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobWorker jobWorker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void claimsAndFinishesSubmittedJob() throws Exception {
+        Job job = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "succeed"));
+
+        Job finished = await(job.getId(), row -> row.getStatus() == JobStatus.SUCCEEDED);
+        assertEquals("done on attempt 1", finished.getMessage());
+        assertEquals(1, finished.getAttempts());
+        assertNull(finished.getLeaseOwner());
+    }
+
+    @Test
+    void reclaimsJobWhoseLeaseExpired() throws Exception {
+        // Claimed by a worker that died right away: its lease is already over
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> {
+            Job saved = jobRepository.save(new Job(TestHandler.TYPE, null, "{\"mode\":\"succeed\"}", 3));
+            LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(1);
+            assertEquals(1, jobRepository.claim(saved.getId(), "dead-worker", claimedAt, claimedAt.plusSeconds(2)));
+            return saved.getId();
+        });
+
+        Job finished = await(id, row -> row.getStatus() == JobStatus.SUCCEEDED);
+        assertEquals("done on attempt 2", finished.getMessage());
+        assertEquals(2, finished.getAttempts());
+    }
+
+    @Test
+    void heartbeatRenewsLeaseAndPublishesProgress() throws Exception {
+        Job job = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "block"));
+        Job claimed = await(job.getId(), row -> row.getStatus() == JobStatus.RUNNING);
+        LocalDateTime firstLease = claimed.getLeaseExpiresAt();
+
+        // Outlives the 2 s lease only if the heartbeat keeps renewing it
+        Thread.sleep(2500);
+        Job renewed = await(job.getId(), row -> row.getProgressCurrent() == 7);
+        assertEquals(JobStatus.RUNNING, renewed.getStatus());
+        assertEquals(1, renewed.getAttempts(), "not reclaimed by a sweep");
+        assertTrue(renewed.getLeaseExpiresAt().isAfter(firstLease));
+
+        TestHandler.release(job.getId());
+        await(job.getId(), row -> row.getStatus() == JobStatus.SUCCEEDED);
+    }
+
+    @Test
+    void cancelStopsRunningJobAtCheckpoint() throws Exception {
+        Job job = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "checkpoint"));
+        await(job.getId(), row -> row.getStatus() == JobStatus.RUNNING);
+
+        jobService.cancelJob(job.getId());
+
+        Job cancelled = await(job.getId(), row -> row.getStatus() == JobStatus.CANCELLED);
+        assertEquals("Cancelled", cancelled.getMessage());
+    }
+
+    @Test
+    void heartbeatPicksUpCancellationFromAnotherInstance() throws Exception {
+        Job job = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "checkpoint"));
+        await(job.getId(), row -> row.getStatus() == JobStatus.RUNNING);
+
+        // Only the row is flagged, as a cancel handled by another instance would
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> jobRepository.requestCancel(job.getId(), LocalDateTime.now()));
+
+        await(job.getId(), row -> row.getStatus() == JobStatus.CANCELLED);
+    }
+
+    @Test
+    @DirtiesContext
+    void shutdownReleasesOnlyStoppedJobs() throws Exception {
+        Job stops = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "checkpoint"));
+        Job ignores = jobService.submit(TestHandler.TYPE, null, Map.of("mode", "ignore-interrupt"));
+        await(stops.getId(), row -> row.getStatus() == JobStatus.RUNNING);
+        await(ignores.getId(), row -> row.getStatus() == JobStatus.RUNNING);
+
+        jobWorker.stop();
+
+        Job requeued = jobRepository.findById(stops.getId()).orElseThrow();
+        assertEquals(JobStatus.QUEUED, requeued.getStatus());
+        assertEquals(0, requeued.getAttempts());
+        assertNull(requeued.getLeaseOwner());
+
+        // Its handler is still working, so nobody else may claim it before the lease runs out
+        Job stillRunning = jobRepository.findById(ignores.getId()).orElseThrow();
+        assertEquals(JobStatus.RUNNING, stillRunning.getStatus());
+        assertNotNull(stillRunning.getLeaseOwner());
+        TestHandler.release(ignores.getId());
+    }
+
+    private Job await(Long id, Predicate<Job> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            Job row = jobRepository.findById(id).orElseThrow();
+            if (condition.test(row)) {
+                return row;
+            }
+            assertTrue(System.nanoTime() < deadline, "job " + id + " stuck in " + row.getStatus());
+            Thread.sleep(20);
+        }
+    }
+
+    @TestConfiguration
+    static class TestHandlerConfig {
+
+        @Bean
+        TestHandler testHandler() {
+            return new TestHandler();
+        }
+    }
+
+    static class TestHandler implements JobHandler {
+
+        static final String TYPE = "test-job";
+
+        private static final Map<Long, CountDownLatch> releases = new ConcurrentHashMap<>();
+
+        static void release(long jobId) {
+            latch(jobId).countDown();
+        }
+
+        private static CountDownLatch latch(long jobId) {
+            return releases.computeIfAbsent(jobId, id -> new CountDownLatch(1));
+        }
+
+        @Override
+        public String type() {
+            return TYPE;
+        }
+
+        @Override
+        public String run(JobContext context) throws Exception {
+            CountDownLatch release = latch(context.getJobId());
+            switch ((String) context.getPayload(Map.class).get("mode")) {
+                case "block" -> {
+                    context.setTotal(10);
+                    context.setProgress(7);
+                    assertTrue(release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+                }
+                case "checkpoint" -> {
+                    while (true) {
+                        context.checkpoint();
+                        Thread.sleep(10);
+                    }
+                }
+                case "ignore-interrupt" -> {
+                    while (release.getCount() > 0) {
+                        try {
+                            release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            // Keeps going, like a handler stuck in a long statement
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+            return "done on attempt " + context.getAttempt();
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.app.appointment_booking_system.loadtest;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the real stack (JWT filter, rate limiter, controllers, services,
+ * H2) over HTTP. Seeds users and appointments, then runs closed-loop workers that each draw
+ * a seeded sequence of logins, availability checks, creates racing for hot slots, range
+ * reads and cancels. Writes one .hgrm latency report per operation plus summary.txt to
+ * load-test.report-dir and fails when a threshold in application-load-test.yml is missed.
+ *
+ * Excluded from the normal build; run with {@code mvn -Pload-test test}.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load-test")
+class BookingLoadTest {
+
+    // Seeded appointments fill these hours on consecutive days from SEED_DAY
+    private static final int FIRST_HOUR = 8;
+    private static final int SLOTS_PER_DAY = 10;
+    private static final LocalDate SEED_DAY = LocalDate.of(2040, 1, 1);
+    // Hot slots sit on the day before the seed data, so they start out free
+    private static final LocalDateTime HOT_DAY = SEED_DAY.minusDays(1).atStartOfDay();
+    // Cold creates land on random minutes in a decade nobody else touches
+    private static final LocalDateTime COLD_START = LocalDateTime.of(2050, 1, 1, 0, 0);
+    private static final int COLD_MINUTES = 10 * 365 * 24 * 60;
+
+    enum Op {
+        LOGIN(200),
+        AVAILABILITY(200),
+        CREATE(201, 409),
+        RANGE(200),
+        CANCEL(200, 400);
+
+        private final Set<Integer> expected;
+
+        Op(Integer... expected) {
+            this.expected = Set.of(expected);
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void bookingWorkloadMeetsThresholds() throws Exception {
+        long seed = setting("seed", Long.class);
+        int workers = setting("workers", Integer.class);
+        long warmupNanos = setting("warmup-seconds", Long.class) * 1_000_000_000L;
+        long durationNanos = setting("duration-seconds", Long.class) * 1_000_000_000L;
+
+        List<Long> seededIds = seed(setting("users", Integer.class), setting("appointments", Integer.class));
+        int seededDays = Math.max(1, seededIds.size() / SLOTS_PER_DAY);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long deadline = measureFrom + durationNanos;
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Worker worker = new Worker(new Random(seed + i), seededIds, seededDays);
+            futures.add(pool.submit(() -> worker.run(measureFrom, deadline)));
+        }
+        Map<Op, Stats> totals = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) {
+            totals.put(op, new Stats());
+        }
+        for (Future<Worker> future : futures) {
+            future.get().stats.forEach((op, stats) -> totals.get(op).add(stats));
+        }
+        pool.shutdown();
+
+        double seconds = durationNanos / 1e9;
+        report(totals, seconds, workers);
+        assertThresholds(totals, seconds);
+    }
+
+    // Bulk-inserted through the repositories; the HTTP path is what is being measured
+    private List<Long> seed(int users, int appointments) {
+        List<User> saved = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            saved.add(new User("Load user " + i, "555" + i, "load" + i + "@example.com"));
+        }
+        saved = userRepository.saveAll(saved);
+
+        List<Long> ids = new ArrayList<>(appointments);
+        List<Appointment> chunk = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            LocalDateTime slot = SEED_DAY.plusDays(i / SLOTS_PER_DAY).atTime(FIRST_HOUR + i % SLOTS_PER_DAY, 0);
+            chunk.add(new Appointment(saved.get(i % users), slot, UTC, "Seeded " + i));
+            if (chunk.size() == 500 || i == appointments - 1) {
+                appointmentRepository.saveAll(chunk).forEach(a -> ids.add(a.getId()));
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    private void report(Map<Op, Stats> totals, double seconds, int workers) throws IOException {
+        Path dir = Path.of(environment.getRequiredProperty("load-test.report-dir"));
+        Files.createDirectories(dir);
+        for (Map.Entry<Op, Stats> entry : totals.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "%d workers, %.0f s measured, %.1f req/s%n%n",
+                workers, seconds, total(totals).latency.totalCount() / seconds));
+        summary.append(String.format(Locale.ROOT, "%-13s %8s %7s %9s %9s %9s %9s %9s  %s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "statuses"));
+        totals.forEach((op, stats) -> summary.append(line(op.key(), stats, seconds)));
+        summary.append(line("all", total(totals), seconds));
+        Files.writeString(dir.resolve("summary.txt"), summary);
+        System.out.println(summary);
+    }
+
+    private static String line(String name, Stats stats, double seconds) {
+        LatencyHistogram latency = stats.latency;
+        return String.format(Locale.ROOT, "%-13s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                name, latency.totalCount(), stats.errors, latency.totalCount() / seconds,
+                latency.valueAtPercentile(50) / 1000.0, latency.valueAtPercentile(90) / 1000.0,
+                latency.valueAtPercentile(99) / 1000.0, latency.max() / 1000.0, stats.statuses);
+    }
+
+    private void assertThresholds(Map<Op, Stats> totals, double seconds) {
+        List<String> violations = new ArrayList<>();
+        Stats all = total(totals);
+        double throughput = all.latency.totalCount() / seconds;
+        double minThroughput = setting("thresholds.min-throughput", Double.class);
+        if (throughput < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.1f", throughput, minThroughput));
+        }
+        double errorRate = all.latency.totalCount() == 0 ? 1 : (double) all.errors / all.latency.totalCount();
+        double maxErrorRate = setting("thresholds.max-error-rate", Double.class);
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "error rate %.4f > %.4f", errorRate, maxErrorRate));
+        }
+        for (Map.Entry<Op, Stats> entry : totals.entrySet()) {
+            Double maxP99 = environment.getProperty(
+                    "load-test.thresholds.max-p99-ms." + entry.getKey().key(), Double.class);
+            double p99 = entry.getValue().latency.valueAtPercentile(99) / 1000.0;
+            if (maxP99 != null && p99 > maxP99) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.2f ms > %.2f ms", entry.getKey().key(), p99, maxP99));
+            }
+        }
+        assertTrue(violations.isEmpty(), "Load test regressed: " + String.join("; ", violations));
+    }
+
+    private static Stats total(Map<Op, Stats> totals) {
+        Stats all = new Stats();
+        totals.values().forEach(all::add);
+        return all;
+    }
+
+    private <T> T setting(String name, Class<T> type) {
+        return environment.getRequiredProperty("load-test." + name, type);
+    }
+
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final Map<Integer, Long> statuses = new TreeMap<>();
+        long errors;
+
+        void add(Stats other) {
+            latency.add(other.latency);
+            other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            errors += other.errors;
+        }
+    }
+
+    /** One closed-loop client: its own token, random sequence and histograms. */
+    private final class Worker {
+
+        private final Random random;
+        private final List<Long> seededIds;
+        private final int seededDays;
+        private final Op[] wheel;
+        private final int hotSlots = setting("hot-slots", Integer.class);
+        private final double hotSlotShare = setting("hot-slot-share", Double.class);
+        private final Map<Op, Stats> stats = new EnumMap<>(Op.class);
+        private final Deque<Long> created = new ArrayDeque<>();
+        private String token;
+
+        Worker(Random random, List<Long> seededIds, int seededDays) {
+            this.random = random;
+            this.seededIds = seededIds;
+            this.seededDays = seededDays;
+            List<Op> weighted = new ArrayList<>();
+            for (Op op : Op.values()) {
+                int weight = environment.getProperty("load-test.mix." + op.key(), Integer.class, 0);
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(op);
+                }
+            }
+            this.wheel = weighted.toArray(Op[]::new);
+            for (Op op : Op.values()) {
+                stats.put(op, new Stats());
+            }
+        }
+
+        Worker run(long measureFrom, long deadline) throws Exception {
+            token = login().token;
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                Op op = wheel[random.nextInt(wheel.length)];
+                Result result = execute(op);
+                if (now >= measureFrom) {
+                    Stats opStats = stats.get(op);
+                    opStats.latency.record(result.micros);
+                    opStats.statuses.merge(result.status, 1L, Long::sum);
+                    if (!op.expected.contains(result.status)) {
+                        opStats.errors++;
+                    }
+                }
+            }
+            return this;
+        }
+
+        private Result execute(Op op) throws Exception {
+            switch (op) {
+                case LOGIN -> {
+                    Result result = login();
+                    if (result.token != null) {
+                        token = result.token;
+                    }
+                    return result;
+                }
+                case AVAILABILITY -> {
+                    return send(get("/api/appointments/availability?dateTime=" + seededSlot()), null);
+                }
+                case RANGE -> {
+                    LocalDateTime from = SEED_DAY.plusDays(random.nextInt(seededDays)).atStartOfDay();
+                    return send(get("/api/appointments/range?startDate=" + from + "&endDate=" + from.plusDays(1)), null);
+                }
+                case CREATE -> {
+                    LocalDateTime slot = random.nextDouble() < hotSlotShare
+                            ? HOT_DAY.plusHours(random.nextInt(hotSlots))
+                            : COLD_START.plusMinutes(random.nextInt(COLD_MINUTES));
+                    String body = "{\"userId\":" + (1 + random.nextInt(setting("users", Integer.class)))
+                            + ",\"appointmentDateTime\":\"" + slot + "\",\"notes\":\"load test\"}";
+                    Result result = send(json("/api/appointments", "POST", body), "id");
+                    if (result.status == 201) {
+                        created.push(result.id);
+                    }
+                    return result;
+                }
+                case CANCEL -> {
+                    // Own bookings first, which frees hot slots for the next race
+                    Long id = created.isEmpty() ? seededIds.get(random.nextInt(seededIds.size())) : created.pop();
+                    return send(json("/api/appointments/" + id + "/cancel", "PUT", ""), null);
+                }
+                default -> throw new IllegalStateException(op.name());
+            }
+        }
+
+        private Result login() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"admin@system.com\",\"password\":\"admin123\"}"))
+                    .build();
+            return send(request, "token");
+        }
+
+        private LocalDateTime seededSlot() {
+            return SEED_DAY.plusDays(random.nextInt(seededDays)).atTime(FIRST_HOUR + random.nextInt(SLOTS_PER_DAY), 0);
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build();
+        }
+
+        private HttpRequest json(String path, String method, String body) {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+
+        // Transport failures count as status 0, i.e. an error
+        private Result send(HttpRequest request, String field) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long micros = (System.nanoTime() - started) / 1000;
+                JsonNode value = field == null || response.statusCode() >= 300
+                        ? null : objectMapper.readTree(response.body()).get(field);
+                return new Result(response.statusCode(), micros,
+                        value != null && value.isNumber() ? value.asLong() : null,
+                        value != null && value.isTextual() ? value.asText() : null);
+            } catch (IOException e) {
+                return new Result(0, (System.nanoTime() - started) / 1000, null, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(0, (System.nanoTime() - started) / 1000, null, null);
+            }
+        }
+    }
+
+    private record Result(int status, long micros, Long id, String token) {
+    }
+}
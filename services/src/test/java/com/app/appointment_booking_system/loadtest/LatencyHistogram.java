@@ -0,0 +1,149 @@
+package com.app.appointment_booking_system.loadtest;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Log-linear latency histogram in the spirit of HdrHistogram: each power of two is split
+ * into 128 linear sub-buckets, so any recorded value is reported within 1% of its true
+ * value over the whole range, in a fixed 58 KB array and O(1) per record.
+ *
+ * Not thread-safe; each load worker records into its own instance and they are merged
+ * with {@link #add} at the end. Values are microseconds.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKETS = 64 - SUB_BUCKET_BITS + 1;
+
+    // Percentile steps per halving of the remaining distance to 100%, as in .hgrm output
+    private static final int TICKS_PER_HALF_DISTANCE = 5;
+
+    private final long[] counts = new long[(BUCKETS + 1) * HALF_SUB_BUCKETS];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+    void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts[indexOf(value)]++;
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sum += other.sum;
+    }
+
+    long totalCount() {
+        return totalCount;
+    }
+
+    long max() {
+        return max;
+    }
+
+    double mean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /** Highest value equivalent to the one at the percentile (0-100), like HdrHistogram. */
+    long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Writes the percentile distribution in HdrHistogram's .hgrm text format, so the
+     * files can be plotted with the usual tools. Values are divided by {@code scale}
+     * (1000 prints milliseconds).
+     */
+    void outputPercentileDistribution(PrintStream out, double scale) {
+        out.println("       Value     Percentile TotalCount 1/(1-Percentile)");
+        out.println();
+        if (totalCount > 0) {
+            double percentile = 0;
+            for (int half = 0; ; half++) {
+                double from = 100.0 * (1 - Math.pow(0.5, half));
+                double step = 100.0 * Math.pow(0.5, half + 1) / TICKS_PER_HALF_DISTANCE;
+                for (int tick = 0; tick < TICKS_PER_HALF_DISTANCE; tick++) {
+                    percentile = from + tick * step;
+                    printLine(out, percentile, scale);
+                }
+                // Stop once the remaining tail holds less than one sample
+                if ((100.0 - percentile) / 100.0 * totalCount < 1) {
+                    break;
+                }
+            }
+            printLine(out, 100.0, scale);
+        }
+        double deviation = standardDeviation();
+        out.printf(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n", mean() / scale, deviation / scale);
+        out.printf(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", max / scale, totalCount);
+        out.printf(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]%n", BUCKETS, 2 * HALF_SUB_BUCKETS);
+    }
+
+    private void printLine(PrintStream out, double percentile, double scale) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        String inverse = percentile >= 100.0 ? "" : String.format(Locale.ROOT, " %14.2f", 100.0 / (100.0 - percentile));
+        out.printf(Locale.ROOT, "%12.3f %14.12f %10d%s%n",
+                valueAtPercentile(percentile) / scale, percentile / 100.0, Math.min(rank, totalCount), inverse);
+    }
+
+    private double standardDeviation() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double mean = mean();
+        double squares = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                double mid = (lowestEquivalent(i) + highestEquivalent(i)) / 2.0;
+                squares += counts[i] * (mid - mean) * (mid - mean);
+            }
+        }
+        return Math.sqrt(squares / totalCount);
+    }
+
+    // Values below 256 are exact; above that, the top 8 bits select the sub-bucket
+    private static int indexOf(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1));
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long lowestEquivalent(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        return (long) (index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS) << shift;
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        return ((long) (index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,402 @@
+package com.app.appointment_booking_system.loadtest;
+
+import com.app.appointment_booking_system.AppointmentBookingSystemApplication;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.reactive.ReactiveAppointmentApplication;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Servlet (MVC + JPA) against reactive (WebFlux + R2DBC) mode on the same data, one after
+ * the other in this JVM:
+ *
+ * - sweep: closed-loop clients at each concurrency level reading one-day ranges;
+ *   throughput, p50/p99 and the server's peak thread count per level
+ * - slow clients: many clients at once, each fetching its own long range and reading the
+ *   body at a throttled rate; time to first byte, time to last byte, peak server threads
+ *
+ * Both modes must return the same JSON for the same range. Results go to
+ * target/load-test/reactive-vs-mvc.txt. Excluded from the normal build; run with
+ * {@code mvn -Pload-test test -Dtest=ReactiveVsMvcBenchmark}. Settings are system
+ * properties, e.g. -Dbenchmark.levels=16,256 -Dbenchmark.slow-clients=1000.
+ */
+@Tag("load-test")
+class ReactiveVsMvcBenchmark {
+
+    private static final String DATABASE = "reactive_vs_mvc";
+    private static final String CLIENT_THREAD_PREFIX = "bench-client-";
+    private static final int FIRST_HOUR = 8;
+    private static final int SLOTS_PER_DAY = 10;
+    private static final LocalDate SEED_DAY = LocalDate.of(2040, 1, 1);
+    private static final Path REPORT = Path.of("target/load-test/reactive-vs-mvc.txt");
+
+    private final int users = setting("users", 200);
+    private final int appointments = setting("appointments", 5000);
+    private final int[] levels = Arrays.stream(System.getProperty("benchmark.levels", "8,64,256").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private final int warmupSeconds = setting("warmup-seconds", 3);
+    private final int seconds = setting("seconds", 10);
+    private final int slowClients = setting("slow-clients", 400);
+    private final int slowDays = setting("slow-days", 100);
+    private final int slowChunkBytes = setting("slow-chunk-bytes", 16 * 1024);
+    private final int slowPauseMs = setting("slow-pause-ms", 10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareServletAndReactiveModes() throws Exception {
+        List<String> rows = new ArrayList<>();
+        JsonNode servletRange;
+        JsonNode reactiveRange;
+
+        try (ConfigurableApplicationContext servlet = startServlet()) {
+            seed(servlet);
+            Target target = new Target("servlet", port(servlet));
+            servletRange = target.range(SEED_DAY.atStartOfDay(), 3);
+            run(target, rows);
+        }
+        // Same in-memory database, still open after the servlet context closed
+        try (ConfigurableApplicationContext reactive = startReactive()) {
+            Target target = new Target("reactive", port(reactive));
+            reactiveRange = target.range(SEED_DAY.atStartOfDay(), 3);
+            run(target, rows);
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d appointments, %d s per level, %d cores%n%n",
+                appointments, seconds, Runtime.getRuntime().availableProcessors()));
+        report.append(String.format(Locale.ROOT, "%-9s %-16s %8s %7s %9s %9s %9s %9s %8s%n",
+                "mode", "scenario", "count", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "threads"));
+        rows.forEach(report::append);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        System.out.println(report);
+
+        assertEquals(3 * SLOTS_PER_DAY, servletRange.size());
+        assertEquals(servletRange, reactiveRange, "both modes serve the same JSON");
+        assertTrue(rows.stream().noneMatch(row -> row.contains("FAILED")), "a scenario had errors");
+    }
+
+    private void run(Target target, List<String> rows) throws Exception {
+        for (int level : levels) {
+            rows.add(target.sweep(level));
+        }
+        rows.addAll(target.slowClients());
+    }
+
+    private ConfigurableApplicationContext startServlet() {
+        return new SpringApplicationBuilder(AppointmentBookingSystemApplication.class).run(commonArgs(
+                "--spring.datasource.url=jdbc:h2:mem:" + DATABASE + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                // Compare the stacks, not the per-client quotas and load shedding
+                "--rate-limit.login.capacity=1000000",
+                "--rate-limit.login.per-second=1000000",
+                "--rate-limit.principal.capacity=1000000",
+                "--rate-limit.principal.per-second=1000000",
+                "--load-shedding.initial-limit=100000",
+                "--load-shedding.min-limit=100000",
+                "--load-shedding.max-limit=100000"));
+    }
+
+    private ConfigurableApplicationContext startReactive() {
+        return ReactiveAppointmentApplication.builder().run(commonArgs(
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + DATABASE + ";DB_CLOSE_DELAY=-1",
+                // The servlet context is closed and the sweeps only read
+                "--appointments.reactive.allow-servlet-database=true"));
+    }
+
+    private static String[] commonArgs(String... args) {
+        List<String> all = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--logging.file.name=target/load-test/reactive-vs-mvc.log",
+                "--logging.level.root=WARN",
+                "--logging.level.[com.app.appointment_booking_system]=WARN",
+                "--jobs.poll-interval-ms=3600000"));
+        all.addAll(List.of(args));
+        return all.toArray(String[]::new);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // Through the servlet context's repositories; both modes then read the same rows
+    private void seed(ConfigurableApplicationContext context) {
+        List<User> saved = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            saved.add(new User("Bench user " + i, "555" + i, "bench" + i + "@example.com"));
+        }
+        saved = context.getBean(UserRepository.class).saveAll(saved);
+        AppointmentRepository appointmentRepository = context.getBean(AppointmentRepository.class);
+        List<Appointment> chunk = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            LocalDateTime slot = SEED_DAY.plusDays(i / SLOTS_PER_DAY).atTime(FIRST_HOUR + i % SLOTS_PER_DAY, 0);
+            chunk.add(new Appointment(saved.get(i % users), slot, UTC, "Seeded " + i));
+            if (chunk.size() == 500 || i == appointments - 1) {
+                appointmentRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+    }
+
+    private static int setting(String name, int defaultValue) {
+        return Integer.getInteger("benchmark." + name, defaultValue);
+    }
+
+    /** One running server and the client side of each scenario against it. */
+    private final class Target {
+
+        private final String mode;
+        private final int port;
+        private final String token;
+
+        Target(String mode, int port) throws Exception {
+            this.mode = mode;
+            this.port = port;
+            try (Clients clients = new Clients(1)) {
+                HttpResponse<String> response = clients.http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"admin@system.com\",\"password\":\"admin123\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                this.token = objectMapper.readTree(response.body()).get("token").asText();
+            }
+        }
+
+        JsonNode range(LocalDateTime from, int days) throws Exception {
+            try (Clients clients = new Clients(1)) {
+                HttpResponse<String> response = clients.http.send(rangeRequest(from, days),
+                        HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, response.statusCode(), mode + " range");
+                return objectMapper.readTree(response.body());
+            }
+        }
+
+        // Closed loop: each client sends its next request as soon as the previous one completed
+        String sweep(int concurrency) throws Exception {
+            int seededDays = Math.max(1, appointments / SLOTS_PER_DAY);
+            try (Clients clients = new Clients(concurrency); ThreadSampler threads = new ThreadSampler()) {
+                long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+                long deadline = measureFrom + seconds * 1_000_000_000L;
+                List<Future<Result>> futures = new ArrayList<>();
+                for (int i = 0; i < concurrency; i++) {
+                    Random random = new Random(42 + i);
+                    futures.add(clients.pool.submit(() -> {
+                        Result result = new Result();
+                        long now;
+                        while ((now = System.nanoTime()) < deadline) {
+                            HttpRequest request = rangeRequest(
+                                    SEED_DAY.plusDays(random.nextInt(seededDays)).atStartOfDay(), 1);
+                            int status = status(clients.http, request);
+                            if (now >= measureFrom) {
+                                result.record(status, (System.nanoTime() - now) / 1000);
+                            }
+                        }
+                        return result;
+                    }));
+                }
+                Result total = Result.merge(futures);
+                return total.row(mode, "sweep x" + concurrency, seconds, threads.peak());
+            }
+        }
+
+        // All clients at once, each draining a long range slowly; one request per client
+        List<String> slowClients() throws Exception {
+            try (Clients clients = new Clients(slowClients); ThreadSampler threads = new ThreadSampler()) {
+                CountDownLatch start = new CountDownLatch(1);
+                // Windows start on different days, so the servlet mode's read coalescing cannot share them
+                int windows = Math.max(1, appointments / SLOTS_PER_DAY - slowDays + 1);
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < slowClients; i++) {
+                    LocalDateTime from = SEED_DAY.plusDays(i % windows).atStartOfDay();
+                    futures.add(clients.pool.submit(() -> {
+                        start.await();
+                        long started = System.nanoTime();
+                        HttpResponse<InputStream> response = clients.http.send(
+                                rangeRequest(from, slowDays), HttpResponse.BodyHandlers.ofInputStream());
+                        long firstByte = (System.nanoTime() - started) / 1000;
+                        byte[] chunk = new byte[slowChunkBytes];
+                        try (InputStream body = response.body()) {
+                            // Throttled by bytes, however the server chunks the response
+                            while (body.readNBytes(chunk, 0, chunk.length) > 0) {
+                                Thread.sleep(slowPauseMs);
+                            }
+                        }
+                        return new long[] {response.statusCode(), firstByte, (System.nanoTime() - started) / 1000};
+                    }));
+                }
+                long started = System.nanoTime();
+                start.countDown();
+                Result firstByte = new Result();
+                Result lastByte = new Result();
+                for (Future<long[]> future : futures) {
+                    long[] outcome;
+                    try {
+                        outcome = future.get();
+                    } catch (Exception e) {
+                        outcome = new long[] {0, 0, 0};
+                    }
+                    firstByte.record((int) outcome[0], outcome[1]);
+                    lastByte.record((int) outcome[0], outcome[2]);
+                }
+                double elapsed = (System.nanoTime() - started) / 1e9;
+                int peak = threads.peak();
+                return List.of(
+                        firstByte.row(mode, "slow x" + slowClients + " ttfb", elapsed, peak),
+                        lastByte.row(mode, "slow x" + slowClients + " done", elapsed, peak));
+            }
+        }
+
+        private HttpRequest rangeRequest(LocalDateTime from, int days) {
+            return HttpRequest.newBuilder(uri("/api/appointments/range?startDate=" + from
+                            + "&endDate=" + from.plusDays(days)))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+
+        // Transport failures count as status 0
+        private static int status(HttpClient http, HttpRequest request) {
+            try {
+                return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                return 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+    }
+
+    /** Client threads and an HTTP client on them, named so the thread sampler can skip them. */
+    private static final class Clients implements AutoCloseable {
+
+        final ExecutorService pool;
+        final HttpClient http;
+
+        Clients(int threads) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, CLIENT_THREAD_PREFIX + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            this.pool = Executors.newFixedThreadPool(threads + 1, factory);
+            this.http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newCachedThreadPool(factory))
+                    .build();
+        }
+
+        @Override
+        public void close() {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Peak number of live threads that are not benchmark clients, i.e. the server's. */
+    private static final class ThreadSampler implements AutoCloseable {
+
+        private final Thread sampler;
+        private volatile int peak;
+        private volatile boolean running = true;
+
+        ThreadSampler() {
+            sampler = new Thread(() -> {
+                while (running) {
+                    int server = (int) Thread.getAllStackTraces().keySet().stream()
+                            .filter(thread -> !thread.getName().startsWith(CLIENT_THREAD_PREFIX)
+                                    && !thread.getName().startsWith("HttpClient-"))
+                            .count();
+                    peak = Math.max(peak, server - 1);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "bench-thread-sampler");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        int peak() {
+            return peak;
+        }
+
+        @Override
+        public void close() {
+            running = false;
+            sampler.interrupt();
+        }
+    }
+
+    private static final class Result {
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        long errors;
+
+        void record(int status, long micros) {
+            latency.record(micros);
+            if (status != 200) {
+                errors++;
+            }
+        }
+
+        static Result merge(List<Future<Result>> futures) throws Exception {
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                Result result = future.get();
+                total.latency.add(result.latency);
+                total.errors += result.errors;
+            }
+            return total;
+        }
+
+        String row(String mode, String scenario, double seconds, int threads) {
+            return String.format(Locale.ROOT, "%-9s %-16s %8d %7d %9.1f %9.2f %9.2f %9.2f %8d%s%n",
+                    mode, scenario, latency.totalCount(), errors, latency.totalCount() / seconds,
+                    latency.valueAtPercentile(50) / 1000.0, latency.valueAtPercentile(99) / 1000.0,
+                    latency.max() / 1000.0, threads, errors > 0 ? "  FAILED" : "");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.app.appointment_booking_system.reactive;
+
+import com.app.appointment_booking_system.AppointmentBookingSystemApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * db/reactive/schema.sql against the tables Hibernate creates for the servlet application,
+ * and the reactive mode's refusal to share the servlet application's database.
+ */
+class ReactiveSchemaTests {
+
+    private static final String SERVLET_DATABASE = "reactive_schema_servlet";
+    private static final List<String> SHARED_TABLES = List.of("USERS", "APPOINTMENTS", "SLOT_COUNTERS", "ADMINS");
+
+    private static ConfigurableApplicationContext servlet;
+
+    @BeforeAll
+    static void startServlet() {
+        servlet = new SpringApplicationBuilder(AppointmentBookingSystemApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + SERVLET_DATABASE + ";DB_CLOSE_DELAY=-1",
+                "--logging.file.name=target/reactive-schema-tests.log",
+                "--jobs.poll-interval-ms=3600000");
+    }
+
+    @AfterAll
+    static void stopServlet() {
+        servlet.close();
+    }
+
+    @Test
+    void reactiveSchemaMatchesJpaMapping() throws Exception {
+        try (Connection hibernate = DriverManager.getConnection("jdbc:h2:mem:" + SERVLET_DATABASE, "sa", "");
+             Connection script = DriverManager.getConnection("jdbc:h2:mem:reactive_schema_script", "sa", "")) {
+            ScriptUtils.executeSqlScript(script, new ClassPathResource("db/reactive/schema.sql"));
+            for (String table : SHARED_TABLES) {
+                assertEquals(columns(hibernate, table), columns(script, table), "columns of " + table);
+            }
+        }
+    }
+
+    @Test
+    void refusesServletDatabase() {
+        Exception failure = assertThrows(Exception.class,
+                () -> startReactive("r2dbc:h2:mem:///" + SERVLET_DATABASE + ";DB_CLOSE_DELAY=-1").close());
+        Throwable cause = NestedExceptionUtils.getRootCause(failure);
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertTrue(cause.getMessage().contains("managed by the servlet application"), cause.getMessage());
+    }
+
+    @Test
+    void startsOnItsOwnDatabase() {
+        try (ConfigurableApplicationContext reactive = startReactive("r2dbc:h2:mem:///reactive_schema_own;DB_CLOSE_DELAY=-1")) {
+            assertTrue(reactive.isActive());
+        }
+    }
+
+    private static ConfigurableApplicationContext startReactive(String url) {
+        return ReactiveAppointmentApplication.builder().run(
+                "--server.port=0",
+                "--spring.r2dbc.url=" + url,
+                "--logging.file.name=target/reactive-schema-tests.log");
+    }
+
+    // Column name -> nullability; types differ in spelling between Hibernate and the script
+    private static Map<String, String> columns(Connection connection, String table) throws SQLException {
+        Map<String, String> columns = new TreeMap<>();
+        try (ResultSet rows = connection.getMetaData().getColumns(null, "PUBLIC", table, null)) {
+            while (rows.next()) {
+                columns.put(rows.getString("COLUMN_NAME"), rows.getString("IS_NULLABLE"));
+            }
+        }
+        assertFalse(columns.isEmpty(), "no table " + table);
+        return columns;
+    }
+}
@@ -0,0 +1,88 @@
+package com.app.appointment_booking_system.search;
+
+import com.app.appointment_booking_system.search.InvertedIndex.Hits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTests {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        index.index(1, List.of("Annabel Smith"));
+        index.index(2, List.of("Ann Jones"));
+        index.index(3, List.of("Bob Annan"));
+
+        Hits hits = index.search("ann", 0, 10);
+
+        assertEquals(List.of(2L, 1L, 3L), hits.ids());
+        assertEquals(3, hits.total());
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        index.index(1, List.of("Ann Smith"));
+        index.index(2, List.of("Ann Jones"));
+
+        assertEquals(List.of(1L), index.search("smi ANN", 0, 10).ids());
+        assertEquals(List.of(), index.search("ann brown", 0, 10).ids());
+    }
+
+    @Test
+    void ordersEqualScoresByIdAndPages() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, List.of("checkup"));
+        }
+
+        Hits page = index.search("check", 1, 2);
+
+        assertEquals(List.of(2L, 3L), page.ids());
+        assertEquals(5, page.total());
+        assertEquals(List.of(), index.search("check", 10, 2).ids());
+    }
+
+    @Test
+    void findsEmailsWholeAndPhonesByDigits() {
+        index.index(1, List.of("ann.smith@example.com", "555-1234"));
+
+        assertEquals(List.of(1L), index.search("ann.smith@example.com", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("example", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("5551234", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("555 12", 0, 10).ids());
+    }
+
+    @Test
+    void reindexReplacesOldTerms() {
+        index.index(1, List.of("Ann Smith"));
+        index.index(1, List.of("Ann Jones"));
+
+        assertEquals(List.of(), index.search("smith", 0, 10).ids());
+        assertEquals(List.of(1L), index.search("jones", 0, 10).ids());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeDropsDocument() {
+        index.index(1, List.of("Ann Smith"));
+        index.index(2, List.of("Ann Jones"));
+
+        index.remove(1);
+
+        assertEquals(List.of(2L), index.search("ann", 0, 10).ids());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void blankQueryFindsNothing() {
+        index.index(1, List.of("Ann Smith"));
+
+        Hits hits = index.search("  ", 0, 10);
+
+        assertEquals(List.of(), hits.ids());
+        assertEquals(0, hits.total());
+    }
+}
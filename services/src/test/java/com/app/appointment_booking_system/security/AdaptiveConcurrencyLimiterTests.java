@@ -0,0 +1,72 @@
+package com.app.appointment_booking_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = 10_000_000L;
+    private static final long SLOW = 1_000_000_000L;
+
+    @Test
+    void rejectsRequestsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 250, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsAboutOnePerRoundTripWhileFast() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 250, 0.5);
+
+        for (int i = 0; i < 11; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void neverGrowsPastMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5, 250, 0.5);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffOncePerCooldownWhenSlow() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 4, 100, 250, 0.5);
+        Thread.sleep(150);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        assertEquals(20, limiter.getLimit());
+
+        // Still inside the cooldown
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        assertEquals(20, limiter.getLimit());
+
+        Thread.sleep(150);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+            Thread.sleep(150);
+        }
+        assertEquals(4, limiter.getLimit(), "floored at the minimum");
+    }
+}
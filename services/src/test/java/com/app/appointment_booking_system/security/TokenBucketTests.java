@@ -0,0 +1,85 @@
+package com.app.appointment_booking_system.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND, bucket.tryConsume(0));
+    }
+
+    @Test
+    void reportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryConsume(0);
+
+        assertEquals(SECOND / 4, bucket.tryConsume(SECOND / 4));
+        assertEquals(0, bucket.tryConsume(SECOND / 2));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later) > 0);
+    }
+
+    @Test
+    void rejectedRequestsKeepBucketBusy() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(5 * SECOND / 10);
+
+        assertFalse(bucket.isIdleSince(SECOND / 4));
+        assertTrue(bucket.isIdleSince(SECOND));
+    }
+
+    @Test
+    void concurrentCallersNeverOverdraw() throws Exception {
+        TokenBucket bucket = new TokenBucket(1_000, 0.000_001, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> granted = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                granted.add(pool.submit(() -> {
+                    int taken = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : granted) {
+                total += future.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(1_000, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
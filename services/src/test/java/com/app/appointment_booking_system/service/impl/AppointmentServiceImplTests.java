@@ -0,0 +1,161 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.BulkRescheduleRequest;
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.ReschedulePlan;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment_service_tests;DB_CLOSE_DELAY=-1",
+        "logging.file.name=target/appointment-service-tests.log",
+        "jobs.poll-interval-ms=3600000"
+})
+class AppointmentServiceImplTests {
+
+    private static final long ONE_DAY_MINUTES = 24 * 60;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    // RESCHEDULE WINDOW
+
+    @Test
+    void appliesConflictFreeShiftAndMovesSeats() {
+        LocalDateTime nine = LocalDateTime.of(2034, 1, 2, 9, 0);
+        Appointment first = book(nine);
+        Appointment second = book(nine.plusHours(1));
+
+        ReschedulePlan plan = appointmentService.rescheduleWindow(shift(nine, nine.plusHours(2), ONE_DAY_MINUTES, false));
+
+        assertTrue(plan.isApplied());
+        assertEquals(2, plan.getTotal());
+        assertEquals(0, plan.getConflicts());
+        assertEquals(nine.plusDays(1), stored(first).getAppointmentDateTime());
+        assertEquals(nine.plusDays(1).plusHours(1), stored(second).getAppointmentDateTime());
+        assertEquals(0, booked(nine));
+        assertEquals(1, booked(nine.plusDays(1)));
+    }
+
+    @Test
+    void dryRunReturnsPlanWithoutWriting() {
+        LocalDateTime nine = LocalDateTime.of(2034, 1, 5, 9, 0);
+        Appointment first = book(nine);
+        Appointment second = book(nine.plusHours(1));
+
+        ReschedulePlan plan = appointmentService.rescheduleWindow(shift(nine, nine.plusHours(2), ONE_DAY_MINUTES, true));
+
+        assertTrue(plan.isDryRun());
+        assertFalse(plan.isApplied());
+        assertEquals(List.of(first.getId(), second.getId()),
+                plan.getMoves().stream().map(ReschedulePlan.Move::appointmentId).toList());
+        assertEquals(List.of(nine.plusDays(1), nine.plusDays(1).plusHours(1)),
+                plan.getMoves().stream().map(ReschedulePlan.Move::to).toList());
+        assertEquals(0, plan.getConflicts());
+        assertEquals(nine, stored(first).getAppointmentDateTime());
+        assertEquals(first.getVersion(), stored(first).getVersion());
+        assertEquals(1, booked(nine));
+        assertEquals(0, booked(nine.plusDays(1)));
+    }
+
+    @Test
+    void fullTargetSlotMovesNothing() {
+        LocalDateTime nine = LocalDateTime.of(2034, 1, 8, 9, 0);
+        Appointment first = book(nine);
+        Appointment second = book(nine.plusHours(1));
+        Appointment blocker = book(nine.plusDays(1));
+
+        ReschedulePlan plan = appointmentService.rescheduleWindow(shift(nine, nine.plusHours(2), ONE_DAY_MINUTES, false));
+
+        assertFalse(plan.isApplied());
+        assertEquals(1, plan.getConflicts());
+        assertEquals("Slot is already booked by appointment " + blocker.getId(), plan.getMoves().get(0).conflict());
+        assertNull(plan.getMoves().get(1).conflict());
+        // All or nothing: the move without a conflict is not made either
+        assertEquals(nine, stored(first).getAppointmentDateTime());
+        assertEquals(nine.plusHours(1), stored(second).getAppointmentDateTime());
+        assertEquals(1, booked(nine.plusHours(1)));
+        assertEquals(0, booked(nine.plusDays(1).plusHours(1)));
+    }
+
+    @Test
+    void shiftIntoThePastIsRejected() {
+        LocalDateTime soon = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).plusHours(2);
+        Appointment appointment = book(soon);
+
+        ReschedulePlan plan = appointmentService.rescheduleWindow(shift(soon, soon.plusHours(1), -ONE_DAY_MINUTES, false));
+
+        assertFalse(plan.isApplied());
+        assertEquals(1, plan.getConflicts());
+        assertEquals("Target time is in the past", plan.getMoves().get(0).conflict());
+        assertEquals(soon, stored(appointment).getAppointmentDateTime());
+        assertEquals(1, booked(soon));
+    }
+
+    @Test
+    void emptyWindowIsAnEmptyPlan() {
+        LocalDateTime nine = LocalDateTime.of(2034, 1, 11, 9, 0);
+
+        for (boolean dryRun : new boolean[] {true, false}) {
+            ReschedulePlan plan = appointmentService.rescheduleWindow(shift(nine, nine.plusHours(8), 60, dryRun));
+
+            assertEquals(dryRun, plan.isDryRun());
+            assertFalse(plan.isApplied());
+            assertEquals(0, plan.getTotal());
+            assertEquals(0, plan.getConflicts());
+        }
+    }
+
+    private Appointment book(LocalDateTime dateTime) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(new User("User " + unique, "555" + unique.hashCode(), unique + "@example.com"));
+        CreateAppointmentRequest request = new CreateAppointmentRequest();
+        request.setUserId(user.getId());
+        request.setAppointmentDateTime(dateTime);
+        request.setTimeZone("UTC");
+        return appointmentService.createAppointment(request);
+    }
+
+    private Appointment stored(Appointment appointment) {
+        return appointmentRepository.findById(appointment.getId()).orElseThrow();
+    }
+
+    private int booked(LocalDateTime dateTime) {
+        return slotCapacityService.getSlot(dateTime.toInstant(ZoneOffset.UTC)).booked();
+    }
+
+    private static BulkRescheduleRequest shift(LocalDateTime windowStart, LocalDateTime windowEnd,
+                                               long offsetMinutes, boolean dryRun) {
+        BulkRescheduleRequest request = new BulkRescheduleRequest();
+        request.setWindowStart(windowStart);
+        request.setWindowEnd(windowEnd);
+        request.setOffsetMinutes(offsetMinutes);
+        request.setTimeZone("UTC");
+        request.setDryRun(dryRun);
+        return request;
+    }
+}
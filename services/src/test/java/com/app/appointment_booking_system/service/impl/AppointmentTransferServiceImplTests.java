@@ -0,0 +1,117 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.audit.AuditAction;
+import com.app.appointment_booking_system.audit.AuditJournal;
+import com.app.appointment_booking_system.audit.AuditRecord;
+import com.app.appointment_booking_system.dto.ImportReport;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentTransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointment_transfer_tests;DB_CLOSE_DELAY=-1",
+        "logging.file.name=target/appointment-transfer-tests.log",
+        "jobs.poll-interval-ms=3600000"
+})
+class AppointmentTransferServiceImplTests {
+
+    // A journal of its own: other contexts in this JVM may hold the default directory's lock
+    @DynamicPropertySource
+    static void auditDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("appointment-transfer-audit").toString();
+        registry.add("appointments.audit.directory", () -> directory);
+    }
+
+    @Autowired
+    private AppointmentTransferService transferService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditJournal auditJournal;
+
+    @Test
+    void importedAppointmentsAreJournaledAsCreated() throws IOException {
+        User user = user();
+        String csv = "userEmail,appointmentDateTime,timeZone,status\n"
+                + user.getEmail() + ",2032-02-01T09:00,UTC,SCHEDULED\n"
+                + user.getEmail() + ",2032-02-01T10:00,UTC,COMPLETED\n";
+
+        ImportReport report = transferService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, report.getImported());
+        List<Appointment> imported = appointmentRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(Appointment::getStartsAt)).toList();
+        assertEquals(List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.COMPLETED),
+                imported.stream().map(Appointment::getStatus).toList());
+        for (Appointment appointment : imported) {
+            List<AuditRecord> history = auditJournal.history(appointment.getId());
+            assertEquals(1, history.size());
+            AuditRecord created = history.get(0);
+            assertEquals(AuditAction.CREATED, created.action());
+            assertEquals(user.getId(), created.userId());
+            assertEquals(appointment.getStatus(), created.status());
+            assertEquals(appointment.getStartsAt(), created.startsAt().toEpochMilli());
+        }
+    }
+
+    @Test
+    void icsStartsAreReadInUtcTheirTzidOrTheUsersZone() throws IOException {
+        User user = user();
+        String ics = "BEGIN:VCALENDAR\r\n"
+                + event(user, "DTSTART:20320301T090000Z")
+                + event(user, "DTSTART;TZID=Europe/Paris:20320302T090000")
+                + event(user, "DTSTART:20320303T090000")
+                + event(user, "DTSTART;TZID=Nowhere/Special:20320304T090000")
+                + "END:VCALENDAR\r\n";
+
+        ImportReport report = transferService.importIcs(new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getFailed());
+        // The event with the unknown zone begins on line 14
+        assertEquals(14, report.getErrors().get(0).line());
+        List<Appointment> imported = appointmentRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(Appointment::getStartsAt)).toList();
+        assertEquals(List.of("Z", "Europe/Paris", "UTC"),
+                imported.stream().map(Appointment::getTimeZone).toList());
+        assertEquals(List.of(
+                        LocalDateTime.of(2032, 3, 1, 9, 0).atZone(ZoneId.of("Z")).toInstant().toEpochMilli(),
+                        LocalDateTime.of(2032, 3, 2, 9, 0).atZone(ZoneId.of("Europe/Paris")).toInstant().toEpochMilli(),
+                        LocalDateTime.of(2032, 3, 3, 9, 0).atZone(ZoneId.of("UTC")).toInstant().toEpochMilli()),
+                imported.stream().map(Appointment::getStartsAt).toList());
+    }
+
+    private static String event(User user, String dtStart) {
+        return "BEGIN:VEVENT\r\n" + dtStart + "\r\nATTENDEE:mailto:" + user.getEmail() + "\r\nEND:VEVENT\r\n";
+    }
+
+    private User user() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("User " + unique, "555" + unique.hashCode(), unique + "@example.com"));
+    }
+}
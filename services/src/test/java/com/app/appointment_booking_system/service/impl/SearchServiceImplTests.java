@@ -0,0 +1,152 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.cluster.InvalidationPublisher;
+import com.app.appointment_booking_system.cluster.InvalidationTransport;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * rebuild() against in-memory repositories whose full appointment read can be paused, to
+ * look at the indexes while a rebuild is half done.
+ */
+class SearchServiceImplTests {
+
+    private final Map<Long, User> users = new ConcurrentSkipListMap<>();
+    private final Map<Long, Appointment> appointments = new ConcurrentSkipListMap<>();
+
+    // Set to pause the next full read after it has taken its snapshot
+    private volatile CountDownLatch readTaken;
+    private volatile CountDownLatch resumeRead;
+
+    private final SearchServiceImpl searchService = new SearchServiceImpl(
+            repository(UserRepository.class, users), repository(AppointmentRepository.class, appointments),
+            new InvalidationPublisher(InvalidationTransport.NONE, "search-tests"));
+
+    @AfterEach
+    void tearDown() {
+        if (resumeRead != null) {
+            resumeRead.countDown();
+        }
+    }
+
+    @Test
+    void searchesDuringRebuildSeeThePreviousIndex() throws Exception {
+        User ann = save(user(1, "Ann Smith"));
+        save(appointment(10, ann, "checkup"));
+        searchService.rebuild();
+        save(appointment(11, ann, "checkup"));
+
+        CompletableFuture<Void> rebuild = pausedRebuild();
+
+        assertEquals(1, searchService.searchAppointments("checkup", 0, 10).getTotalElements());
+        assertEquals(1, searchService.searchUsers("ann", 0, 10).getTotalElements());
+        resumeRead.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+        assertEquals(2, searchService.searchAppointments("checkup", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void writesDuringRebuildSurviveTheSwap() throws Exception {
+        User ann = save(user(1, "Ann Smith"));
+        save(appointment(10, ann, "checkup"));
+        save(appointment(11, ann, "dentist"));
+        searchService.rebuild();
+
+        CompletableFuture<Void> rebuild = pausedRebuild();
+        // Committed after the rebuild read the table
+        searchService.indexAppointment(save(appointment(12, ann, "checkup follow-up")));
+        appointments.remove(10L);
+        searchService.removeAppointments(List.of(10L));
+        resumeRead.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(12L), ids(searchService.searchAppointments("checkup", 0, 10).getContent()));
+        assertEquals(List.of(11L), ids(searchService.searchAppointments("dentist", 0, 10).getContent()));
+    }
+
+    private CompletableFuture<Void> pausedRebuild() throws InterruptedException {
+        CountDownLatch taken = new CountDownLatch(1);
+        resumeRead = new CountDownLatch(1);
+        readTaken = taken;
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(searchService::rebuild);
+        assertTrue(taken.await(10, TimeUnit.SECONDS));
+        return rebuild;
+    }
+
+    // findAll, findByDeletedAtIsNull and findAllById over the map; nothing else is called
+    @SuppressWarnings("unchecked")
+    private <R, T> R repository(Class<R> type, Map<Long, T> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "findAll", "findByDeletedAtIsNull" -> {
+                        List<T> snapshot = new ArrayList<>(rows.values());
+                        CountDownLatch taken = readTaken;
+                        if (taken != null && type == AppointmentRepository.class) {
+                            readTaken = null;
+                            taken.countDown();
+                            assertTrue(resumeRead.await(10, TimeUnit.SECONDS));
+                        }
+                        yield snapshot;
+                    }
+                    case "findAllById" -> {
+                        List<T> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            T row = rows.get((Long) id);
+                            if (row != null) {
+                                found.add(row);
+                            }
+                        }
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private User save(User user) {
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    private Appointment save(Appointment appointment) {
+        appointments.put(appointment.getId(), appointment);
+        return appointment;
+    }
+
+    private static User user(long id, String name) {
+        User user = new User(name, "555-000" + id, "user" + id + "@example.com");
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private static Appointment appointment(long id, User user, String notes) {
+        Appointment appointment = new Appointment(user, LocalDateTime.of(2030, 1, 1, 9, 0), ZoneOffset.UTC, notes);
+        appointment.setId(id);
+        return appointment;
+    }
+
+    private static List<Long> ids(Collection<Appointment> found) {
+        return found.stream().map(Appointment::getId).toList();
+    }
+}
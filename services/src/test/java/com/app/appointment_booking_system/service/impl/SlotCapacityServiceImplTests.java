@@ -0,0 +1,225 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.SetSlotCapacityRequest;
+import com.app.appointment_booking_system.dto.SlotStatus;
+import com.app.appointment_booking_system.hold.SlotHold;
+import com.app.appointment_booking_system.hold.SlotHoldRegistry;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.SlotCounter;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.SlotCounterRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seat counters on H2, so they run in the default build; PostgresProfileTests repeats the
+ * concurrency case on PostgreSQL where it can.
+ */
+@SpringBootTest(properties = {
+        // Concurrent claims queue on the counter's row lock
+        "spring.datasource.url=jdbc:h2:mem:slot_capacity_tests;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "logging.file.name=target/slot-capacity-tests.log",
+        "jobs.poll-interval-ms=3600000"
+})
+class SlotCapacityServiceImplTests {
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private SlotCounterRepository counterRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SlotHoldRegistry slotHolds;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentBookingsNeverExceedSlotCapacity() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2033, 3, 3, 10, 0);
+        setCapacity(start, 2);
+
+        List<CompletableFuture<Boolean>> bookings = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        for (int i = 0; i < 6; i++) {
+            User user = user();
+            bookings.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    go.await(10, TimeUnit.SECONDS);
+                    appointmentService.createAppointment(booking(user, start));
+                    return true;
+                } catch (ResponseStatusException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                    return false;
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        go.countDown();
+
+        long booked = 0;
+        for (CompletableFuture<Boolean> booking : bookings) {
+            booked += booking.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        assertEquals(2, booked);
+        SlotStatus slot = slotCapacityService.getSlot(instant(start));
+        assertEquals(2, slot.booked());
+        assertEquals(0, slot.available());
+        assertEquals(2, appointmentRepository.countScheduledByStartsAt(instant(start).toEpochMilli()));
+    }
+
+    @Test
+    void releaseGivesTheSeatBack() {
+        LocalDateTime start = LocalDateTime.of(2033, 3, 4, 10, 0);
+        long startsAt = instant(start).toEpochMilli();
+        Appointment first = appointmentService.createAppointment(booking(user(), start));
+        ResponseStatusException full = assertThrows(ResponseStatusException.class,
+                () -> appointmentService.createAppointment(booking(user(), start)));
+        assertEquals(HttpStatus.CONFLICT, full.getStatusCode());
+
+        appointmentService.cancelAppointment(first.getId());
+
+        assertEquals(0, slotCapacityService.getSlot(instant(start)).booked());
+        appointmentService.createAppointment(booking(user(), start));
+        assertEquals(1, slotCapacityService.getSlot(instant(start)).booked());
+
+        // Releasing more seats than are booked changes nothing
+        release(startsAt, 2);
+        assertEquals(1, slotCapacityService.getSlot(instant(start)).booked());
+        release(startsAt, 1);
+        assertEquals(0, slotCapacityService.getSlot(instant(start)).booked());
+    }
+
+    @Test
+    void counterIsSeededFromScheduledRowsBookedBeforeIt() {
+        LocalDateTime start = LocalDateTime.of(2033, 3, 5, 10, 0);
+        long startsAt = instant(start).toEpochMilli();
+        // Saved directly, as rows from before counters existed
+        appointmentRepository.save(appointment(start, AppointmentStatus.SCHEDULED));
+        appointmentRepository.save(appointment(start, AppointmentStatus.SCHEDULED));
+        appointmentRepository.save(appointment(start, AppointmentStatus.CANCELLED));
+        assertFalse(counterRepository.existsById(startsAt));
+
+        boolean claimed = claim(startsAt, null);
+
+        assertFalse(claimed);
+        SlotCounter counter = counterRepository.findById(startsAt).orElseThrow();
+        assertEquals(2, counter.getBooked());
+        // Raised to the seats already taken rather than left below them
+        assertEquals(2, counter.getCapacity());
+    }
+
+    @Test
+    void capacityBelowBookedSeatsIsRefused() {
+        LocalDateTime start = LocalDateTime.of(2033, 3, 6, 10, 0);
+        setCapacity(start, 3);
+        appointmentService.createAppointment(booking(user(), start));
+        appointmentService.createAppointment(booking(user(), start));
+
+        ResponseStatusException refused = assertThrows(ResponseStatusException.class, () -> setCapacity(start, 1));
+
+        assertEquals(HttpStatus.CONFLICT, refused.getStatusCode());
+        assertEquals(3, slotCapacityService.getSlot(instant(start)).capacity());
+        SlotStatus lowered = setCapacity(start, 2);
+        assertEquals(2, lowered.capacity());
+        assertEquals(0, lowered.available());
+    }
+
+    @Test
+    void heldSeatsCountAgainstCapacity() {
+        LocalDateTime start = LocalDateTime.of(2033, 3, 7, 10, 0);
+        long startsAt = instant(start).toEpochMilli();
+        setCapacity(start, 2);
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), user().getId(), start, "UTC", startsAt,
+                Instant.now().plusSeconds(300));
+        assertEquals(SlotHoldRegistry.Outcome.HELD, slotHolds.tryHold(hold, slotCapacityService.unbookedSeats(startsAt)));
+        try {
+            assertTrue(claim(startsAt, null));
+            // The last seat is held by someone else
+            assertFalse(claim(startsAt, null));
+            assertEquals(1, slotCapacityService.getSlot(instant(start)).held());
+            assertEquals(0, slotCapacityService.getSlot(instant(start)).available());
+            // ...but not from its holder
+            assertTrue(claim(startsAt, hold.id()));
+            assertEquals(2, slotCapacityService.getSlot(instant(start)).booked());
+        } finally {
+            slotHolds.release(hold.id());
+        }
+    }
+
+    private SlotStatus setCapacity(LocalDateTime start, int capacity) {
+        SetSlotCapacityRequest request = new SetSlotCapacityRequest();
+        request.setDateTime(start);
+        request.setTimeZone("UTC");
+        request.setCapacity(capacity);
+        return slotCapacityService.setCapacity(request);
+    }
+
+    // Claims and releases run in the booking's transaction
+    private boolean claim(long startsAt, String holdId) {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager)
+                .execute(status -> slotCapacityService.tryClaim(startsAt, 1, holdId)));
+    }
+
+    private void release(long startsAt, int seats) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> slotCapacityService.release(startsAt, seats));
+    }
+
+    private Appointment appointment(LocalDateTime start, AppointmentStatus status) {
+        Appointment appointment = new Appointment(user(), start, ZoneOffset.UTC, null);
+        appointment.setStatus(status);
+        return appointment;
+    }
+
+    private User user() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("Seat " + unique, "555" + unique.hashCode(), unique + "@example.com"));
+    }
+
+    private static CreateAppointmentRequest booking(User user, LocalDateTime dateTime) {
+        CreateAppointmentRequest request = new CreateAppointmentRequest();
+        request.setUserId(user.getId());
+        request.setAppointmentDateTime(dateTime);
+        request.setTimeZone("UTC");
+        return request;
+    }
+
+    private static Instant instant(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
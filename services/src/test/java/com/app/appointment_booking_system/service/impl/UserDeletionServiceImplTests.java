@@ -0,0 +1,215 @@
+package com.app.appointment_booking_system.service.impl;
+
+import com.app.appointment_booking_system.dto.CreateAppointmentRequest;
+import com.app.appointment_booking_system.dto.JoinWaitlistRequest;
+import com.app.appointment_booking_system.job.JobCancelledException;
+import com.app.appointment_booking_system.job.JobContexts;
+import com.app.appointment_booking_system.model.Job;
+import com.app.appointment_booking_system.model.Job.JobStatus;
+import com.app.appointment_booking_system.model.User;
+import com.app.appointment_booking_system.model.WaitlistEntry;
+import com.app.appointment_booking_system.model.WaitlistEntry.WaitlistStatus;
+import com.app.appointment_booking_system.repository.AppointmentRepository;
+import com.app.appointment_booking_system.repository.JobRepository;
+import com.app.appointment_booking_system.repository.UserRepository;
+import com.app.appointment_booking_system.repository.WaitlistEntryRepository;
+import com.app.appointment_booking_system.security.JwtUtil;
+import com.app.appointment_booking_system.service.AppointmentService;
+import com.app.appointment_booking_system.service.SlotCapacityService;
+import com.app.appointment_booking_system.service.WaitlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * DELETE /api/users/{id} and the purge behind it. Histories of more than three rows go to a
+ * job, purged two rows per chunk.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_deletion_tests;DB_CLOSE_DELAY=-1",
+        "logging.file.name=target/user-deletion-tests.log",
+        "jobs.poll-interval-ms=3600000",
+        "users.deletion.sync-threshold=3",
+        "users.deletion.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class UserDeletionServiceImplTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDeletionServiceImpl userDeletionService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private SlotCapacityService slotCapacityService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void smallHistoryIsPurgedWithinTheRequest() throws Exception {
+        LocalDateTime nine = LocalDateTime.of(2035, 2, 1, 9, 0);
+        User user = user();
+        book(user, nine, 3);
+        waitFor(user, nine);
+
+        mockMvc.perform(delete("/api/users/" + user.getId()).header(HttpHeaders.AUTHORIZATION, token()))
+                .andExpect(status().isNoContent());
+
+        assertPurged(user, nine, 3);
+    }
+
+    @Test
+    void largeHistoryIsDeletedByAJob() throws Exception {
+        LocalDateTime nine = LocalDateTime.of(2035, 2, 2, 9, 0);
+        User user = user();
+        book(user, nine, 4);
+        waitFor(user, nine);
+
+        MockHttpServletResponse response = mockMvc.perform(delete("/api/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, token()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value(UserDeletionServiceImpl.JOB_TYPE))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse();
+
+        long jobId = objectMapper.readTree(response.getContentAsString()).get("id").asLong();
+        assertEquals("/api/jobs/" + jobId, response.getHeader(HttpHeaders.LOCATION));
+        Job finished = await(jobId);
+        assertEquals("Deleted user " + user.getId() + " with 4 appointments and 0 archived", finished.getMessage());
+        assertEquals(1, finished.getAttempts());
+        assertPurged(user, nine, 4);
+    }
+
+    @Test
+    void purgeResumesAfterTheLeaseIsLost() throws Exception {
+        LocalDateTime nine = LocalDateTime.of(2035, 2, 3, 9, 0);
+        User user = user();
+        book(user, nine, 5);
+        waitFor(user, nine);
+        // Soft-deleted as deleteUser leaves it; run by hand rather than submitted, so the worker
+        // doesn't pick it up
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            userRepository.markDeleted(user.getId(), LocalDateTime.now());
+            waitlistRepository.cancelWaitingForUser(user.getId());
+        });
+        String payload = objectMapper.writeValueAsString(new UserDeletionServiceImpl.Payload(user.getId()));
+
+        // The first worker loses its lease after one chunk
+        JobCancelledException stopped = assertThrows(JobCancelledException.class, () -> userDeletionService.run(
+                JobContexts.losingLeaseAfter(1, 1, payload, 1, objectMapper)));
+
+        assertEquals("Lease lost", stopped.getMessage());
+        assertEquals(3, appointmentRepository.countByUserId(user.getId()));
+        assertEquals(0, booked(nine) + booked(nine.plusHours(1)));
+        assertEquals(3, booked(nine.plusHours(2)) + booked(nine.plusHours(3)) + booked(nine.plusHours(4)));
+        assertEquals(List.of(WaitlistStatus.CANCELLED),
+                waitlistRepository.findByUserIdOrderByIdDesc(user.getId()).stream().map(WaitlistEntry::getStatus).toList());
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+
+        // The worker that reclaims it deletes what is left
+        String message = userDeletionService.run(JobContexts.of(1, payload, 2, objectMapper));
+
+        assertEquals("Deleted user " + user.getId() + " with 3 appointments and 0 archived", message);
+        assertPurged(user, nine, 5);
+    }
+
+    private Job await(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            Job row = jobRepository.findById(jobId).orElseThrow();
+            if (row.getStatus() == JobStatus.SUCCEEDED) {
+                return row;
+            }
+            assertTrue(System.nanoTime() < deadline, "job " + jobId + " stuck in " + row.getStatus());
+            Thread.sleep(20);
+        }
+    }
+
+    private void assertPurged(User user, LocalDateTime first, int booked) {
+        assertEquals(0, appointmentRepository.countByUserId(user.getId()));
+        assertEquals(List.of(), waitlistRepository.findByUserIdOrderByIdDesc(user.getId()));
+        assertTrue(userRepository.findById(user.getId()).isEmpty());
+        for (int i = 0; i < booked; i++) {
+            assertEquals(0, booked(first.plusHours(i)));
+        }
+    }
+
+    // One appointment an hour from the first, each holding its slot's only seat
+    private void book(User user, LocalDateTime first, int count) {
+        for (int i = 0; i < count; i++) {
+            CreateAppointmentRequest request = new CreateAppointmentRequest();
+            request.setUserId(user.getId());
+            request.setAppointmentDateTime(first.plusHours(i));
+            request.setTimeZone("UTC");
+            appointmentService.createAppointment(request);
+        }
+        assertEquals(count, appointmentRepository.countByUserId(user.getId()));
+    }
+
+    private void waitFor(User user, LocalDateTime day) {
+        JoinWaitlistRequest request = new JoinWaitlistRequest();
+        request.setUserId(user.getId());
+        request.setWindowStart(day.plusDays(1));
+        request.setWindowEnd(day.plusDays(2));
+        waitlistService.joinWaitlist(request);
+    }
+
+    private int booked(LocalDateTime dateTime) {
+        return slotCapacityService.getSlot(dateTime.toInstant(ZoneOffset.UTC)).booked();
+    }
+
+    private User user() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User("User " + unique, "555" + unique.hashCode(), unique + "@example.com"));
+    }
+
+    private String token() {
+        return "Bearer " + jwtUtil.generateToken("admin@system.com");
+    }
+}
@@ -0,0 +1,216 @@
+package com.app.appointment_booking_system.snapshot;
+
+import com.app.appointment_booking_system.config.EpochWindow;
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaySnapshotCacheTests {
+
+    private static final long DAY = EpochWindow.DAY_MILLIS;
+    private static final long FIRST_DAY = LocalDate.of(2026, 1, 1).toEpochDay();
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Map<Long, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private DaySnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DaySnapshotCache(objectMapper, 16);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 64L * 1024 * 1024);
+        ReflectionTestUtils.setField(cache, "direct", false);
+        ReflectionTestUtils.setField(cache, "gzipMinSize", DataSize.ofKilobytes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void evictsLeastRecentlyReadOncePastMaxBytes() {
+        long oneDay = get(0, 1L).bytes();
+        // Room for two equal days, not three
+        ReflectionTestUtils.setField(cache, "maxBytes", oneDay * 5 / 2);
+        get(1, 1L);
+        get(0, 1L);
+
+        get(2, 1L);
+
+        DaySnapshotCache.Stats stats = cache.stats();
+        assertEquals(2, stats.entries());
+        assertEquals(2 * oneDay, stats.bytes());
+        assertEquals(1, stats.evictions());
+        get(0, 1L);
+        get(2, 1L);
+        assertEquals(1, loadsOf(0));
+        assertEquals(1, loadsOf(2));
+        get(1, 1L);
+        assertEquals(2, loadsOf(1), "day 1 was the least recently read");
+    }
+
+    @Test
+    void snapshotLargerThanMaxBytesIsNotKept() {
+        ReflectionTestUtils.setField(cache, "maxBytes", 10L);
+
+        get(0, 1L);
+        get(0, 1L);
+
+        assertEquals(2, loadsOf(0));
+        assertEquals(0, cache.stats().bytes());
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsReturnedButNotKept() {
+        long from = FIRST_DAY * DAY;
+        DaySnapshot first = cache.get(from, from + DAY, () -> {
+            // A write to the same day commits while this read is in flight
+            cache.invalidateDays(Set.of(FIRST_DAY));
+            return appointments(1L);
+        });
+
+        assertEquals(1, countOf(first));
+        assertEquals(0, cache.stats().entries());
+
+        get(0, 1L);
+        get(0, 1L);
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test
+    void invalidationOfOtherDayKeepsLoad() {
+        long from = FIRST_DAY * DAY;
+        cache.get(from, from + DAY, () -> {
+            cache.invalidateDays(Set.of(FIRST_DAY + 1));
+            return appointments(1L);
+        });
+
+        assertEquals(1, cache.stats().entries());
+    }
+
+    @Test
+    void invalidateUsersDropsOnlySnapshotsEmbeddingThem() throws Exception {
+        get(0, 1L, 2L);
+        get(1, 3L);
+
+        cache.invalidateUsers(List.of(2L));
+
+        assertEquals(1, cache.stats().invalidations());
+        get(1, 3L);
+        assertEquals(1, loadsOf(1));
+        // The dropped day is rebuilt in the background
+        awaitLoads(0, 2);
+    }
+
+    @Test
+    void readsInsideTransactionBypassCache() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            get(0, 1L);
+            get(0, 1L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(2, loadsOf(0));
+        assertEquals(0, cache.stats().entries());
+        assertEquals(0, cache.stats().misses());
+    }
+
+    @Test
+    void gzipsOnlyAtOrAboveMinResponseSize() throws Exception {
+        List<Appointment> day = appointments(1L, 2L, 3L);
+        int jsonLength = objectMapper.writeValueAsBytes(day).length;
+
+        ReflectionTestUtils.setField(cache, "gzipMinSize", DataSize.ofBytes(jsonLength + 1));
+        DaySnapshot below = cache.get(0, DAY, () -> day);
+        ReflectionTestUtils.setField(cache, "gzipMinSize", DataSize.ofBytes(jsonLength));
+        DaySnapshot at = cache.get(DAY, 2 * DAY, () -> day);
+
+        assertFalse(below.hasGzip());
+        assertEquals(jsonLength, below.length(true), "falls back to the JSON body");
+        assertTrue(at.hasGzip());
+        try (InputStream gzip = new GZIPInputStream(at.open(true)); InputStream json = at.open(false)) {
+            assertArrayEquals(json.readAllBytes(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void directBodiesReadTheSame() throws Exception {
+        ReflectionTestUtils.setField(cache, "direct", true);
+        List<Appointment> day = appointments(1L);
+
+        DaySnapshot snapshot = cache.get(0, DAY, () -> day);
+
+        try (InputStream json = snapshot.open(false)) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(day), json.readAllBytes());
+        }
+    }
+
+    // Day number relative to FIRST_DAY; its appointments belong to the given users
+    private DaySnapshot get(int day, Long... userIds) {
+        long from = (FIRST_DAY + day) * DAY;
+        Supplier<List<Appointment>> loader = () -> {
+            loads.computeIfAbsent((long) day, d -> new AtomicInteger()).incrementAndGet();
+            return appointments(userIds);
+        };
+        return cache.get(from, from + DAY, loader);
+    }
+
+    private int loadsOf(long day) {
+        AtomicInteger count = loads.get(day);
+        return count == null ? 0 : count.get();
+    }
+
+    private void awaitLoads(long day, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (loadsOf(day) < count) {
+            assertTrue(System.nanoTime() < deadline, "day " + day + " never rebuilt");
+            Thread.sleep(10);
+        }
+    }
+
+    private int countOf(DaySnapshot snapshot) {
+        try (InputStream json = snapshot.open(false)) {
+            return objectMapper.readTree(json).size();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Appointment> appointments(Long... userIds) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (Long userId : userIds) {
+            User user = new User("user " + userId, "555-000" + userId, "user" + userId + "@example.com");
+            ReflectionTestUtils.setField(user, "id", userId);
+            Appointment appointment = new Appointment(user, LocalDateTime.of(2026, 1, 1, 9, 0), ZoneOffset.UTC, null);
+            appointment.setId(userId * 10);
+            appointments.add(appointment);
+        }
+        return appointments;
+    }
+}
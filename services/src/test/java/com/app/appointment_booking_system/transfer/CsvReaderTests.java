@@ -0,0 +1,73 @@
+package com.app.appointment_booking_system.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTests {
+
+    @Test
+    void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "id,notes\n"
+                        + "1,\"Room 4, second floor\"\n"
+                        + "2,\"Say \"\"hello\"\"\"\n"
+                        + "3,\"First line\nsecond line\"\n"
+                        + "4,\"\"\n"));
+
+        assertEquals(List.of("id", "notes"), reader.next());
+        assertEquals(List.of("1", "Room 4, second floor"), reader.next());
+        assertEquals(List.of("2", "Say \"hello\""), reader.next());
+        assertEquals(List.of("3", "First line\nsecond line"), reader.next());
+        assertEquals(List.of("4", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void crlfAndLfLineEndsMayBeMixed() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,b\r\n1,2\n3,\"x\r\ny\"\r\n5,6"));
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("1", "2"), reader.next());
+        // Line breaks inside quotes are kept as written
+        assertEquals(List.of("3", "x\r\ny"), reader.next());
+        // The last record needs no line end
+        assertEquals(List.of("5", "6"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void reportsTheLineEachRecordStartsOn() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "id,notes\r\n"
+                        + "1,\"spans\r\ntwo lines\"\r\n"
+                        + "2,one line\n"
+                        + "\n"
+                        + "\r\n"
+                        + "3,\"three\nline\nnote\"\n"
+                        + "4,last"));
+
+        List<Long> lines = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            lines.add(reader.getRecordLine());
+            ids.add(record.get(0));
+        }
+
+        assertEquals(List.of("id", "1", "2", "3", "4"), ids);
+        assertEquals(List.of(1L, 2L, 4L, 7L, 10L), lines);
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertNull(new CsvReader(new StringReader("")).next());
+        assertNull(new CsvReader(new StringReader("\n\r\n")).next());
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.appointment_booking_system.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IcsReaderTests {
+
+    @Test
+    void unfoldsFoldedLinesAndUnescapesValues() throws IOException {
+        IcsReader reader = reader(
+                "BEGIN:VCALENDAR\r\n"
+                        + "BEGIN:VEVENT\r\n"
+                        + "DTSTART:20260301T090000Z\r\n"
+                        + "DESCRIPTION:Bring the referral letter\\, the insurance card\r\n"
+                        + "  and last year's results\\nAsk about the follow-up\r\n"
+                        + "\tvisit\r\n"
+                        + "END:VEVENT\r\n"
+                        + "END:VCALENDAR\r\n");
+
+        Map<String, String> event = reader.nextEvent();
+
+        assertEquals("Bring the referral letter, the insurance card and last year's results\nAsk about the follow-up"
+                + "visit", event.get("DESCRIPTION"));
+        assertNull(reader.nextEvent());
+    }
+
+    @Test
+    void keepsDateTimeFormsAndTheirParameters() throws IOException {
+        IcsReader reader = reader(
+                "BEGIN:VEVENT\n"
+                        + "DTSTART:20260301T090000Z\n"
+                        + "END:VEVENT\n"
+                        + "BEGIN:VEVENT\n"
+                        + "DTSTART;TZID=Europe/Paris:20260301T090000\n"
+                        + "END:VEVENT\n"
+                        + "BEGIN:VEVENT\n"
+                        + "dtstart;VALUE=DATE-TIME;TZID=\"America/New_York\":20260301T090000\n"
+                        + "END:VEVENT\n"
+                        + "BEGIN:VEVENT\n"
+                        + "DTSTART:20260301T090000\n"
+                        + "END:VEVENT\n");
+
+        Map<String, String> utc = reader.nextEvent();
+        assertEquals("20260301T090000Z", utc.get("DTSTART"));
+        assertNull(IcsReader.parameter(utc, "DTSTART", "TZID"));
+
+        Map<String, String> paris = reader.nextEvent();
+        assertEquals("20260301T090000", paris.get("DTSTART"));
+        assertEquals("Europe/Paris", IcsReader.parameter(paris, "DTSTART", "TZID"));
+
+        Map<String, String> newYork = reader.nextEvent();
+        assertEquals("20260301T090000", newYork.get("DTSTART"));
+        assertEquals("America/New_York", IcsReader.parameter(newYork, "dtstart", "tzid"));
+
+        Map<String, String> floating = reader.nextEvent();
+        assertEquals("20260301T090000", floating.get("DTSTART"));
+        assertNull(IcsReader.parameter(floating, "DTSTART", "TZID"));
+        assertNull(reader.nextEvent());
+    }
+
+    @Test
+    void quotedParameterMayContainColons() throws IOException {
+        IcsReader reader = reader(
+                "BEGIN:VEVENT\n"
+                        + "ATTENDEE;CN=\"Smith: Ann\":mailto:ann@example.com\n"
+                        + "END:VEVENT\n");
+
+        Map<String, String> event = reader.nextEvent();
+
+        assertEquals("mailto:ann@example.com", event.get("ATTENDEE"));
+        assertEquals("Smith: Ann", IcsReader.parameter(event, "ATTENDEE", "CN"));
+    }
+
+    @Test
+    void reportsTheLineEachEventBeginsOn() throws IOException {
+        IcsReader reader = reader(
+                "BEGIN:VCALENDAR\r\n"
+                        + "BEGIN:VEVENT\r\n"
+                        + "DESCRIPTION:folded\r\n"
+                        + " over two lines\r\n"
+                        + "END:VEVENT\n"
+                        + "BEGIN:VEVENT\n"
+                        + "DTSTART:20260301T090000Z\n"
+                        + "END:VEVENT\r\n"
+                        + "END:VCALENDAR\r\n");
+
+        reader.nextEvent();
+        assertEquals(2, reader.getEventLine());
+        reader.nextEvent();
+        assertEquals(6, reader.getEventLine());
+    }
+
+    private static IcsReader reader(String ics) {
+        return new IcsReader(new BufferedReader(new StringReader(ics)));
+    }
+}
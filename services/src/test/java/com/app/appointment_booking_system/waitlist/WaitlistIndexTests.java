@@ -0,0 +1,100 @@
+package com.app.appointment_booking_system.waitlist;
+
+import com.app.appointment_booking_system.waitlist.WaitlistIndex.Waiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistIndexTests {
+
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long DAY = 24 * HOUR;
+
+    private final WaitlistIndex index = new WaitlistIndex();
+
+    @Test
+    void returnsWaitersContainingSlotInIdOrder() {
+        index.add(new Waiter(3, 0, 10 * HOUR));
+        index.add(new Waiter(1, 9 * HOUR, 12 * HOUR));
+        index.add(new Waiter(2, 11 * HOUR, 13 * HOUR));
+
+        assertEquals(List.of(1L, 3L), ids(index.candidatesFor(9 * HOUR, 10)));
+        assertEquals(List.of(1L), ids(index.candidatesFor(9 * HOUR, 1)));
+        // windowEnd is exclusive
+        assertEquals(List.of(1L, 2L), ids(index.candidatesFor(11 * HOUR, 10)));
+        assertEquals(List.of(), ids(index.candidatesFor(13 * HOUR, 10)));
+    }
+
+    @Test
+    void windowSpanningDaysIsStoredOnce() {
+        index.add(new Waiter(1, 0, 20 * DAY));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), ids(index.candidatesFor(15 * DAY, 10)));
+    }
+
+    @Test
+    void readdingReplacesTheWindow() {
+        index.add(new Waiter(1, 0, HOUR));
+        index.add(new Waiter(1, 5 * HOUR, 6 * HOUR));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.candidatesFor(0, 10)));
+        assertEquals(List.of(1L), ids(index.candidatesFor(5 * HOUR, 10)));
+    }
+
+    @Test
+    void evictsClosedWindows() {
+        index.add(new Waiter(1, 0, HOUR));
+        index.add(new Waiter(2, 0, 2 * HOUR));
+        index.add(new Waiter(3, HOUR, 3 * HOUR));
+
+        index.evictBefore(2 * HOUR);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(3L), ids(index.candidatesFor(2 * HOUR, 10)));
+    }
+
+    @Test
+    void matchesLinearScanUnderRandomChurn() {
+        Random random = new Random(42);
+        Map<Long, Waiter> expected = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                long start = random.nextInt(60) * HOUR;
+                Waiter waiter = new Waiter(id, start, start + (1 + random.nextInt(72)) * HOUR);
+                index.add(waiter);
+                expected.put(id, waiter);
+            }
+            if (step % 100 == 0) {
+                long slot = random.nextInt(140) * HOUR;
+                int limit = 1 + random.nextInt(20);
+                List<Long> scan = expected.values().stream()
+                        .filter(waiter -> waiter.contains(slot))
+                        .sorted(Comparator.comparingLong(Waiter::id))
+                        .limit(limit)
+                        .map(Waiter::id)
+                        .toList();
+                assertEquals(scan, ids(index.candidatesFor(slot, limit)), "slot " + slot + " at step " + step);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+    }
+
+    private static List<Long> ids(List<Waiter> waiters) {
+        List<Long> ids = new ArrayList<>();
+        waiters.forEach(waiter -> ids.add(waiter.id()));
+        return ids;
+    }
+}
@@ -0,0 +1,156 @@
+package com.app.appointment_booking_system.web;
+
+import com.app.appointment_booking_system.model.Appointment;
+import com.app.appointment_booking_system.model.Appointment.AppointmentStatus;
+import com.app.appointment_booking_system.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round trip through a line-by-line port of decodeCalendar in appointment-ui's
+ * calendarCodec.ts, including its double arithmetic, so format changes on either side
+ * show up here.
+ */
+class CalendarBinaryEncoderTests {
+
+    private static final AppointmentStatus[] STATUSES = {
+            AppointmentStatus.SCHEDULED, AppointmentStatus.CANCELLED, AppointmentStatus.COMPLETED};
+
+    @Test
+    void clientDecodesWhatServerEncodes() {
+        User ann = user(42);
+        User bob = user(7);
+        List<Appointment> appointments = List.of(
+                appointment(1005, ann, LocalDateTime.of(2026, 3, 29, 9, 30), ZoneId.of("Europe/London"), AppointmentStatus.SCHEDULED),
+                // Ids and starts may go backwards
+                appointment(12, bob, LocalDateTime.of(2026, 3, 29, 8, 0), ZoneId.of("America/New_York"), AppointmentStatus.CANCELLED),
+                appointment(100_000, ann, LocalDateTime.of(1969, 12, 31, 23, 59), ZoneOffset.UTC, AppointmentStatus.COMPLETED));
+
+        List<Slot> decoded = decode(CalendarBinaryEncoder.encode(appointments));
+
+        List<Slot> expected = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            expected.add(new Slot(appointment.getId(), appointment.getUser().getId(),
+                    Math.floorDiv(appointment.getStartsAt(), 60_000L), appointment.getStatus()));
+        }
+        assertEquals(expected, decoded);
+    }
+
+    @Test
+    void statusOrderMatchesClient() {
+        assertArrayEquals(AppointmentStatus.values(), STATUSES);
+    }
+
+    @Test
+    void emptyListIsHeaderOnly() {
+        byte[] encoded = CalendarBinaryEncoder.encode(List.of());
+
+        assertArrayEquals(new byte[] {'A', 'P', 'C', '2', 0, 0}, encoded);
+        assertEquals(List.of(), decode(encoded));
+    }
+
+    @Test
+    void repeatedUsersShareOneDictionaryEntry() {
+        User ann = user(3);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            appointments.add(appointment(i + 1, ann, LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(30L * i),
+                    ZoneOffset.UTC, AppointmentStatus.SCHEDULED));
+        }
+
+        byte[] encoded = CalendarBinaryEncoder.encode(appointments);
+
+        // Magic, counts and the one user; then ids, user indexes, starts (4 bytes, then 30-minute deltas), statuses
+        assertEquals(4 + 3 + 50 + 50 + (4 + 49) + 50, encoded.length);
+        assertEquals(50, decode(encoded).size());
+    }
+
+    private record Slot(long id, long userId, long startMinute, AppointmentStatus status) {}
+
+    // decodeCalendar from calendarCodec.ts
+    private static List<Slot> decode(byte[] buffer) {
+        Reader in = new Reader(buffer);
+        String magic = new String(buffer, 0, 4, StandardCharsets.US_ASCII);
+        assertEquals("APC2", magic, "Unexpected calendar payload");
+        in.pos = 4;
+
+        int count = (int) in.varint();
+        List<Double> users = new ArrayList<>();
+        int userCount = (int) in.varint();
+        double prev = 0;
+        for (int i = 0; i < userCount; i++) {
+            prev += in.varint();
+            users.add(prev);
+        }
+
+        double[] ids = new double[count];
+        prev = 0;
+        for (int i = 0; i < count; i++) {
+            prev += in.signed();
+            ids[i] = prev;
+        }
+        double[] userIds = new double[count];
+        for (int i = 0; i < count; i++) {
+            userIds[i] = users.get((int) in.varint());
+        }
+        double[] startMinutes = new double[count];
+        prev = 0;
+        for (int i = 0; i < count; i++) {
+            prev += in.signed();
+            startMinutes[i] = prev;
+        }
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            slots.add(new Slot((long) ids[i], (long) userIds[i], (long) startMinutes[i], STATUSES[buffer[in.pos++]]));
+        }
+        return slots;
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        int pos;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        double varint() {
+            double result = 0;
+            double scale = 1;
+            int b;
+            do {
+                b = bytes[pos++] & 0xFF;
+                result += (b & 0x7f) * scale;
+                scale *= 128;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        double signed() {
+            double v = varint();
+            return v % 2 == 0 ? v / 2 : -(v + 1) / 2;
+        }
+    }
+
+    private static User user(long id) {
+        User user = new User("user " + id, "555-000" + id, "user" + id + "@example.com");
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private static Appointment appointment(long id, User user, LocalDateTime start, ZoneId zone, AppointmentStatus status) {
+        Appointment appointment = new Appointment(user, start, zone, null);
+        appointment.setId(id);
+        appointment.setStatus(status);
+        return appointment;
+    }
+}
@@ -0,0 +1,211 @@
+package com.app.appointment_booking_system.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTests {
+
+    private IdempotencyKeyStore store;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyKeyStore();
+        ReflectionTestUtils.setField(store, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(store, "maxEntries", 100);
+        filter = new IdempotencyFilter(store);
+    }
+
+    @Test
+    void replaysResponseForSameKeyAndBody() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"userId\":1}", echo());
+        MockHttpServletResponse retry = send("key-1", "{\"userId\":1}", echo());
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+    }
+
+    @Test
+    void handlerReadsTheBufferedBody() throws Exception {
+        MockHttpServletResponse response = send("key-1", "{\"userId\":7}", echo());
+
+        assertEquals("created {\"userId\":7}", response.getContentAsString());
+    }
+
+    @Test
+    void handlerReadsTheBufferedBodyWithAReadListener() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"userId\":7}", listening());
+        MockHttpServletResponse retry = send("key-1", "{\"userId\":7}", listening());
+
+        assertEquals("created {\"userId\":7}", first.getContentAsString());
+        assertEquals(1, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() throws Exception {
+        send("key-1", "{\"userId\":1}", echo());
+        MockHttpServletResponse reused = send("key-1", "{\"userId\":2}", echo());
+
+        assertEquals(1, executions.get());
+        assertEquals(422, reused.getStatus());
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentContentType() throws Exception {
+        send("key-1", "a,b", echo());
+        MockHttpServletRequest request = request("key-1", "a,b");
+        request.setContentType("text/csv");
+        MockHttpServletResponse reused = new MockHttpServletResponse();
+        filter.doFilter(request, reused, echo());
+
+        assertEquals(422, reused.getStatus());
+    }
+
+    @Test
+    void oneWaiterRunsAgainAfterLeaderFails() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch failLeader = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            if (executions.incrementAndGet() == 1) {
+                leaderStarted.countDown();
+                try {
+                    failLeader.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("leader failed");
+            }
+            respond(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(() -> sendQuietly(chain));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+        List<CompletableFuture<MockHttpServletResponse>> waiters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiters.add(CompletableFuture.supplyAsync(() -> sendQuietly(chain)));
+        }
+        Thread.sleep(200);
+        failLeader.countDown();
+
+        assertNull(leader.get(10, TimeUnit.SECONDS), "the leader's exception propagates");
+        int replayed = 0;
+        for (CompletableFuture<MockHttpServletResponse> waiter : waiters) {
+            MockHttpServletResponse response = waiter.get(10, TimeUnit.SECONDS);
+            assertEquals(201, response.getStatus());
+            if ("true".equals(response.getHeader(IdempotencyFilter.REPLAYED_HEADER))) {
+                replayed++;
+            }
+        }
+        assertEquals(2, executions.get(), "the failed leader and exactly one waiter");
+        assertEquals(3, replayed);
+    }
+
+    @Test
+    void oversizedBodyRunsWithoutDeduplication() throws Exception {
+        String big = "x".repeat(1024 * 1024 + 1);
+        MockHttpServletResponse first = send("key-1", big, echo());
+        MockHttpServletResponse second = send("key-1", big, echo());
+
+        assertEquals(2, executions.get());
+        assertEquals(201, second.getStatus());
+        assertNull(second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+    }
+
+    private MockHttpServletResponse sendQuietly(FilterChain chain) {
+        try {
+            return send("key-1", "{\"userId\":1}", chain);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/appointments");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private FilterChain echo() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            respond(request, response);
+        };
+    }
+
+    // Reads the body the way an async servlet would and answers 201 with it once it is all read
+    private FilterChain listening() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            ServletInputStream in = request.getInputStream();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    int n;
+                    while (in.isReady() && (n = in.read(buffer)) != -1) {
+                        body.write(buffer, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    assertTrue(in.isFinished());
+                    respond(body.toString(StandardCharsets.UTF_8), response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        };
+    }
+
+    // Reads the body like a controller would and answers 201 with it
+    private static void respond(ServletRequest request, ServletResponse response) throws IOException {
+        respond(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8), response);
+    }
+
+    private static void respond(String body, ServletResponse response) throws IOException {
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(201);
+        http.setContentType("text/plain");
+        http.getWriter().write("created " + (body.length() > 100 ? body.length() : body));
+        http.getWriter().flush();
+    }
+}